@@ -65,6 +65,12 @@ public class TransformersEmbeddingModelAutoConfiguration {
 
 		embeddingModel.setModelOutputName(properties.getOnnx().getModelOutputName());
 
+		embeddingModel.setMaxBatchTokens(properties.getOnnx().getMaxBatchTokens());
+		embeddingModel.setSessionPoolSize(properties.getOnnx().getSessionPoolSize());
+		embeddingModel.setIntraOpThreads(properties.getOnnx().getIntraOpThreads());
+		embeddingModel.setInterOpThreads(properties.getOnnx().getInterOpThreads());
+		embeddingModel.setOptimizationLevel(properties.getOnnx().getOptimizationLevel());
+
 		observationConvention.ifAvailable(embeddingModel::setObservationConvention);
 
 		return embeddingModel;
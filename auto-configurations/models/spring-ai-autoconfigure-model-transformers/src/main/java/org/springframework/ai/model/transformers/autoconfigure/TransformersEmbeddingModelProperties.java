@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OrtSession;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
@@ -160,7 +161,8 @@ public class TransformersEmbeddingModelProperties {
 		/**
 		 * Existing, pre-trained ONNX generative. Commonly exported from
 		 * https://sbert.net/docs/pretrained_models.html. Defaults to
-		 * sentence-transformers/all-MiniLM-L6-v2.
+		 * sentence-transformers/all-MiniLM-L6-v2. Quantized (e.g. int8) exports of a
+		 * model can be used the same way.
 		 */
 		private String modelUri = TransformersEmbeddingModel.DEFAULT_ONNX_MODEL_URI;
 
@@ -177,6 +179,37 @@ public class TransformersEmbeddingModelProperties {
 		 */
 		private int gpuDeviceId = -1;
 
+		/**
+		 * Maximum number of tokens, padding included, of the texts embedded in a single
+		 * inference run.
+		 */
+		private int maxBatchTokens = TransformersEmbeddingModel.DEFAULT_MAX_BATCH_TOKENS;
+
+		/**
+		 * Number of ONNX sessions the inference runs of concurrent requests are spread
+		 * over. Every session loads its own copy of the model, so the memory taken by the
+		 * model grows linearly with the pool size.
+		 */
+		private int sessionPoolSize = 1;
+
+		/**
+		 * Number of threads running the operators of a session. Defaults to the ONNX
+		 * runtime default if 0.
+		 */
+		private int intraOpThreads = 0;
+
+		/**
+		 * Number of threads running independent operators of a session in parallel.
+		 * Defaults to the ONNX runtime default if 0.
+		 */
+		private int interOpThreads = 0;
+
+		/**
+		 * Graph optimization level of the ONNX runtime. Unless caching is disabled, the
+		 * optimized graph is cached so that later starts skip the optimization.
+		 */
+		private OrtSession.SessionOptions.OptLevel optimizationLevel = OrtSession.SessionOptions.OptLevel.ALL_OPT;
+
 		public String getModelUri() {
 			return this.modelUri;
 		}
@@ -201,6 +234,46 @@ public class TransformersEmbeddingModelProperties {
 			this.modelOutputName = modelOutputName;
 		}
 
+		public int getMaxBatchTokens() {
+			return this.maxBatchTokens;
+		}
+
+		public void setMaxBatchTokens(int maxBatchTokens) {
+			this.maxBatchTokens = maxBatchTokens;
+		}
+
+		public int getSessionPoolSize() {
+			return this.sessionPoolSize;
+		}
+
+		public void setSessionPoolSize(int sessionPoolSize) {
+			this.sessionPoolSize = sessionPoolSize;
+		}
+
+		public int getIntraOpThreads() {
+			return this.intraOpThreads;
+		}
+
+		public void setIntraOpThreads(int intraOpThreads) {
+			this.intraOpThreads = intraOpThreads;
+		}
+
+		public int getInterOpThreads() {
+			return this.interOpThreads;
+		}
+
+		public void setInterOpThreads(int interOpThreads) {
+			this.interOpThreads = interOpThreads;
+		}
+
+		public OrtSession.SessionOptions.OptLevel getOptimizationLevel() {
+			return this.optimizationLevel;
+		}
+
+		public void setOptimizationLevel(OrtSession.SessionOptions.OptLevel optimizationLevel) {
+			this.optimizationLevel = optimizationLevel;
+		}
+
 	}
 
 }
@@ -23,7 +23,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.metadata.DefaultUsage;
 import org.springframework.ai.document.Document;
@@ -122,17 +125,7 @@ public class OllamaEmbeddingModel extends AbstractEmbeddingModel {
 			.observe(() -> {
 				EmbeddingsResponse response = this.ollamaApi.embed(ollamaEmbeddingRequest);
 
-				AtomicInteger indexCounter = new AtomicInteger(0);
-
-				List<Embedding> embeddings = response.embeddings()
-					.stream()
-					.map(e -> new Embedding(e, indexCounter.getAndIncrement()))
-					.toList();
-
-				EmbeddingResponseMetadata embeddingResponseMetadata = new EmbeddingResponseMetadata(response.model(),
-						getDefaultUsage(response));
-
-				EmbeddingResponse embeddingResponse = new EmbeddingResponse(embeddings, embeddingResponseMetadata);
+				EmbeddingResponse embeddingResponse = toEmbeddingResponse(response);
 
 				observationContext.setResponse(embeddingResponse);
 
@@ -140,6 +133,49 @@ public class OllamaEmbeddingModel extends AbstractEmbeddingModel {
 			});
 	}
 
+	@Override
+	public Mono<EmbeddingResponse> embedAsync(EmbeddingRequest request) {
+		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
+
+		return Mono.deferContextual(contextView -> {
+			EmbeddingRequest embeddingRequest = buildEmbeddingRequest(request);
+
+			OllamaApi.EmbeddingsRequest ollamaEmbeddingRequest = ollamaEmbeddingRequest(embeddingRequest);
+
+			var observationContext = EmbeddingModelObservationContext.builder()
+				.embeddingRequest(request)
+				.provider(OllamaApiConstants.PROVIDER_NAME)
+				.build();
+
+			Observation observation = EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION.observation(
+					this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry);
+
+			observation.parentObservation(contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+			return this.ollamaApi.embedAsync(ollamaEmbeddingRequest)
+				.map(this::toEmbeddingResponse)
+				.doOnNext(observationContext::setResponse)
+				.doOnError(observation::error)
+				.doFinally(s -> observation.stop())
+				.contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+		});
+	}
+
+	private EmbeddingResponse toEmbeddingResponse(EmbeddingsResponse response) {
+		AtomicInteger indexCounter = new AtomicInteger(0);
+
+		List<Embedding> embeddings = response.embeddings()
+			.stream()
+			.map(e -> new Embedding(e, indexCounter.getAndIncrement()))
+			.toList();
+
+		EmbeddingResponseMetadata embeddingResponseMetadata = new EmbeddingResponseMetadata(response.model(),
+				getDefaultUsage(response));
+
+		return new EmbeddingResponse(embeddings, embeddingResponseMetadata);
+	}
+
 	private DefaultUsage getDefaultUsage(OllamaApi.EmbeddingsResponse response) {
 		return new DefaultUsage(Optional.ofNullable(response.promptEvalCount()).orElse(0), 0);
 	}
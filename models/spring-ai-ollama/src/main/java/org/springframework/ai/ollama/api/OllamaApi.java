@@ -205,6 +205,21 @@ public class OllamaApi {
 			.body(EmbeddingsResponse.class);
 	}
 
+	/**
+	 * Generate embeddings from a model without blocking the calling thread.
+	 * @param embeddingsRequest Embedding request.
+	 * @return Embeddings response as a {@link Mono}.
+	 */
+	public Mono<EmbeddingsResponse> embedAsync(EmbeddingsRequest embeddingsRequest) {
+		Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+
+		return this.webClient.post()
+			.uri("/api/embed")
+			.body(Mono.just(embeddingsRequest), EmbeddingsRequest.class)
+			.retrieve()
+			.bodyToMono(EmbeddingsResponse.class);
+	}
+
 	/**
 	 * List models that are available locally on the machine where Ollama is running.
 	 */
@@ -26,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
 import org.springframework.ai.embedding.EmbeddingRequest;
@@ -115,4 +116,30 @@ public class OllamaEmbeddingModelTests {
 
 	}
 
+	@Test
+	public void embedAsync() {
+
+		given(this.ollamaApi.embedAsync(this.embeddingsRequestCaptor.capture()))
+			.willReturn(Mono.just(new EmbeddingsResponse("RESPONSE_MODEL_NAME",
+					List.of(new float[] { 1f, 2f, 3f }, new float[] { 4f, 5f, 6f }), 0L, 0L, 0)));
+
+		var embeddingModel = OllamaEmbeddingModel.builder()
+			.ollamaApi(this.ollamaApi)
+			.defaultOptions(OllamaOptions.builder().model("DEFAULT_MODEL").build())
+			.build();
+
+		EmbeddingResponse response = embeddingModel
+			.embedAsync(new EmbeddingRequest(List.of("Input1", "Input2"), EmbeddingOptionsBuilder.builder().build()))
+			.block();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getResults()).hasSize(2);
+		assertThat(response.getResults().get(1).getIndex()).isEqualTo(1);
+		assertThat(response.getResults().get(1).getOutput()).isEqualTo(new float[] { 4f, 5f, 6f });
+		assertThat(response.getMetadata().getModel()).isEqualTo("RESPONSE_MODEL_NAME");
+
+		assertThat(this.embeddingsRequestCaptor.getValue().input()).isEqualTo(List.of("Input1", "Input2"));
+		assertThat(this.embeddingsRequestCaptor.getValue().model()).isEqualTo("DEFAULT_MODEL");
+	}
+
 }
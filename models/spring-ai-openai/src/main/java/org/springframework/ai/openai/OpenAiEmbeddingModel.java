@@ -18,9 +18,12 @@ package org.springframework.ai.openai;
 
 import java.util.List;
 
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.metadata.DefaultUsage;
 import org.springframework.ai.chat.metadata.EmptyUsage;
@@ -42,6 +45,7 @@ import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiApi.EmbeddingList;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
 
@@ -167,21 +171,7 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 				EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse = this.retryTemplate
 					.execute(ctx -> this.openAiApi.embeddings(apiRequest).getBody());
 
-				if (apiEmbeddingResponse == null) {
-					logger.warn("No embeddings returned for request: {}", request);
-					return new EmbeddingResponse(List.of());
-				}
-
-				OpenAiApi.Usage usage = apiEmbeddingResponse.usage();
-				Usage embeddingResponseUsage = usage != null ? getDefaultUsage(usage) : new EmptyUsage();
-				var metadata = new EmbeddingResponseMetadata(apiEmbeddingResponse.model(), embeddingResponseUsage);
-
-				List<Embedding> embeddings = apiEmbeddingResponse.data()
-					.stream()
-					.map(e -> new Embedding(e.embedding(), e.index()))
-					.toList();
-
-				EmbeddingResponse embeddingResponse = new EmbeddingResponse(embeddings, metadata);
+				EmbeddingResponse embeddingResponse = toEmbeddingResponse(apiEmbeddingResponse, request);
 
 				observationContext.setResponse(embeddingResponse);
 
@@ -189,14 +179,71 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 			});
 	}
 
+	/**
+	 * Sends the request through the non-blocking client of the {@link OpenAiApi}. Failed
+	 * requests are not retried.
+	 */
+	@Override
+	public Mono<EmbeddingResponse> embedAsync(EmbeddingRequest request) {
+		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
+
+		return Mono.deferContextual(contextView -> {
+			EmbeddingRequest embeddingRequest = buildEmbeddingRequest(request);
+
+			OpenAiApi.EmbeddingRequest<List<String>> apiRequest = createRequest(embeddingRequest);
+
+			var observationContext = EmbeddingModelObservationContext.builder()
+				.embeddingRequest(embeddingRequest)
+				.provider(OpenAiApiConstants.PROVIDER_NAME)
+				.build();
+
+			Observation observation = EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION.observation(
+					this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry);
+
+			observation.parentObservation(contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+			return this.openAiApi.embeddingsAsync(apiRequest)
+				.map(apiEmbeddingResponse -> toEmbeddingResponse(apiEmbeddingResponse, request))
+				.defaultIfEmpty(new EmbeddingResponse(List.of()))
+				.doOnNext(observationContext::setResponse)
+				.doOnError(observation::error)
+				.doFinally(s -> observation.stop())
+				.contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+		});
+	}
+
+	private EmbeddingResponse toEmbeddingResponse(@Nullable EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse,
+			EmbeddingRequest request) {
+		if (apiEmbeddingResponse == null) {
+			logger.warn("No embeddings returned for request: {}", request);
+			return new EmbeddingResponse(List.of());
+		}
+
+		OpenAiApi.Usage usage = apiEmbeddingResponse.usage();
+		Usage embeddingResponseUsage = usage != null ? getDefaultUsage(usage) : new EmptyUsage();
+		var metadata = new EmbeddingResponseMetadata(apiEmbeddingResponse.model(), embeddingResponseUsage);
+
+		List<Embedding> embeddings = apiEmbeddingResponse.data()
+			.stream()
+			.map(e -> new Embedding(e.embedding(), e.index()))
+			.toList();
+
+		return new EmbeddingResponse(embeddings, metadata);
+	}
+
 	private DefaultUsage getDefaultUsage(OpenAiApi.Usage usage) {
 		return new DefaultUsage(usage.promptTokens(), usage.completionTokens(), usage.totalTokens(), usage);
 	}
 
 	private OpenAiApi.EmbeddingRequest<List<String>> createRequest(EmbeddingRequest request) {
 		OpenAiEmbeddingOptions requestOptions = (OpenAiEmbeddingOptions) request.getOptions();
-		return new OpenAiApi.EmbeddingRequest<>(request.getInstructions(), requestOptions.getModel(),
-				requestOptions.getEncodingFormat(), requestOptions.getDimensions(), requestOptions.getUser());
+		// base64 embeddings are smaller than float lists and faster to decode; the
+		// options opt out with the float encoding format
+		String encodingFormat = (requestOptions.getEncodingFormat() != null) ? requestOptions.getEncodingFormat()
+				: OpenAiEmbeddingOptions.BASE64_ENCODING_FORMAT;
+		return new OpenAiApi.EmbeddingRequest<>(request.getInstructions(), requestOptions.getModel(), encodingFormat,
+				requestOptions.getDimensions(), requestOptions.getUser());
 	}
 
 	private EmbeddingRequest buildEmbeddingRequest(EmbeddingRequest embeddingRequest) {
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVectorDeserializer;
 
 /**
  * OpenAI Embedding Options.
@@ -32,13 +33,24 @@ import org.springframework.ai.embedding.EmbeddingOptions;
 @JsonInclude(Include.NON_NULL)
 public class OpenAiEmbeddingOptions implements EmbeddingOptions {
 
+	/**
+	 * Returns the embeddings as lists of numbers.
+	 */
+	public static final String FLOAT_ENCODING_FORMAT = "float";
+
+	/**
+	 * Returns the embeddings as the base64 encoding of their little-endian float32
+	 * values.
+	 */
+	public static final String BASE64_ENCODING_FORMAT = EmbeddingVectorDeserializer.BASE64_ENCODING_FORMAT;
+
 	// @formatter:off
 	/**
 	 * ID of the model to use.
 	 */
 	private @JsonProperty("model") String model;
 	/**
-	 * The format to return the embeddings in. Can be either float or base64.
+	 * The format to return the embeddings in. Can be either float or base64. Defaults to base64, which is smaller and faster to decode. Set to float for OpenAI-compatible servers that do not support base64.
 	 */
 	private @JsonProperty("encoding_format") String encodingFormat;
 	/**
@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -28,9 +27,11 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.ai.embedding.EmbeddingVectorDeserializer;
 import org.springframework.ai.model.ApiKey;
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
@@ -38,7 +39,9 @@ import org.springframework.ai.model.NoopApiKey;
 import org.springframework.ai.model.SimpleApiKey;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.util.json.ServerSentEventJsonDecoder;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -73,8 +76,6 @@ public class OpenAiApi {
 
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.TEXT_EMBEDDING_ADA_002.getValue();
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	private final String completionsPath;
 
 	private final String embeddingsPath;
@@ -197,12 +198,10 @@ public class OpenAiApi {
 			.headers(headers -> headers.addAll(additionalHttpHeader))
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			// cancels the flux stream after the "[DONE]" is received.
-			.takeUntil(SSE_DONE_PREDICATE)
-			// filters out the "[DONE]" message.
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+			.bodyToFlux(DataBuffer.class)
+			// decodes the events from the buffers, completing after the "[DONE]" event.
+			.transform(body -> ServerSentEventJsonDecoder.decode(body, ChatCompletionChunk.class,
+					ModelOptionsUtils.OBJECT_MAPPER))
 			// Detect is the chunk is part of a streaming function call.
 			.map(chunk -> {
 				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
@@ -246,6 +245,42 @@ public class OpenAiApi {
 	 */
 	public <T> ResponseEntity<EmbeddingList<Embedding>> embeddings(EmbeddingRequest<T> embeddingRequest) {
 
+		validateEmbeddingRequest(embeddingRequest);
+
+		return this.restClient.post()
+			.uri(this.embeddingsPath)
+			.body(embeddingRequest)
+			.retrieve()
+			.toEntity(new ParameterizedTypeReference<>() {
+
+			});
+	}
+
+	/**
+	 * Creates an embedding vector representing the input text or token array without
+	 * blocking the calling thread.
+	 * @param embeddingRequest The embedding request.
+	 * @return Returns a {@link Mono} emitting the list of {@link Embedding} wrapped in
+	 * {@link EmbeddingList}.
+	 * @param <T> Type of the entity in the data list. Can be a {@link String} or
+	 * {@link List} of tokens (e.g. Integers).
+	 * @see #embeddings(EmbeddingRequest)
+	 */
+	public <T> Mono<EmbeddingList<Embedding>> embeddingsAsync(EmbeddingRequest<T> embeddingRequest) {
+
+		validateEmbeddingRequest(embeddingRequest);
+
+		return this.webClient.post()
+			.uri(this.embeddingsPath)
+			.body(Mono.just(embeddingRequest), EmbeddingRequest.class)
+			.retrieve()
+			.bodyToMono(new ParameterizedTypeReference<>() {
+
+			});
+	}
+
+	private <T> void validateEmbeddingRequest(EmbeddingRequest<T> embeddingRequest) {
+
 		Assert.notNull(embeddingRequest, "The request body can not be null.");
 
 		// Input text to embed, encoded as a string or array of tokens. To embed multiple
@@ -265,14 +300,6 @@ public class OpenAiApi {
 					list.get(0) instanceof String || list.get(0) instanceof Integer || list.get(0) instanceof List,
 					"The input must be either a String, or a List of Strings or list of list of integers.");
 		}
-
-		return this.restClient.post()
-			.uri(this.embeddingsPath)
-			.body(embeddingRequest)
-			.retrieve()
-			.toEntity(new ParameterizedTypeReference<>() {
-
-			});
 	}
 
 	/**
@@ -1586,13 +1613,14 @@ public class OpenAiApi {
 	 *
 	 * @param index The index of the embedding in the list of embeddings.
 	 * @param embedding The embedding vector, which is a list of floats. The length of
-	 * vector depends on the model.
+	 * vector depends on the model. Read from either a list of floats or their base64
+	 * encoding.
 	 * @param object The object type, which is always 'embedding'.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record Embedding(// @formatter:off
 			@JsonProperty("index") Integer index,
-			@JsonProperty("embedding") float[] embedding,
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding,
 			@JsonProperty("object") String object) { // @formatter:on
 
 		/**
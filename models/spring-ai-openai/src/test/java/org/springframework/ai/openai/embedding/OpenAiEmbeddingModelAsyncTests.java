@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.openai.embedding;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.ai.model.SimpleApiKey;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link OpenAiEmbeddingModel#embedAsync(EmbeddingRequest)} against a mock
+ * server.
+ */
+class OpenAiEmbeddingModelAsyncTests {
+
+	private final MockWebServer server = new MockWebServer();
+
+	private final TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
+	private OpenAiEmbeddingModel embeddingModel;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.server.start();
+		OpenAiApi openAiApi = OpenAiApi.builder()
+			.baseUrl(this.server.url("/").toString())
+			.apiKey(new SimpleApiKey("sk-1234567890"))
+			.build();
+		this.embeddingModel = new OpenAiEmbeddingModel(openAiApi, MetadataMode.EMBED,
+				OpenAiEmbeddingOptions.builder().model("text-embedding-3-small").build(),
+				RetryUtils.DEFAULT_RETRY_TEMPLATE, this.observationRegistry);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.server.shutdown();
+	}
+
+	@Test
+	void embedAsyncSendsRequestAndMapsResponse() throws InterruptedException, IOException {
+		this.server.enqueue(
+				new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).setBody("""
+						{
+							"object": "list",
+							"data": [
+								{ "object": "embedding", "index": 0, "embedding": [0.5, -1.5] },
+								{ "object": "embedding", "index": 1, "embedding": [2.0, 3.0] }
+							],
+							"model": "text-embedding-3-small-response",
+							"usage": { "prompt_tokens": 4, "total_tokens": 4 }
+						}
+						"""));
+
+		EmbeddingResponse response = this.embeddingModel
+			.embedAsync(new EmbeddingRequest(List.of("Hello", "World"),
+					OpenAiEmbeddingOptions.builder()
+						.encodingFormat(OpenAiEmbeddingOptions.FLOAT_ENCODING_FORMAT)
+						.dimensions(2)
+						.build()))
+			.block();
+
+		RecordedRequest request = this.server.takeRequest();
+		assertThat(request.getMethod()).isEqualTo("POST");
+		assertThat(request.getPath()).isEqualTo("/v1/embeddings");
+		JsonNode body = new ObjectMapper().readTree(request.getBody().readUtf8());
+		assertThat(body.get("input")).extracting(JsonNode::asText).containsExactly("Hello", "World");
+		assertThat(body.get("model").asText()).isEqualTo("text-embedding-3-small");
+		assertThat(body.get("encoding_format").asText()).isEqualTo("float");
+		assertThat(body.get("dimensions").asInt()).isEqualTo(2);
+
+		assertThat(response).isNotNull();
+		assertThat(response.getResults()).hasSize(2);
+		assertThat(response.getResults().get(0).getOutput()).containsExactly(0.5f, -1.5f);
+		assertThat(response.getResults().get(1).getIndex()).isEqualTo(1);
+		assertThat(response.getResults().get(1).getOutput()).containsExactly(2f, 3f);
+		assertThat(response.getMetadata().getModel()).isEqualTo("text-embedding-3-small-response");
+		assertThat(response.getMetadata().getUsage().getPromptTokens()).isEqualTo(4);
+
+		TestObservationRegistryAssert.assertThat(this.observationRegistry)
+			.doesNotHaveAnyRemainingCurrentObservation()
+			.hasObservationWithNameEqualTo(DefaultEmbeddingModelObservationConvention.DEFAULT_NAME)
+			.that()
+			.hasLowCardinalityKeyValue(LowCardinalityKeyNames.REQUEST_MODEL.asString(), "text-embedding-3-small")
+			.hasLowCardinalityKeyValue(LowCardinalityKeyNames.RESPONSE_MODEL.asString(),
+					"text-embedding-3-small-response")
+			.hasBeenStarted()
+			.hasBeenStopped();
+	}
+
+	@Test
+	void embedAsyncReturnsEmptyResponseForEmptyBody() {
+		this.server.enqueue(new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+		EmbeddingResponse response = this.embeddingModel.embedAsync(new EmbeddingRequest(List.of("Hello"), null))
+			.block();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getResults()).isEmpty();
+		TestObservationRegistryAssert.assertThat(this.observationRegistry)
+			.hasObservationWithNameEqualTo(DefaultEmbeddingModelObservationConvention.DEFAULT_NAME)
+			.that()
+			.hasBeenStopped();
+	}
+
+	@Test
+	void embedAsyncRecordsErrorOnObservation() {
+		this.server.enqueue(new MockResponse().setResponseCode(500));
+
+		assertThatThrownBy(() -> this.embeddingModel.embedAsync(new EmbeddingRequest(List.of("Hello"), null)).block())
+			.isInstanceOf(RuntimeException.class);
+
+		TestObservationRegistryAssert.assertThat(this.observationRegistry)
+			.hasObservationWithNameEqualTo(DefaultEmbeddingModelObservationConvention.DEFAULT_NAME)
+			.that()
+			.hasError()
+			.hasBeenStopped();
+	}
+
+	@Test
+	void embedAsyncRejectsEmptyInstructions() {
+		assertThatThrownBy(() -> this.embeddingModel.embedAsync(new EmbeddingRequest(List.of(), null)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("At least one text is required!");
+		assertThat(this.server.getRequestCount()).isZero();
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.openai.embedding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+import org.hamcrest.core.StringContains;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.model.SimpleApiKey;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(OpenAiEmbeddingModelTests.Config.class)
+public class OpenAiEmbeddingModelTests {
+
+	private static final String TEST_API_KEY = "sk-1234567890";
+
+	@Autowired
+	private OpenAiApi openAiApi;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@AfterEach
+	void resetMockServer() {
+		this.server.reset();
+	}
+
+	@Test
+	void requestsBase64EmbeddingsByDefault() {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN)
+			.putFloat(1f)
+			.putFloat(-2.5f);
+		expectRequest("base64", "\"" + Base64.getEncoder().encodeToString(buffer.array()) + "\"");
+		OpenAiEmbeddingModel embeddingModel = new OpenAiEmbeddingModel(this.openAiApi);
+
+		float[] embedding = embeddingModel.embed("Hello");
+
+		assertThat(embedding).containsExactly(1f, -2.5f);
+		this.server.verify();
+	}
+
+	@Test
+	void requestsFloatEmbeddingsWhenOptedOut() {
+		expectRequest("float", "[0.5, -1.5]");
+		OpenAiEmbeddingModel embeddingModel = new OpenAiEmbeddingModel(this.openAiApi, MetadataMode.EMBED,
+				OpenAiEmbeddingOptions.builder()
+					.model("text-embedding-3-small")
+					.encodingFormat(OpenAiEmbeddingOptions.FLOAT_ENCODING_FORMAT)
+					.build());
+
+		float[] embedding = embeddingModel.embed("Hello");
+
+		assertThat(embedding).containsExactly(0.5f, -1.5f);
+		this.server.verify();
+	}
+
+	private void expectRequest(String encodingFormat, String embedding) {
+		this.server.expect(requestTo(StringContains.containsString("/v1/embeddings")))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(jsonPath("$.encoding_format").value(encodingFormat))
+			.andExpect(jsonPath("$.input[0]").value("Hello"))
+			.andRespond(withSuccess("""
+					{
+						"object": "list",
+						"data": [
+							{
+								"object": "embedding",
+								"index": 0,
+								"embedding": %s
+							}
+						],
+						"model": "text-embedding-3-small",
+						"usage": {
+							"prompt_tokens": 1,
+							"total_tokens": 1
+						}
+					}
+					""".formatted(embedding), MediaType.APPLICATION_JSON));
+	}
+
+	@SpringBootConfiguration
+	static class Config {
+
+		@Bean
+		public OpenAiApi openAiApi(RestClient.Builder builder) {
+			return OpenAiApi.builder()
+				.apiKey(new SimpleApiKey(TEST_API_KEY))
+				.restClientBuilder(builder)
+				.responseErrorHandler(RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER)
+				.build();
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2023-2024 the original author or authors.
+ * Copyright 2023-2025 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -118,6 +118,26 @@ public class ResourceCacheService {
 		}
 	}
 
+	/**
+	 * Get the file, in the cache directory, of a resource derived from the original
+	 * resource, such as an optimized copy of a model. Unlike cached resources, derived
+	 * files are kept in the cache directory whatever the URI schema of the original
+	 * resource.
+	 * @param originalResource Resource the derived resource is created from.
+	 * @param suffix Suffix appended to the file name of the original resource.
+	 * @return Returns the file of the derived resource, which may not exist yet.
+	 */
+	public File getDerivedFile(Resource originalResource, String suffix) {
+		try {
+			File cachedFile = getCachedFile(originalResource);
+			return new File(cachedFile.getParentFile(), cachedFile.getName() + suffix);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to resolve the cache file of: " + originalResource.getDescription(),
+					e);
+		}
+	}
+
 	private File getCachedFile(Resource originalResource) throws IOException {
 		var resourceParentFolder = new File(this.cacheDirectory,
 				UUID.nameUUIDFromBytes(pathWithoutLastSegment(originalResource.getURI())).toString());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2023-2024 the original author or authors.
+ * Copyright 2023-2025 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,23 +16,28 @@
 
 package org.springframework.ai.transformers;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
 import ai.djl.modality.nlp.preprocess.Tokenizer;
-import ai.djl.ndarray.NDArray;
-import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
-import ai.djl.ndarray.types.Shape;
 import ai.onnxruntime.OnnxTensor;
-import ai.onnxruntime.OnnxValue;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
@@ -52,8 +57,10 @@ import org.springframework.ai.embedding.observation.EmbeddingModelObservationCon
 import org.springframework.ai.embedding.observation.EmbeddingModelObservationConvention;
 import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
 import org.springframework.ai.observation.conventions.AiProvider;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -69,6 +76,27 @@ import org.springframework.util.StringUtils;
  * </p>
  *
  * <p>
+ * The texts of a request are sorted by their number of tokens and embedded in batches of
+ * at most {@link #setMaxBatchTokens(int) maxBatchTokens} tokens, so that texts are only
+ * padded to the length of the texts of similar length. Concurrent requests run in
+ * parallel, either on a single session with its own thread pools, or spread over a
+ * {@link #setSessionPoolSize(int) pool of sessions}. Every session of the pool loads its
+ * own copy of the model, so a pool takes as many times the memory of the model as it has
+ * sessions. The sessions and the tokenizer are closed on {@link #destroy()}.
+ * </p>
+ *
+ * <p>
+ * The ONNX runtime loads the model straight from its cached file rather than from a copy
+ * on the Java heap. Unless caching is disabled, the graph optimized by the ONNX runtime
+ * is saved next to the cached model, so later starts load it without optimizing the graph
+ * again. The saved graph is optimized at most at the extended level, whose optimizations
+ * do not depend on the hardware, and the layout optimizations of the
+ * {@link OrtSession.SessionOptions.OptLevel#ALL_OPT all level} are applied when the
+ * sessions load it. Quantized (e.g. int8) exports of a model are loaded like any other
+ * ONNX model, by setting them as the {@link #setModelResource(Resource) model resource}.
+ * </p>
+ *
+ * <p>
  * For more information on the underlying SBERT framework, see:
  * <a href="https://www.sbert.net/index.html">SBERT Documentation</a>
  * <a href="https://www.sbert.net/docs/pretrained_models.html">SBERT Pre-trained
@@ -78,7 +106,7 @@ import org.springframework.util.StringUtils;
  * @author Christian Tzolov
  * @since 1.0.0
  */
-public class TransformersEmbeddingModel extends AbstractEmbeddingModel implements InitializingBean {
+public class TransformersEmbeddingModel extends AbstractEmbeddingModel implements InitializingBean, DisposableBean {
 
 	// ONNX tokenizer for the all-MiniLM-L6-v2 generative
 	public static final String DEFAULT_ONNX_TOKENIZER_URI = "https://raw.githubusercontent.com/spring-projects/spring-ai/main/models/spring-ai-transformers/src/main/resources/onnx/all-MiniLM-L6-v2/tokenizer.json";
@@ -93,7 +121,7 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
 
-	private static final int EMBEDDING_AXIS = 1;
+	public static final int DEFAULT_MAX_BATCH_TOKENS = 8192;
 
 	/**
 	 * Specifies what parts of the {@link Document}'s content and metadata will be used
@@ -116,6 +144,36 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	private int gpuDeviceId = -1;
 
+	/**
+	 * Maximum number of tokens, padding included, of the texts embedded in a single
+	 * inference run.
+	 */
+	private int maxBatchTokens = DEFAULT_MAX_BATCH_TOKENS;
+
+	/**
+	 * Number of sessions the inference runs are spread over. Every session loads its own
+	 * copy of the model weights into native memory, so the memory taken by the model
+	 * grows linearly with the pool size.
+	 */
+	private int sessionPoolSize = 1;
+
+	/**
+	 * Number of threads running the operators of a session. Defaults to the ONNX runtime
+	 * default if 0.
+	 */
+	private int intraOpThreads = 0;
+
+	/**
+	 * Number of threads running independent operators of a session in parallel. Defaults
+	 * to the ONNX runtime default if 0.
+	 */
+	private int interOpThreads = 0;
+
+	/**
+	 * Graph optimization level of the ONNX runtime sessions.
+	 */
+	private OrtSession.SessionOptions.OptLevel optimizationLevel = OrtSession.SessionOptions.OptLevel.ALL_OPT;
+
 	/**
 	 * DJL, Huggingface tokenizer implementation of the {@link Tokenizer} interface that
 	 * converts sentences into token.
@@ -128,9 +186,12 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 	private OrtEnvironment environment;
 
 	/**
-	 * Runtime session that wraps the ONNX generative and enables inference calls.
+	 * Runtime sessions that wrap the ONNX generative and enable inference calls. Sessions
+	 * are thread-safe, used in turn, and closed by {@link #destroy()}.
 	 */
-	private OrtSession session;
+	private List<OrtSession> sessions;
+
+	private final AtomicInteger nextSession = new AtomicInteger();
 
 	/**
 	 * Resource cache directory. Used to cache remote resources, such as the ONNX models,
@@ -215,6 +276,31 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 		this.modelOutputName = modelOutputName;
 	}
 
+	public void setMaxBatchTokens(int maxBatchTokens) {
+		Assert.isTrue(maxBatchTokens > 0, "maxBatchTokens must be greater than 0");
+		this.maxBatchTokens = maxBatchTokens;
+	}
+
+	public void setSessionPoolSize(int sessionPoolSize) {
+		Assert.isTrue(sessionPoolSize > 0, "sessionPoolSize must be greater than 0");
+		this.sessionPoolSize = sessionPoolSize;
+	}
+
+	public void setIntraOpThreads(int intraOpThreads) {
+		Assert.isTrue(intraOpThreads >= 0, "intraOpThreads must not be negative");
+		this.intraOpThreads = intraOpThreads;
+	}
+
+	public void setInterOpThreads(int interOpThreads) {
+		Assert.isTrue(interOpThreads >= 0, "interOpThreads must not be negative");
+		this.interOpThreads = interOpThreads;
+	}
+
+	public void setOptimizationLevel(OrtSession.SessionOptions.OptLevel optimizationLevel) {
+		Assert.notNull(optimizationLevel, "optimizationLevel must not be null");
+		this.optimizationLevel = optimizationLevel;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 
@@ -229,17 +315,23 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 		// onnxruntime
 		this.environment = OrtEnvironment.getEnvironment();
 
-		try (var sessionOptions = new OrtSession.SessionOptions()) {
-			if (this.gpuDeviceId >= 0) {
-				sessionOptions.addCUDA(this.gpuDeviceId); // Run on a GPU or with another
-				// provider
-			}
-			this.session = this.environment.createSession(getCachedResource(this.modelResource).getContentAsByteArray(),
-					sessionOptions);
+		Resource model = getCachedResource(this.modelResource);
+		File optimizedModel = (this.disableCaching
+				|| this.optimizationLevel == OrtSession.SessionOptions.OptLevel.NO_OPT) ? null
+						: this.cacheService.getDerivedFile(this.modelResource, optimizedModelSuffix());
+
+		List<OrtSession> sessions = new ArrayList<>(this.sessionPoolSize);
+		try {
+			createSessions(model, optimizedModel, sessions);
 		}
+		catch (Exception ex) {
+			closeSessions(sessions);
+			throw ex;
+		}
+		this.sessions = List.copyOf(sessions);
 
-		this.onnxModelInputs = this.session.getInputNames();
-		Set<String> onnxModelOutputs = this.session.getOutputNames();
+		this.onnxModelInputs = this.sessions.get(0).getInputNames();
+		Set<String> onnxModelOutputs = this.sessions.get(0).getOutputNames();
 
 		logger.info("Model input names: " + this.onnxModelInputs.stream().collect(Collectors.joining(", ")));
 		logger.info("Model output names: " + onnxModelOutputs.stream().collect(Collectors.joining(", ")));
@@ -250,10 +342,157 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 						+ onnxModelOutputs.stream().collect(Collectors.joining(", ")));
 	}
 
+	/**
+	 * Creates the sessions of the pool into the given list, which holds the sessions
+	 * created so far if the creation of one fails.
+	 */
+	private void createSessions(Resource model, File optimizedModel, List<OrtSession> sessions)
+			throws OrtException, IOException {
+		if (optimizedModel != null && !isUpToDate(optimizedModel, model)) {
+			// The first session optimizes the graph and saves it for the other sessions
+			// and the later starts. It is only kept if it applied all optimizations.
+			OrtSession session = createOptimizingSession(model, optimizedModel);
+			if (savedOptimizationLevel() == this.optimizationLevel) {
+				sessions.add(session);
+			}
+			else {
+				session.close();
+			}
+		}
+		try (var sessionOptions = createSessionOptions()) {
+			if (optimizedModel != null && optimizedModel.isFile()) {
+				// The saved graph is already optimized up to the saved level.
+				if (savedOptimizationLevel() == this.optimizationLevel) {
+					sessionOptions.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.NO_OPT);
+				}
+				model = new FileSystemResource(optimizedModel);
+			}
+			while (sessions.size() < this.sessionPoolSize) {
+				sessions.add(createSession(model, sessionOptions));
+			}
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (this.sessions != null) {
+			closeSessions(this.sessions);
+		}
+		if (this.tokenizer != null) {
+			this.tokenizer.close();
+		}
+	}
+
+	private static void closeSessions(List<OrtSession> sessions) throws OrtException {
+		OrtException failure = null;
+		for (OrtSession session : sessions) {
+			try {
+				session.close();
+			}
+			catch (OrtException ex) {
+				if (failure == null) {
+					failure = ex;
+				}
+				else {
+					failure.addSuppressed(ex);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
 	private Resource getCachedResource(Resource resource) {
 		return this.disableCaching ? resource : this.cacheService.getCachedResource(resource);
 	}
 
+	private OrtSession.SessionOptions createSessionOptions() throws OrtException {
+		var sessionOptions = new OrtSession.SessionOptions();
+		try {
+			if (this.gpuDeviceId >= 0) {
+				sessionOptions.addCUDA(this.gpuDeviceId); // Run on a GPU or with another
+				// provider
+			}
+			if (this.intraOpThreads > 0) {
+				sessionOptions.setIntraOpNumThreads(this.intraOpThreads);
+			}
+			if (this.interOpThreads > 0) {
+				sessionOptions.setExecutionMode(OrtSession.SessionOptions.ExecutionMode.PARALLEL);
+				sessionOptions.setInterOpNumThreads(this.interOpThreads);
+			}
+			sessionOptions.setOptimizationLevel(this.optimizationLevel);
+			return sessionOptions;
+		}
+		catch (OrtException ex) {
+			sessionOptions.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Creates a session from the model, saving its optimized graph to the given file. The
+	 * graph is written to a temporary file first, so that concurrent starts never load a
+	 * partially written graph.
+	 */
+	private OrtSession createOptimizingSession(Resource model, File optimizedModel) throws OrtException, IOException {
+		File tempFile = new File(optimizedModel.getParentFile(),
+				optimizedModel.getName() + "." + UUID.randomUUID() + ".tmp");
+		try (var sessionOptions = createSessionOptions()) {
+			sessionOptions.setOptimizationLevel(savedOptimizationLevel());
+			sessionOptions.setOptimizedModelFilePath(tempFile.getAbsolutePath());
+			OrtSession session = createSession(model, sessionOptions);
+			try {
+				Files.move(tempFile.toPath(), optimizedModel.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+				logger.info("Saved the optimized ONNX model to: " + optimizedModel);
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to save the optimized ONNX model to: " + optimizedModel, ex);
+			}
+			return session;
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	/**
+	 * Creates a session from the model, letting the ONNX runtime read the model file if
+	 * any rather than copying it onto the heap first.
+	 */
+	private OrtSession createSession(Resource model, OrtSession.SessionOptions sessionOptions)
+			throws OrtException, IOException {
+		if (!model.isFile()) {
+			return this.environment.createSession(model.getContentAsByteArray(), sessionOptions);
+		}
+		return this.environment.createSession(model.getFile().getAbsolutePath(), sessionOptions);
+	}
+
+	/**
+	 * Returns the optimization level of the saved graph. Graphs optimized at the all
+	 * level hold layout optimizations specific to the hardware they were optimized on, so
+	 * the saved graph is optimized at most at the extended level.
+	 */
+	private OrtSession.SessionOptions.OptLevel savedOptimizationLevel() {
+		return (this.optimizationLevel == OrtSession.SessionOptions.OptLevel.ALL_OPT)
+				? OrtSession.SessionOptions.OptLevel.EXTENDED_OPT : this.optimizationLevel;
+	}
+
+	/**
+	 * Returns the suffix of the optimized model file. The optimized graph depends on the
+	 * optimization level, the execution provider and the version of the ONNX runtime.
+	 */
+	private String optimizedModelSuffix() {
+		String provider = (this.gpuDeviceId >= 0) ? "cuda" + this.gpuDeviceId : "cpu";
+		return "_" + savedOptimizationLevel().name().toLowerCase(Locale.ROOT) + "_" + provider + "_ort"
+				+ this.environment.getVersion() + ".onnx";
+	}
+
+	private static boolean isUpToDate(File optimizedModel, Resource model) throws IOException {
+		return optimizedModel.isFile() && (!model.isFile() || optimizedModel.lastModified() >= model.lastModified());
+	}
+
 	@Override
 	public float[] embed(String text) {
 		return embed(List.of(text)).get(0);
@@ -295,56 +534,11 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
 					this.observationRegistry)
 			.observe(() -> {
-				List<float[]> resultEmbeddings = new ArrayList<>();
+				List<float[]> resultEmbeddings;
 
 				try {
-
 					Encoding[] encodings = this.tokenizer.batchEncode(request.getInstructions());
-
-					long[][] input_ids0 = new long[encodings.length][];
-					long[][] attention_mask0 = new long[encodings.length][];
-					long[][] token_type_ids0 = new long[encodings.length][];
-
-					for (int i = 0; i < encodings.length; i++) {
-						input_ids0[i] = encodings[i].getIds();
-						attention_mask0[i] = encodings[i].getAttentionMask();
-						token_type_ids0[i] = encodings[i].getTypeIds();
-					}
-
-					try (OnnxTensor inputIds = OnnxTensor.createTensor(this.environment, input_ids0);
-							OnnxTensor attentionMask = OnnxTensor.createTensor(this.environment, attention_mask0);
-							OnnxTensor tokenTypeIds = OnnxTensor.createTensor(this.environment, token_type_ids0);) {
-
-						Map<String, OnnxTensor> modelInputs = Map.of("input_ids", inputIds, "attention_mask",
-								attentionMask, "token_type_ids", tokenTypeIds);
-
-						modelInputs = removeUnknownModelInputs(modelInputs);
-
-						// The Run result object is AutoCloseable to prevent references
-						// from leaking out. Once the Result object is
-						// closed, all it’s child OnnxValues are closed too.
-						try (OrtSession.Result results = this.session.run(modelInputs)) {
-
-							// OnnxValue lastHiddenState = results.get(0);
-							OnnxValue lastHiddenState = results.get(this.modelOutputName).get();
-
-							// 0 - batch_size (1..x)
-							// 1 - sequence_length (128)
-							// 2 - embedding dimensions (384)
-							float[][][] tokenEmbeddings = (float[][][]) lastHiddenState.getValue();
-
-							try (NDManager manager = NDManager.newBaseManager()) {
-								NDArray ndTokenEmbeddings = create(tokenEmbeddings, manager);
-								NDArray ndAttentionMask = manager.create(attention_mask0);
-
-								NDArray embedding = meanPooling(ndTokenEmbeddings, ndAttentionMask);
-
-								for (int i = 0; i < embedding.size(0); i++) {
-									resultEmbeddings.add(embedding.get(i).toFloatArray());
-								}
-							}
-						}
-					}
+					resultEmbeddings = embedInBatches(encodings);
 				}
 				catch (OrtException ex) {
 					throw new RuntimeException(ex);
@@ -360,47 +554,128 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 			});
 	}
 
-	private Map<String, OnnxTensor> removeUnknownModelInputs(Map<String, OnnxTensor> modelInputs) {
-
-		return modelInputs.entrySet()
-			.stream()
-			.filter(a -> this.onnxModelInputs.contains(a.getKey()))
-			.collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()));
-
+	/**
+	 * Embeds the encoded texts in batches of texts of similar length, each padded to the
+	 * longest text of its batch.
+	 */
+	private List<float[]> embedInBatches(Encoding[] encodings) throws OrtException {
+		int[] lengths = new int[encodings.length];
+		Integer[] order = new Integer[encodings.length];
+		for (int i = 0; i < encodings.length; i++) {
+			lengths[i] = tokenCount(encodings[i]);
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(i -> lengths[i]));
+
+		float[][] embeddings = new float[encodings.length][];
+		int start = 0;
+		while (start < order.length) {
+			// the texts being sorted, the last one of a batch sets its padded length
+			int end = start + 1;
+			while (end < order.length && (long) (end - start + 1) * lengths[order[end]] <= this.maxBatchTokens) {
+				end++;
+			}
+			embedBatch(encodings, lengths, Arrays.copyOfRange(order, start, end), embeddings);
+			start = end;
+		}
+		return Arrays.asList(embeddings);
 	}
 
-	// Build a NDArray from 3D float array.
-	private NDArray create(float[][][] data3d, NDManager manager) {
-
-		FloatBuffer buffer = FloatBuffer.allocate(data3d.length * data3d[0].length * data3d[0][0].length);
-
-		for (float[][] data2d : data3d) {
-			for (float[] data1d : data2d) {
-				buffer.put(data1d);
+	private void embedBatch(Encoding[] encodings, int[] lengths, Integer[] batch, float[][] embeddings)
+			throws OrtException {
+		int sequenceLength = lengths[batch[batch.length - 1]];
+		long[] inputIds = new long[batch.length * sequenceLength];
+		long[] attentionMask = new long[batch.length * sequenceLength];
+		long[] tokenTypeIds = new long[batch.length * sequenceLength];
+		for (int i = 0; i < batch.length; i++) {
+			Encoding encoding = encodings[batch[i]];
+			System.arraycopy(encoding.getIds(), 0, inputIds, i * sequenceLength, lengths[batch[i]]);
+			System.arraycopy(encoding.getAttentionMask(), 0, attentionMask, i * sequenceLength, lengths[batch[i]]);
+			System.arraycopy(encoding.getTypeIds(), 0, tokenTypeIds, i * sequenceLength, lengths[batch[i]]);
+		}
+		long[] shape = { batch.length, sequenceLength };
+
+		Map<String, OnnxTensor> modelInputs = new HashMap<>();
+		try {
+			addModelInput(modelInputs, "input_ids", inputIds, shape);
+			addModelInput(modelInputs, "attention_mask", attentionMask, shape);
+			addModelInput(modelInputs, "token_type_ids", tokenTypeIds, shape);
+
+			// The Run result object is AutoCloseable to prevent references
+			// from leaking out. Once the Result object is
+			// closed, all it’s child OnnxValues are closed too.
+			try (OrtSession.Result results = nextSession().run(modelInputs)) {
+
+				// 0 - batch_size (1..x)
+				// 1 - sequence_length (128)
+				// 2 - embedding dimensions (384)
+				OnnxTensor lastHiddenState = (OnnxTensor) results.get(this.modelOutputName).get();
+				int dimensions = (int) lastHiddenState.getInfo().getShape()[2];
+				FloatBuffer tokenEmbeddings = lastHiddenState.getFloatBuffer();
+
+				for (int i = 0; i < batch.length; i++) {
+					embeddings[batch[i]] = meanPooling(tokenEmbeddings, attentionMask, i, sequenceLength, dimensions);
+				}
 			}
 		}
-		buffer.rewind();
-
-		return manager.create(buffer, new Shape(data3d.length, data3d[0].length, data3d[0][0].length));
+		finally {
+			modelInputs.values().forEach(OnnxTensor::close);
+		}
 	}
 
-	private NDArray meanPooling(NDArray tokenEmbeddings, NDArray attentionMask) {
-
-		NDArray attentionMaskExpanded = attentionMask.expandDims(-1)
-			.broadcast(tokenEmbeddings.getShape())
-			.toType(DataType.FLOAT32, false);
-
-		// Multiply token embeddings with expanded attention mask
-		NDArray weightedEmbeddings = tokenEmbeddings.mul(attentionMaskExpanded);
+	private void addModelInput(Map<String, OnnxTensor> modelInputs, String name, long[] data, long[] shape)
+			throws OrtException {
+		if (this.onnxModelInputs.contains(name)) {
+			modelInputs.put(name, OnnxTensor.createTensor(this.environment, LongBuffer.wrap(data), shape));
+		}
+	}
 
-		// Sum along the appropriate axis
-		NDArray sumEmbeddings = weightedEmbeddings.sum(new int[] { EMBEDDING_AXIS });
+	private OrtSession nextSession() {
+		return this.sessions.get(Math.floorMod(this.nextSession.getAndIncrement(), this.sessions.size()));
+	}
 
-		// Clamp the attention mask sum to avoid division by zero
-		NDArray sumMask = attentionMaskExpanded.sum(new int[] { EMBEDDING_AXIS }).clip(1e-9f, Float.MAX_VALUE);
+	/**
+	 * Returns the number of tokens of an encoding, without its trailing padding.
+	 */
+	private static int tokenCount(Encoding encoding) {
+		long[] attentionMask = encoding.getAttentionMask();
+		int length = attentionMask.length;
+		while (length > 1 && attentionMask[length - 1] == 0) {
+			length--;
+		}
+		return length;
+	}
 
-		// Divide sum embeddings by sum mask
-		return sumEmbeddings.div(sumMask);
+	/**
+	 * Averages the embeddings of the tokens of a text, excluding its padding.
+	 * @param tokenEmbeddings the token embeddings of the batch, of shape (batch size,
+	 * sequence length, dimensions)
+	 * @param attentionMask the attention mask of the batch
+	 * @param index the index of the text in the batch
+	 * @param sequenceLength the sequence length of the batch
+	 * @param dimensions the number of dimensions of the embeddings
+	 * @return the embedding of the text
+	 */
+	static float[] meanPooling(FloatBuffer tokenEmbeddings, long[] attentionMask, int index, int sequenceLength,
+			int dimensions) {
+		float[] embedding = new float[dimensions];
+		float tokens = 0;
+		for (int token = index * sequenceLength; token < (index + 1) * sequenceLength; token++) {
+			if (attentionMask[token] == 0) {
+				continue;
+			}
+			tokens += attentionMask[token];
+			int offset = token * dimensions;
+			for (int i = 0; i < dimensions; i++) {
+				embedding[i] += tokenEmbeddings.get(offset + i) * attentionMask[token];
+			}
+		}
+		// Clamp the number of tokens to avoid division by zero
+		float divisor = Math.max(tokens, 1e-9f);
+		for (int i = 0; i < dimensions; i++) {
+			embedding[i] /= divisor;
+		}
+		return embedding;
 	}
 
 	/**
@@ -97,6 +97,19 @@ public class ResourceCacheServiceTests {
 
 	}
 
+	@Test
+	public void derivedFilesOfExcludedResourcesAreInCacheDirectory() {
+		var cache = new ResourceCacheService(this.tempDir);
+
+		var originalResource = new DefaultResourceLoader()
+			.getResource("file:src/main/resources/onnx/all-MiniLM-L6-v2/tokenizer.json");
+		File derivedFile = cache.getDerivedFile(originalResource, "_optimized");
+
+		assertThat(derivedFile).doesNotExist().hasName("tokenizer.json_optimized");
+		assertThat(derivedFile.getParentFile()).hasParent(this.tempDir);
+		assertThat(derivedFile).isEqualTo(cache.getDerivedFile(originalResource, "_optimized"));
+	}
+
 	@Test
 	public void cacheHttpResources() throws IOException {
 		var cache = new ResourceCacheService(this.tempDir);
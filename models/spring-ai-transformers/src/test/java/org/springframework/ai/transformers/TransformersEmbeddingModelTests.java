@@ -16,15 +16,19 @@
 
 package org.springframework.ai.transformers;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -89,6 +93,55 @@ public class TransformersEmbeddingModelTests {
 		assertThat(DF.format(embed.getResults().get(1).getOutput()[383])).isEqualTo(DF.format(0.05501303821802139));
 	}
 
+	@Test
+	void embedListInBatchesOfSimilarLength() throws Exception {
+		TransformersEmbeddingModel embeddingModel = new TransformersEmbeddingModel();
+		embeddingModel.setMaxBatchTokens(16);
+		embeddingModel.setSessionPoolSize(2);
+		embeddingModel.afterPropertiesSet();
+		List<String> texts = List.of("World is big and salvation is near", "Hello world", "World is big", "Hi");
+
+		List<float[]> embed = embeddingModel.embed(texts);
+
+		assertThat(embed).hasSize(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			float[] expected = embeddingModel.embed(texts.get(i));
+			for (int j = 0; j < expected.length; j++) {
+				assertThat(embed.get(i)[j]).isCloseTo(expected[j], within(1e-5f));
+			}
+		}
+		assertThat(DF.format(embed.get(1)[0])).isEqualTo(DF.format(-0.19744634628295898));
+		assertThat(DF.format(embed.get(2)[383])).isEqualTo(DF.format(0.05501303821802139));
+	}
+
+	@Test
+	void embedWithCachedOptimizedModel(@TempDir File cacheDirectory) throws Exception {
+		TransformersEmbeddingModel embeddingModel = new TransformersEmbeddingModel();
+		embeddingModel.setResourceCacheDirectory(cacheDirectory.getAbsolutePath());
+		embeddingModel.afterPropertiesSet();
+		float[] expected = embeddingModel.embed("Hello world");
+
+		assertThat(Files.walk(cacheDirectory.toPath()).map(path -> path.getFileName().toString()))
+			.noneMatch(name -> name.endsWith(".tmp"))
+			// graphs optimized at the default all level are saved at the portable
+			// extended level
+			.anyMatch(name -> name.startsWith("model.onnx_extended_opt_cpu_ort") && name.endsWith(".onnx"))
+			.noneMatch(name -> name.contains("_all_opt_"));
+
+		// loads the optimized model saved by the first instance
+		TransformersEmbeddingModel restartedModel = new TransformersEmbeddingModel();
+		restartedModel.setResourceCacheDirectory(cacheDirectory.getAbsolutePath());
+		restartedModel.setSessionPoolSize(2);
+		restartedModel.afterPropertiesSet();
+		float[] embed = restartedModel.embed("Hello world");
+
+		assertThat(embed).hasSize(384);
+		for (int i = 0; i < expected.length; i++) {
+			assertThat(embed[i]).isCloseTo(expected[i], within(1e-5f));
+		}
+		assertThat(DF.format(embed[0])).isEqualTo(DF.format(-0.19744634628295898));
+	}
+
 	@Test
 	void dimensions() throws Exception {
 
@@ -16,9 +16,14 @@
 
 package org.springframework.ai.embedding;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.springframework.ai.document.Document;
+import org.springframework.util.Assert;
 
 /**
  * Contract for batching {@link Document} objects so that the call to embed them could be
@@ -29,14 +34,60 @@ import org.springframework.ai.document.Document;
  */
 public interface BatchingStrategy {
 
+	/**
+	 * Number of documents read from a source at a time by the default implementation of
+	 * {@link #batch(Iterator)}.
+	 */
+	int DEFAULT_WINDOW_SIZE = 1000;
+
 	/**
 	 * EmbeddingModel implementations can call this method to optimize embedding tokens.
-	 * The incoming collection of {@link Document}s are split into sub-batches. It is
-	 * important to preserve the order of the list of {@link Document}s when batching as
-	 * they are mapped to their corresponding embeddings by their order.
+	 * The incoming collection of {@link Document}s are split into sub-batches. The
+	 * embeddings are mapped back to the {@link Document} instances they were computed
+	 * for, so a strategy may reorder documents, but every document must occur in exactly
+	 * one sub-batch.
 	 * @param documents to batch
 	 * @return a list of sub-batches that contain {@link Document}s.
 	 */
 	List<List<Document>> batch(List<Document> documents);
 
+	/**
+	 * Lazily splits a source of {@link Document}s into sub-batches. Documents are read
+	 * from the source only when the next sub-batch is requested, so a source too large to
+	 * hold in memory, such as {@code Stream#iterator()} or {@code Flux#toIterable()}, can
+	 * be batched with memory bounded by the batch size. The default implementation
+	 * applies {@link #batch(List)} to consecutive windows of {@link #DEFAULT_WINDOW_SIZE}
+	 * documents; strategies able to close a sub-batch incrementally should override it.
+	 * @param documents the source of documents to batch
+	 * @return an iterator over the sub-batches
+	 */
+	default Iterator<List<Document>> batch(Iterator<Document> documents) {
+		Assert.notNull(documents, "Documents must not be null");
+		return new Iterator<>() {
+
+			private Iterator<List<Document>> window = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!this.window.hasNext() && documents.hasNext()) {
+					List<Document> next = new ArrayList<>();
+					while (next.size() < DEFAULT_WINDOW_SIZE && documents.hasNext()) {
+						next.add(documents.next());
+					}
+					this.window = BatchingStrategy.this.batch(next).iterator();
+				}
+				return this.window.hasNext();
+			}
+
+			@Override
+			public List<Document> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return this.window.next();
+			}
+
+		};
+	}
+
 }
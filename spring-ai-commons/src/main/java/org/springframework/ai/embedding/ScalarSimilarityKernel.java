@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Scalar {@link SimilarityKernel} implementations. The loops are unrolled over
+ * independent accumulators: a single running sum forms a dependency chain that stalls on
+ * the latency of every floating point addition, whereas separate sums keep the
+ * multiply-add units busy.
+ */
+enum ScalarSimilarityKernel implements SimilarityKernel {
+
+	COSINE {
+
+		@Override
+		public double similarity(float[] x, float[] y, int yOffset) {
+			float dotProduct0 = 0;
+			float dotProduct1 = 0;
+			float normX0 = 0;
+			float normX1 = 0;
+			float normY0 = 0;
+			float normY1 = 0;
+			int bound = x.length & ~1;
+			int i = 0;
+			for (; i < bound; i += 2) {
+				float x0 = x[i];
+				float x1 = x[i + 1];
+				float y0 = y[yOffset + i];
+				float y1 = y[yOffset + i + 1];
+				dotProduct0 += x0 * y0;
+				dotProduct1 += x1 * y1;
+				normX0 += x0 * x0;
+				normX1 += x1 * x1;
+				normY0 += y0 * y0;
+				normY1 += y1 * y1;
+			}
+			if (i < x.length) {
+				float x0 = x[i];
+				float y0 = y[yOffset + i];
+				dotProduct0 += x0 * y0;
+				normX0 += x0 * x0;
+				normY0 += y0 * y0;
+			}
+			return cosine(dotProduct0 + dotProduct1, normX0 + normX1, normY0 + normY1);
+		}
+
+		@Override
+		public double similarity(float[] x, FloatBuffer y, int yOffset) {
+			float dotProduct0 = 0;
+			float dotProduct1 = 0;
+			float normX0 = 0;
+			float normX1 = 0;
+			float normY0 = 0;
+			float normY1 = 0;
+			int bound = x.length & ~1;
+			int i = 0;
+			for (; i < bound; i += 2) {
+				float x0 = x[i];
+				float x1 = x[i + 1];
+				float y0 = y.get(yOffset + i);
+				float y1 = y.get(yOffset + i + 1);
+				dotProduct0 += x0 * y0;
+				dotProduct1 += x1 * y1;
+				normX0 += x0 * x0;
+				normX1 += x1 * x1;
+				normY0 += y0 * y0;
+				normY1 += y1 * y1;
+			}
+			if (i < x.length) {
+				float x0 = x[i];
+				float y0 = y.get(yOffset + i);
+				dotProduct0 += x0 * y0;
+				normX0 += x0 * x0;
+				normY0 += y0 * y0;
+			}
+			return cosine(dotProduct0 + dotProduct1, normX0 + normX1, normY0 + normY1);
+		}
+
+	},
+
+	DOT_PRODUCT {
+
+		@Override
+		public double similarity(float[] x, float[] y, int yOffset) {
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			int bound = x.length & ~3;
+			int i = 0;
+			for (; i < bound; i += 4) {
+				sum0 += x[i] * y[yOffset + i];
+				sum1 += x[i + 1] * y[yOffset + i + 1];
+				sum2 += x[i + 2] * y[yOffset + i + 2];
+				sum3 += x[i + 3] * y[yOffset + i + 3];
+			}
+			for (; i < x.length; i++) {
+				sum0 += x[i] * y[yOffset + i];
+			}
+			return (sum0 + sum1) + (sum2 + sum3);
+		}
+
+		@Override
+		public double similarity(float[] x, FloatBuffer y, int yOffset) {
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			int bound = x.length & ~3;
+			int i = 0;
+			for (; i < bound; i += 4) {
+				sum0 += x[i] * y.get(yOffset + i);
+				sum1 += x[i + 1] * y.get(yOffset + i + 1);
+				sum2 += x[i + 2] * y.get(yOffset + i + 2);
+				sum3 += x[i + 3] * y.get(yOffset + i + 3);
+			}
+			for (; i < x.length; i++) {
+				sum0 += x[i] * y.get(yOffset + i);
+			}
+			return (sum0 + sum1) + (sum2 + sum3);
+		}
+
+	},
+
+	EUCLIDEAN {
+
+		@Override
+		public double similarity(float[] x, float[] y, int yOffset) {
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			int bound = x.length & ~3;
+			int i = 0;
+			for (; i < bound; i += 4) {
+				float d0 = x[i] - y[yOffset + i];
+				float d1 = x[i + 1] - y[yOffset + i + 1];
+				float d2 = x[i + 2] - y[yOffset + i + 2];
+				float d3 = x[i + 3] - y[yOffset + i + 3];
+				sum0 += d0 * d0;
+				sum1 += d1 * d1;
+				sum2 += d2 * d2;
+				sum3 += d3 * d3;
+			}
+			for (; i < x.length; i++) {
+				float d = x[i] - y[yOffset + i];
+				sum0 += d * d;
+			}
+			return 1 / (1 + Math.sqrt((sum0 + sum1) + (sum2 + sum3)));
+		}
+
+		@Override
+		public double similarity(float[] x, FloatBuffer y, int yOffset) {
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			int bound = x.length & ~3;
+			int i = 0;
+			for (; i < bound; i += 4) {
+				float d0 = x[i] - y.get(yOffset + i);
+				float d1 = x[i + 1] - y.get(yOffset + i + 1);
+				float d2 = x[i + 2] - y.get(yOffset + i + 2);
+				float d3 = x[i + 3] - y.get(yOffset + i + 3);
+				sum0 += d0 * d0;
+				sum1 += d1 * d1;
+				sum2 += d2 * d2;
+				sum3 += d3 * d3;
+			}
+			for (; i < x.length; i++) {
+				float d = x[i] - y.get(yOffset + i);
+				sum0 += d * d;
+			}
+			return 1 / (1 + Math.sqrt((sum0 + sum1) + (sum2 + sum3)));
+		}
+
+	};
+
+	private static double cosine(float dotProduct, float normX, float normY) {
+		if (normX == 0 || normY == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return dotProduct / (Math.sqrt(normX) * Math.sqrt(normY));
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Computes the similarity between two embedding vectors, where a larger value means more
+ * similar. Kernels compare a query vector against a vector stored at an offset of a
+ * larger array or buffer, so that row-major vector storage can be scanned without copying
+ * rows out.
+ * <p>
+ * The built-in kernels are scalar loops that keep several independent accumulators, which
+ * lets the CPU pipeline the multiply-adds of a single comparison. Other implementations,
+ * for example ones built on the JDK Vector API, can be plugged in wherever a kernel is
+ * accepted.
+ *
+ * @since 1.0.0
+ */
+public interface SimilarityKernel {
+
+	/**
+	 * Computes the similarity between {@code x} and the {@code x.length} floats of
+	 * {@code y} starting at {@code yOffset}.
+	 * @param x the query vector
+	 * @param y the array holding the stored vector
+	 * @param yOffset the index of the first component of the stored vector
+	 * @return the similarity
+	 */
+	double similarity(float[] x, float[] y, int yOffset);
+
+	/**
+	 * Computes the similarity between {@code x} and the {@code x.length} floats of
+	 * {@code y} starting at the absolute index {@code yOffset}.
+	 * @param x the query vector
+	 * @param y the buffer holding the stored vector
+	 * @param yOffset the index of the first component of the stored vector
+	 * @return the similarity
+	 */
+	double similarity(float[] x, FloatBuffer y, int yOffset);
+
+	/**
+	 * Computes the similarity between two vectors of equal length.
+	 * @param x the first vector
+	 * @param y the second vector
+	 * @return the similarity
+	 */
+	default double similarity(float[] x, float[] y) {
+		if (x == null || y == null) {
+			throw new RuntimeException("Vectors must not be null");
+		}
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		return similarity(x, y, 0);
+	}
+
+	/**
+	 * Returns the cosine similarity kernel. When both vectors are known to have unit
+	 * length, {@link #dotProduct()} yields the same result with a single pass.
+	 * @return the cosine similarity kernel
+	 */
+	static SimilarityKernel cosine() {
+		return ScalarSimilarityKernel.COSINE;
+	}
+
+	/**
+	 * Returns the dot product (inner product) kernel.
+	 * @return the dot product kernel
+	 */
+	static SimilarityKernel dotProduct() {
+		return ScalarSimilarityKernel.DOT_PRODUCT;
+	}
+
+	/**
+	 * Returns a kernel computing {@code 1 / (1 + d)}, where {@code d} is the euclidean
+	 * distance between the vectors.
+	 * @return the euclidean similarity kernel
+	 */
+	static SimilarityKernel euclidean() {
+		return ScalarSimilarityKernel.EUCLIDEAN;
+	}
+
+	/**
+	 * Returns a copy of the vector scaled to unit length.
+	 * @param vector the vector to normalize
+	 * @return the normalized copy
+	 * @throws IllegalArgumentException if the vector has zero norm
+	 */
+	static float[] normalize(float[] vector) {
+		double norm = Math.sqrt(ScalarSimilarityKernel.DOT_PRODUCT.similarity(vector, vector, 0));
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		float[] normalized = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			normalized[i] = (float) (vector[i] / norm);
+		}
+		return normalized;
+	}
+
+}
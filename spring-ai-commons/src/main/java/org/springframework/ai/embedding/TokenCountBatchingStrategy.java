@@ -17,9 +17,11 @@
 package org.springframework.ai.embedding;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 import com.knuddels.jtokkit.api.EncodingType;
 
@@ -28,6 +30,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
 import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -44,7 +47,10 @@ import org.springframework.util.Assert;
  * token count of 8191, the actual max input token count used will be 7371.
  *
  * The strategy batches documents based on their token counts, ensuring that each batch
- * does not exceed the calculated max input token count.
+ * does not exceed the calculated max input token count. Documents are batched in input
+ * order by default; {@link Packing#FIRST_FIT_DECREASING} packs them into as few batches
+ * as possible instead. Large document lists are counted in parallel, so the
+ * {@link TokenCountEstimator} must be thread-safe.
  *
  * @author Soby Chacko
  * @author Mark Pollack
@@ -65,6 +71,11 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 	 */
 	private static final double DEFAULT_TOKEN_COUNT_RESERVE_PERCENTAGE = 0.1;
 
+	/**
+	 * Number of documents from which token counts are estimated in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 64;
+
 	private final TokenCountEstimator tokenCountEstimator;
 
 	private final int maxInputTokenCount;
@@ -73,6 +84,8 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 
 	private final MetadataMode metadataMode;
 
+	private final Packing packing;
+
 	public TokenCountBatchingStrategy() {
 		this(EncodingType.CL100K_BASE, MAX_INPUT_TOKEN_COUNT, DEFAULT_TOKEN_COUNT_RESERVE_PERCENTAGE);
 	}
@@ -109,6 +122,7 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
 		this.contentFormatter = contentFormatter;
 		this.metadataMode = metadataMode;
+		this.packing = Packing.IN_ORDER;
 	}
 
 	/**
@@ -123,45 +137,125 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 	 */
 	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
 			double reservePercentage, ContentFormatter contentFormatter, MetadataMode metadataMode) {
+		this(tokenCountEstimator, maxInputTokenCount, reservePercentage, contentFormatter, metadataMode,
+				Packing.IN_ORDER);
+	}
+
+	/**
+	 * Constructs a TokenCountBatchingStrategy with the specified parameters.
+	 * @param tokenCountEstimator the TokenCountEstimator to be used for estimating token
+	 * counts.
+	 * @param maxInputTokenCount the initial upper limit for input tokens.
+	 * @param reservePercentage the percentage of tokens to reserve from the max input
+	 * token count to create a buffer.
+	 * @param contentFormatter the ContentFormatter to be used for formatting content.
+	 * @param metadataMode the MetadataMode to be used for handling metadata.
+	 * @param packing the way documents are packed into batches.
+	 */
+	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			double reservePercentage, ContentFormatter contentFormatter, MetadataMode metadataMode, Packing packing) {
 		Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
 		Assert.isTrue(maxInputTokenCount > 0, "MaxInputTokenCount must be greater than 0");
 		Assert.isTrue(reservePercentage >= 0 && reservePercentage < 1, "ReservePercentage must be in range [0, 1)");
 		Assert.notNull(contentFormatter, "ContentFormatter must not be null");
 		Assert.notNull(metadataMode, "MetadataMode must not be null");
+		Assert.notNull(packing, "Packing must not be null");
 		this.tokenCountEstimator = tokenCountEstimator;
 		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
 		this.contentFormatter = contentFormatter;
 		this.metadataMode = metadataMode;
+		this.packing = packing;
 	}
 
 	@Override
 	public List<List<Document>> batch(List<Document> documents) {
+		int[] tokenCounts = tokenCounts(documents);
+		return (this.packing == Packing.FIRST_FIT_DECREASING) ? firstFitDecreasing(documents, tokenCounts)
+				: inOrder(documents, tokenCounts);
+	}
+
+	/**
+	 * Estimates the token count of every document, indexed by position.
+	 */
+	private int[] tokenCounts(List<Document> documents) {
+		IntStream positions = IntStream.range(0, documents.size());
+		if (documents.size() >= PARALLEL_THRESHOLD) {
+			positions = positions.parallel();
+		}
+		return positions.map(i -> tokenCount(documents.get(i))).toArray();
+	}
+
+	private int tokenCount(Document document) {
+		int tokenCount = this.tokenCountEstimator
+			.estimate(document.getFormattedContent(this.contentFormatter, this.metadataMode));
+		if (tokenCount > this.maxInputTokenCount) {
+			throw new IllegalArgumentException(
+					"Tokens in a single document exceeds the maximum number of allowed input tokens");
+		}
+		return tokenCount;
+	}
+
+	/**
+	 * Closes each batch as soon as the next document does not fit, reading at most one
+	 * document ahead. {@link Packing#FIRST_FIT_DECREASING} needs to see several documents
+	 * to pack them, so it packs consecutive windows of documents instead.
+	 */
+	@Override
+	public Iterator<List<Document>> batch(Iterator<Document> documents) {
+		if (this.packing == Packing.FIRST_FIT_DECREASING) {
+			return BatchingStrategy.super.batch(documents);
+		}
+		Assert.notNull(documents, "Documents must not be null");
+		return new Iterator<>() {
+
+			@Nullable
+			private Document pending;
+
+			private int pendingTokenCount;
+
+			@Override
+			public boolean hasNext() {
+				return this.pending != null || documents.hasNext();
+			}
+
+			@Override
+			public List<Document> next() {
+				List<Document> batch = new ArrayList<>();
+				int currentSize = 0;
+				int maxInputTokenCount = TokenCountBatchingStrategy.this.maxInputTokenCount;
+				while (this.pending != null || documents.hasNext()) {
+					if (this.pending == null) {
+						this.pending = documents.next();
+						this.pendingTokenCount = tokenCount(this.pending);
+					}
+					if (!batch.isEmpty() && currentSize + this.pendingTokenCount > maxInputTokenCount) {
+						break;
+					}
+					batch.add(this.pending);
+					currentSize += this.pendingTokenCount;
+					this.pending = null;
+				}
+				if (batch.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				return batch;
+			}
+
+		};
+	}
+
+	private List<List<Document>> inOrder(List<Document> documents, int[] tokenCounts) {
 		List<List<Document>> batches = new ArrayList<>();
 		int currentSize = 0;
 		List<Document> currentBatch = new ArrayList<>();
-		// Make sure the documentTokens' entry order is preserved by making it a
-		// LinkedHashMap.
-		Map<Document, Integer> documentTokens = new LinkedHashMap<>();
-
-		for (Document document : documents) {
-			int tokenCount = this.tokenCountEstimator
-				.estimate(document.getFormattedContent(this.contentFormatter, this.metadataMode));
-			if (tokenCount > this.maxInputTokenCount) {
-				throw new IllegalArgumentException(
-						"Tokens in a single document exceeds the maximum number of allowed input tokens");
-			}
-			documentTokens.put(document, tokenCount);
-		}
-
-		for (Document document : documentTokens.keySet()) {
-			Integer tokenCount = documentTokens.get(document);
-			if (currentSize + tokenCount > this.maxInputTokenCount) {
+		for (int i = 0; i < tokenCounts.length; i++) {
+			if (currentSize + tokenCounts[i] > this.maxInputTokenCount) {
 				batches.add(currentBatch);
 				currentBatch = new ArrayList<>();
 				currentSize = 0;
 			}
-			currentBatch.add(document);
-			currentSize += tokenCount;
+			currentBatch.add(documents.get(i));
+			currentSize += tokenCounts[i];
 		}
 		if (!currentBatch.isEmpty()) {
 			batches.add(currentBatch);
@@ -169,4 +263,68 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 		return batches;
 	}
 
+	/**
+	 * Places the documents, largest first, into the first batch with room left. A max
+	 * tree over the remaining capacity of the batches finds that batch in logarithmic
+	 * time. Documents keep their input order within a batch.
+	 */
+	private List<List<Document>> firstFitDecreasing(List<Document> documents, int[] tokenCounts) {
+		int count = tokenCounts.length;
+		// Sort by descending token count, then ascending position, in a single key.
+		long[] order = new long[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = ((long) (Integer.MAX_VALUE - tokenCounts[i]) << 32) | i;
+		}
+		Arrays.sort(order);
+
+		int leaves = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+		int[] remaining = new int[2 * leaves];
+		Arrays.fill(remaining, this.maxInputTokenCount);
+		int[] batchOf = new int[count];
+		int batchCount = 0;
+		for (long key : order) {
+			int position = (int) key;
+			int node = 1;
+			while (node < leaves) {
+				node = (remaining[2 * node] >= tokenCounts[position]) ? 2 * node : 2 * node + 1;
+			}
+			int batch = node - leaves;
+			batchOf[position] = batch;
+			batchCount = Math.max(batchCount, batch + 1);
+			remaining[node] -= tokenCounts[position];
+			for (node >>= 1; node > 0; node >>= 1) {
+				remaining[node] = Math.max(remaining[2 * node], remaining[2 * node + 1]);
+			}
+		}
+
+		List<List<Document>> batches = new ArrayList<>(batchCount);
+		for (int i = 0; i < batchCount; i++) {
+			batches.add(new ArrayList<>());
+		}
+		for (int i = 0; i < count; i++) {
+			batches.get(batchOf[i]).add(documents.get(i));
+		}
+		return batches;
+	}
+
+	/**
+	 * The way documents are packed into batches.
+	 */
+	public enum Packing {
+
+		/**
+		 * Fill batches in input order, starting a new batch whenever the next document
+		 * does not fit.
+		 */
+		IN_ORDER,
+
+		/**
+		 * Pack the largest documents first, each into the first batch with room left,
+		 * which minimizes the number of batches. The batches no longer follow input
+		 * order; {@link EmbeddingModel} maps the embeddings back to the input order.
+		 */
+		FIRST_FIT_DECREASING
+
+	}
+
 }
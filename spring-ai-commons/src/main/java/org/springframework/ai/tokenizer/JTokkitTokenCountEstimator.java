@@ -22,11 +22,19 @@ import com.knuddels.jtokkit.api.EncodingType;
 
 import org.springframework.ai.content.Media;
 import org.springframework.ai.content.MediaContent;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Estimates the number of tokens in a given text or message using the JTokkit encoding
  * library.
+ * <p>
+ * Counting tokens encodes the whole text. An estimator created with a cache size keeps
+ * the counts of all but short texts in a bounded cache, which avoids encoding the same
+ * document or message again. The cache is keyed by a hash and the length of a text, not
+ * by the text itself.
  *
  * @author Christian Tzolov
  * @author Soby Chacko
@@ -34,14 +42,44 @@ import org.springframework.util.CollectionUtils;
  */
 public class JTokkitTokenCountEstimator implements TokenCountEstimator {
 
+	/**
+	 * Suggested number of token counts to keep for estimators counting the same texts
+	 * repeatedly.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1024;
+
+	/**
+	 * Shorter texts are cheaper to encode than to look up.
+	 */
+	private static final int MIN_CACHED_TEXT_LENGTH = 64;
+
 	private final Encoding estimator;
 
+	@Nullable
+	private final ConcurrentLruCache<TextKey, Integer> tokenCounts;
+
 	public JTokkitTokenCountEstimator() {
 		this(EncodingType.CL100K_BASE);
 	}
 
+	/**
+	 * Create a new estimator encoding every text it counts.
+	 * @param tokenEncodingType the encoding to count tokens with
+	 */
 	public JTokkitTokenCountEstimator(EncodingType tokenEncodingType) {
+		this(tokenEncodingType, 0);
+	}
+
+	/**
+	 * Create a new estimator.
+	 * @param tokenEncodingType the encoding to count tokens with
+	 * @param cacheSize the number of token counts to keep, or 0 to always encode texts
+	 */
+	public JTokkitTokenCountEstimator(EncodingType tokenEncodingType, int cacheSize) {
+		Assert.notNull(tokenEncodingType, "EncodingType must not be null");
+		Assert.isTrue(cacheSize >= 0, "cacheSize must not be negative");
 		this.estimator = Encodings.newLazyEncodingRegistry().getEncoding(tokenEncodingType);
+		this.tokenCounts = (cacheSize > 0) ? new ConcurrentLruCache<>(cacheSize, this::countTokens) : null;
 	}
 
 	@Override
@@ -49,6 +87,16 @@ public class JTokkitTokenCountEstimator implements TokenCountEstimator {
 		if (text == null) {
 			return 0;
 		}
+		if (this.tokenCounts == null || text.length() < MIN_CACHED_TEXT_LENGTH) {
+			return this.estimator.countTokens(text);
+		}
+		return this.tokenCounts.get(new TextKey(text));
+	}
+
+	private int countTokens(TextKey key) {
+		String text = key.text;
+		Assert.state(text != null, "Text of the key has already been counted");
+		key.text = null;
 		return this.estimator.countTokens(text);
 	}
 
@@ -87,4 +135,40 @@ public class JTokkitTokenCountEstimator implements TokenCountEstimator {
 		return totalSize;
 	}
 
+	/**
+	 * Cache key identifying a text by its length and a 64-bit hash. It only references
+	 * the text until its tokens are counted, so that cached counts do not retain the
+	 * texts.
+	 */
+	private static final class TextKey {
+
+		private final int length;
+
+		private final long hash;
+
+		@Nullable
+		private volatile String text;
+
+		TextKey(String text) {
+			this.length = text.length();
+			long hash = 0xcbf29ce484222325L;
+			for (int i = 0; i < text.length(); i++) {
+				hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+			}
+			this.hash = hash ^ ((long) text.hashCode() << 32);
+			this.text = text;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof TextKey key && this.length == key.length && this.hash == key.hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this.hash);
+		}
+
+	}
+
 }
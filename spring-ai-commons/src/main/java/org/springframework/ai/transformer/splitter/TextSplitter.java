@@ -17,9 +17,12 @@
 package org.springframework.ai.transformer.splitter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +41,11 @@ public abstract class TextSplitter implements DocumentTransformer {
 	 */
 	private boolean copyContentFormatter = true;
 
+	/**
+	 * If true the documents are split concurrently on the common fork-join pool.
+	 */
+	private boolean parallel = false;
+
 	@Override
 	public List<Document> apply(List<Document> documents) {
 		return doSplitDocuments(documents);
@@ -59,6 +67,21 @@ public abstract class TextSplitter implements DocumentTransformer {
 		this.copyContentFormatter = copyContentFormatter;
 	}
 
+	public boolean isParallel() {
+		return this.parallel;
+	}
+
+	/**
+	 * Sets whether the documents of a single {@link #apply(List)} call are split
+	 * concurrently. The chunks are returned in the same order as when splitting
+	 * sequentially. Implementations of {@link #splitText(String)} must be safe to call
+	 * from several threads at once for this to be enabled.
+	 * @param parallel true to split documents concurrently
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	private List<Document> doSplitDocuments(List<Document> documents) {
 		List<String> texts = new ArrayList<>();
 		List<Map<String, Object>> metadataList = new ArrayList<>();
@@ -77,36 +100,51 @@ public abstract class TextSplitter implements DocumentTransformer {
 			List<Map<String, Object>> metadataList) {
 
 		// Process the data in a column oriented way and recreate the Document
-		List<Document> documents = new ArrayList<>();
-
-		for (int i = 0; i < texts.size(); i++) {
-			String text = texts.get(i);
-			Map<String, Object> metadata = metadataList.get(i);
-			List<String> chunks = splitText(text);
-			if (chunks.size() > 1) {
-				logger.info("Splitting up document into " + chunks.size() + " chunks.");
-			}
-			for (String chunk : chunks) {
-				// only primitive values are in here -
-				Map<String, Object> metadataCopy = metadata.entrySet()
-					.stream()
-					.filter(e -> e.getKey() != null && e.getValue() != null)
-					.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-				Document newDoc = new Document(chunk, metadataCopy);
-
-				if (this.copyContentFormatter) {
-					// Transfer the content-formatter of the parent to the chunked
-					// documents it was slit into.
-					newDoc.setContentFormatter(formatters.get(i));
-				}
-
-				// TODO copy over other properties.
-				documents.add(newDoc);
+		IntStream indexes = IntStream.range(0, texts.size());
+		if (this.parallel && texts.size() > 1) {
+			indexes = indexes.parallel();
+		}
+		// The ordered stream keeps the chunks of each document, and the documents, in
+		// input order
+		return indexes.mapToObj(i -> createDocuments(texts.get(i), formatters.get(i), metadataList.get(i)))
+			.flatMap(List::stream)
+			.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	private List<Document> createDocuments(String text, ContentFormatter formatter, Map<String, Object> metadata) {
+		List<String> chunks = splitText(text);
+		if (chunks.size() > 1) {
+			logger.info("Splitting up document into " + chunks.size() + " chunks.");
+		}
+		// only primitive values are in here - a single snapshot is shared by all chunks,
+		// each Document takes its own copy
+		Map<String, Object> metadataSnapshot = metadataSnapshot(metadata);
+		List<Document> documents = new ArrayList<>(chunks.size());
+		for (String chunk : chunks) {
+			Document newDoc = new Document(chunk, metadataSnapshot);
+
+			if (this.copyContentFormatter) {
+				// Transfer the content-formatter of the parent to the chunked
+				// documents it was slit into.
+				newDoc.setContentFormatter(formatter);
 			}
+
+			// TODO copy over other properties.
+			documents.add(newDoc);
 		}
 		return documents;
 	}
 
+	private static Map<String, Object> metadataSnapshot(Map<String, Object> metadata) {
+		Map<String, Object> snapshot = new HashMap<>(metadata.size());
+		metadata.forEach((key, value) -> {
+			if (key != null && value != null) {
+				snapshot.put(key, value);
+			}
+		});
+		return Collections.unmodifiableMap(snapshot);
+	}
+
 	protected abstract List<String> splitText(String text);
 
 }
@@ -25,10 +25,12 @@ import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import com.knuddels.jtokkit.api.IntArrayList;
 
-import org.springframework.util.Assert;
-
 /**
  * A {@link TextSplitter} that splits text into chunks of a target size in tokens.
+ * <p>
+ * The JTokkit encoding holds no per-call state and the working buffers of a split are
+ * confined to the calling thread, so a splitter can be shared by threads and can
+ * {@link #setParallel(boolean) split documents in parallel}.
  *
  * @author Raphael Yu
  * @author Christian Tzolov
@@ -90,48 +92,66 @@ public class TokenTextSplitter extends TextSplitter {
 		return doSplit(text, this.chunkSize);
 	}
 
+	/**
+	 * Splits the text into chunks of at most {@code chunkSize} tokens. The text is
+	 * encoded once into a primitive token array, and every token is mapped to the offset
+	 * of its first character in the text, so chunks are cut from the text itself without
+	 * decoding or re-encoding token windows.
+	 */
 	protected List<String> doSplit(String text, int chunkSize) {
 		if (text == null || text.trim().isEmpty()) {
 			return new ArrayList<>();
 		}
 
-		List<Integer> tokens = getEncodedTokens(text);
+		int[] tokens = this.encoding.encode(text).toArray();
+		int[] offsets = charOffsets(tokens, text.length());
 		List<String> chunks = new ArrayList<>();
+		// The next chunk starts at the character offset, which lies within the start
+		// token if the previous chunk ended inside of it
+		int start = 0;
+		int chunkStart = 0;
 		int num_chunks = 0;
-		while (!tokens.isEmpty() && num_chunks < this.maxNumChunks) {
-			List<Integer> chunk = tokens.subList(0, Math.min(chunkSize, tokens.size()));
-			String chunkText = decodeTokens(chunk);
+		while (start < tokens.length && num_chunks < this.maxNumChunks) {
+			int end = Math.min(start + chunkSize, tokens.length);
+			int chunkEnd = offsets[end];
 
 			// Skip the chunk if it is empty or whitespace
-			if (chunkText.trim().isEmpty()) {
-				tokens = tokens.subList(chunk.size(), tokens.size());
+			if (isBlank(text, chunkStart, chunkEnd)) {
+				start = end;
+				chunkStart = chunkEnd;
 				continue;
 			}
 
 			// Find the last period or punctuation mark in the chunk
-			int lastPunctuation = Math.max(chunkText.lastIndexOf('.'), Math.max(chunkText.lastIndexOf('?'),
-					Math.max(chunkText.lastIndexOf('!'), chunkText.lastIndexOf('\n'))));
+			int lastPunctuation = chunkEnd - 1;
+			while (lastPunctuation >= chunkStart && !isPunctuation(text.charAt(lastPunctuation))) {
+				lastPunctuation--;
+			}
 
-			if (lastPunctuation != -1 && lastPunctuation > this.minChunkSizeChars) {
-				// Truncate the chunk text at the punctuation mark
-				chunkText = chunkText.substring(0, lastPunctuation + 1);
+			if (lastPunctuation >= chunkStart && lastPunctuation - chunkStart > this.minChunkSizeChars) {
+				// Truncate the chunk at the punctuation mark, and resume right after it,
+				// within the token holding it if that token goes on past it
+				chunkEnd = lastPunctuation + 1;
+				end = firstTokenFrom(offsets, start + 1, end, chunkEnd);
+				if (offsets[end] > chunkEnd) {
+					end--;
+				}
 			}
 
-			String chunkTextToAppend = (this.keepSeparator) ? chunkText.trim()
-					: chunkText.replace(System.lineSeparator(), " ").trim();
+			String chunkTextToAppend = (this.keepSeparator) ? trim(text, chunkStart, chunkEnd)
+					: text.substring(chunkStart, chunkEnd).replace(System.lineSeparator(), " ").trim();
 			if (chunkTextToAppend.length() > this.minChunkLengthToEmbed) {
 				chunks.add(chunkTextToAppend);
 			}
 
-			// Remove the tokens corresponding to the chunk text from the remaining tokens
-			tokens = tokens.subList(getEncodedTokens(chunkText).size(), tokens.size());
-
+			start = end;
+			chunkStart = chunkEnd;
 			num_chunks++;
 		}
 
 		// Handle the remaining tokens
-		if (!tokens.isEmpty()) {
-			String remaining_text = decodeTokens(tokens).replace(System.lineSeparator(), " ").trim();
+		if (start < tokens.length) {
+			String remaining_text = text.substring(chunkStart).replace(System.lineSeparator(), " ").trim();
 			if (remaining_text.length() > this.minChunkLengthToEmbed) {
 				chunks.add(remaining_text);
 			}
@@ -140,16 +160,97 @@ public class TokenTextSplitter extends TextSplitter {
 		return chunks;
 	}
 
-	private List<Integer> getEncodedTokens(String text) {
-		Assert.notNull(text, "Text must not be null");
-		return this.encoding.encode(text).boxed();
+	/**
+	 * Maps every token to the offset of the first character it completes in the text,
+	 * with the length of the text appended. Tokens are sequences of UTF-8 bytes, so a
+	 * character split across tokens is attributed to the token completing it.
+	 */
+	private int[] charOffsets(int[] tokens, int textLength) {
+		int[] offsets = new int[tokens.length + 1];
+		IntArrayList token = new IntArrayList(1);
+		int chars = 0;
+		int pendingBytes = 0;
+		int width = 1;
+		for (int i = 0; i < tokens.length; i++) {
+			offsets[i] = chars;
+			token.clear();
+			token.add(tokens[i]);
+			for (byte b : this.encoding.decodeBytes(token)) {
+				if (pendingBytes > 0) {
+					pendingBytes--;
+				}
+				else if ((b & 0xE0) == 0xC0) {
+					pendingBytes = 1;
+					width = 1;
+				}
+				else if ((b & 0xF0) == 0xE0) {
+					pendingBytes = 2;
+					width = 1;
+				}
+				else if ((b & 0xF8) == 0xF0) {
+					// Supplementary characters take a surrogate pair
+					pendingBytes = 3;
+					width = 2;
+				}
+				else {
+					width = 1;
+				}
+				if (pendingBytes == 0) {
+					chars += width;
+				}
+			}
+		}
+		offsets[tokens.length] = textLength;
+		for (int i = tokens.length - 1; i >= 0 && offsets[i] > textLength; i--) {
+			offsets[i] = textLength;
+		}
+		return offsets;
+	}
+
+	/**
+	 * Returns the first token in {@code [from, to)} starting at or after the character
+	 * offset, or {@code to} if there is none.
+	 */
+	private static int firstTokenFrom(int[] offsets, int from, int to, int charOffset) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (offsets[middle] < charOffset) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
 	}
 
-	private String decodeTokens(List<Integer> tokens) {
-		Assert.notNull(tokens, "Tokens must not be null");
-		var tokensIntArray = new IntArrayList(tokens.size());
-		tokens.forEach(tokensIntArray::add);
-		return this.encoding.decode(tokensIntArray);
+	private static boolean isPunctuation(char c) {
+		return c == '.' || c == '?' || c == '!' || c == '\n';
+	}
+
+	private static boolean isBlank(String text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Equivalent to {@code text.substring(start, end).trim()} without the intermediate
+	 * string.
+	 */
+	private static String trim(String text, int start, int end) {
+		while (start < end && text.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && text.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return text.substring(start, end);
 	}
 
 	public static final class Builder {
@@ -164,6 +265,8 @@ public class TokenTextSplitter extends TextSplitter {
 
 		private boolean keepSeparator;
 
+		private boolean parallel;
+
 		private Builder() {
 		}
 
@@ -192,9 +295,22 @@ public class TokenTextSplitter extends TextSplitter {
 			return this;
 		}
 
+		/**
+		 * Splits the documents of a batch concurrently, see
+		 * {@link TextSplitter#setParallel(boolean)}.
+		 * @param parallel true to split documents concurrently
+		 * @return the builder instance
+		 */
+		public Builder withParallel(boolean parallel) {
+			this.parallel = parallel;
+			return this;
+		}
+
 		public TokenTextSplitter build() {
-			return new TokenTextSplitter(this.chunkSize, this.minChunkSizeChars, this.minChunkLengthToEmbed,
-					this.maxNumChunks, this.keepSeparator);
+			TokenTextSplitter splitter = new TokenTextSplitter(this.chunkSize, this.minChunkSizeChars,
+					this.minChunkLengthToEmbed, this.maxNumChunks, this.keepSeparator);
+			splitter.setParallel(this.parallel);
+			return splitter;
 		}
 
 	}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class SimilarityKernelTests {
+
+	private final Random random = new Random(11);
+
+	@Test
+	void cosineMatchesReferenceForAllLengths() {
+		for (int length = 1; length <= 17; length++) {
+			float[] x = randomVector(length);
+			float[] y = randomVector(length);
+
+			double expected = dot(x, y) / (Math.sqrt(dot(x, x)) * Math.sqrt(dot(y, y)));
+
+			assertThat(SimilarityKernel.cosine().similarity(x, y)).isCloseTo(expected, within(1e-5));
+		}
+	}
+
+	@Test
+	void dotProductMatchesReferenceForAllLengths() {
+		for (int length = 1; length <= 17; length++) {
+			float[] x = randomVector(length);
+			float[] y = randomVector(length);
+
+			assertThat(SimilarityKernel.dotProduct().similarity(x, y)).isCloseTo(dot(x, y), within(1e-5));
+		}
+	}
+
+	@Test
+	void euclideanMatchesReferenceForAllLengths() {
+		for (int length = 1; length <= 17; length++) {
+			float[] x = randomVector(length);
+			float[] y = randomVector(length);
+			double squaredDistance = 0;
+			for (int i = 0; i < length; i++) {
+				squaredDistance += (x[i] - y[i]) * (x[i] - y[i]);
+			}
+
+			assertThat(SimilarityKernel.euclidean().similarity(x, y)).isCloseTo(1 / (1 + Math.sqrt(squaredDistance)),
+					within(1e-5));
+		}
+	}
+
+	@Test
+	void offsetsAddressRowsOfArraysAndBuffers() {
+		float[] x = randomVector(5);
+		float[] rows = randomVector(15);
+		float[] secondRow = new float[5];
+		System.arraycopy(rows, 5, secondRow, 0, 5);
+
+		for (SimilarityKernel kernel : new SimilarityKernel[] { SimilarityKernel.cosine(),
+				SimilarityKernel.dotProduct(), SimilarityKernel.euclidean() }) {
+			double expected = kernel.similarity(x, secondRow);
+			assertThat(kernel.similarity(x, rows, 5)).isCloseTo(expected, within(1e-6));
+			assertThat(kernel.similarity(x, FloatBuffer.wrap(rows), 5)).isCloseTo(expected, within(1e-6));
+		}
+	}
+
+	@Test
+	void normalizeProducesUnitVector() {
+		float[] normalized = SimilarityKernel.normalize(new float[] { 3f, 4f });
+
+		assertThat(normalized).containsExactly(0.6f, 0.8f);
+		assertThatThrownBy(() -> SimilarityKernel.normalize(new float[] { 0f, 0f }))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors cannot have zero norm");
+	}
+
+	@Test
+	void rejectsInvalidVectors() {
+		assertThatThrownBy(() -> SimilarityKernel.cosine().similarity(new float[] { 1f }, new float[] { 1f, 2f }))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors lengths must be equal");
+		assertThatThrownBy(() -> SimilarityKernel.cosine().similarity(null, new float[] { 1f }))
+			.isInstanceOf(RuntimeException.class)
+			.hasMessage("Vectors must not be null");
+		assertThatThrownBy(() -> SimilarityKernel.cosine().similarity(new float[] { 0f }, new float[] { 1f }))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors cannot have zero norm");
+	}
+
+	private float[] randomVector(int length) {
+		float[] vector = new float[length];
+		for (int i = 0; i < length; i++) {
+			vector[i] = this.random.nextFloat() - 0.5f;
+		}
+		return vector;
+	}
+
+	private static double dot(float[] x, float[] y) {
+		double sum = 0;
+		for (int i = 0; i < x.length; i++) {
+			sum += x[i] * y[i];
+		}
+		return sum;
+	}
+
+}
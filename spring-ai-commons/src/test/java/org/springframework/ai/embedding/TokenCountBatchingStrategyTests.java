@@ -18,11 +18,19 @@ package org.springframework.ai.embedding;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.ai.content.MediaContent;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy.Packing;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 
@@ -54,4 +62,112 @@ public class TokenCountBatchingStrategyTests {
 			.isInstanceOf(IllegalArgumentException.class);
 	}
 
+	@Test
+	void batchEmbeddingKeepsEqualDocuments() {
+		TokenCountBatchingStrategy tokenCountBatchingStrategy = new TokenCountBatchingStrategy();
+		Document document = new Document("same", "Hello world", Map.of());
+		List<List<Document>> batch = tokenCountBatchingStrategy.batch(List.of(document, document));
+		assertThat(batch).containsExactly(List.of(document, document));
+	}
+
+	@Test
+	void batchEmbeddingInOrderFillsBatchesInInputOrder() {
+		TokenCountBatchingStrategy tokenCountBatchingStrategy = strategy(Packing.IN_ORDER);
+		List<Document> documents = documents(6, 4, 6, 4);
+		List<List<Document>> batch = tokenCountBatchingStrategy.batch(documents);
+		assertThat(batch).containsExactly(documents.subList(0, 2), documents.subList(2, 4));
+	}
+
+	@Test
+	void batchEmbeddingFirstFitDecreasingMinimizesBatches() {
+		List<Document> documents = documents(6, 6, 4, 4);
+		assertThat(strategy(Packing.IN_ORDER).batch(documents)).hasSize(3);
+		List<List<Document>> batch = strategy(Packing.FIRST_FIT_DECREASING).batch(documents);
+		assertThat(batch).containsExactly(List.of(documents.get(0), documents.get(2)),
+				List.of(documents.get(1), documents.get(3)));
+	}
+
+	@Test
+	void batchEmbeddingFirstFitDecreasingRespectsMaxInputTokenCount() {
+		Random random = new Random(42);
+		int[] lengths = new int[500];
+		for (int i = 0; i < lengths.length; i++) {
+			lengths[i] = 1 + random.nextInt(10);
+		}
+		List<Document> documents = documents(lengths);
+		List<List<Document>> inOrder = strategy(Packing.IN_ORDER).batch(documents);
+		List<List<Document>> batch = strategy(Packing.FIRST_FIT_DECREASING).batch(documents);
+
+		assertThat(batch.size()).isLessThanOrEqualTo(inOrder.size());
+		assertThat(batch.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(documents);
+		assertThat(batch).allSatisfy(documentBatch -> assertThat(
+				documentBatch.stream().mapToInt(document -> document.getText().length()).sum())
+			.isLessThanOrEqualTo(10));
+	}
+
+	@Test
+	void batchEmbeddingFromSourceReadsOneDocumentAhead() {
+		TokenCountBatchingStrategy tokenCountBatchingStrategy = strategy(Packing.IN_ORDER);
+		List<Document> documents = documents(6, 4, 6, 4, 3);
+		int[] read = { 0 };
+		Iterator<Document> source = documents.stream().peek(document -> read[0]++).iterator();
+
+		Iterator<List<Document>> batches = tokenCountBatchingStrategy.batch(source);
+
+		assertThat(read[0]).isZero();
+		assertThat(batches.next()).containsExactlyElementsOf(documents.subList(0, 2));
+		assertThat(read[0]).isEqualTo(3);
+		assertThat(batches).toIterable().containsExactly(documents.subList(2, 4), documents.subList(4, 5));
+	}
+
+	@Test
+	void batchEmbeddingFromSourceMatchesListBatching() {
+		List<Document> documents = documents(3, 9, 2, 7, 7, 1, 10, 4, 4, 2);
+		for (Packing packing : Packing.values()) {
+			TokenCountBatchingStrategy tokenCountBatchingStrategy = strategy(packing);
+			List<List<Document>> batches = new ArrayList<>();
+			tokenCountBatchingStrategy.batch(documents.iterator()).forEachRemaining(batches::add);
+			assertThat(batches).isEqualTo(tokenCountBatchingStrategy.batch(documents));
+		}
+	}
+
+	private static TokenCountBatchingStrategy strategy(Packing packing) {
+		return new TokenCountBatchingStrategy(new CharacterCountEstimator(), 10, 0, Document.DEFAULT_CONTENT_FORMATTER,
+				MetadataMode.NONE, packing);
+	}
+
+	private static List<Document> documents(int... lengths) {
+		List<Document> documents = new ArrayList<>();
+		for (int length : lengths) {
+			documents.add(new Document("x".repeat(length)));
+		}
+		return documents;
+	}
+
+	/**
+	 * Counts every character of the stripped text as a token.
+	 */
+	static class CharacterCountEstimator implements TokenCountEstimator {
+
+		@Override
+		public int estimate(String text) {
+			return text.strip().length();
+		}
+
+		@Override
+		public int estimate(MediaContent content) {
+			return estimate(content.getText());
+		}
+
+		@Override
+		public int estimate(Iterable<MediaContent> messages) {
+			int tokenCount = 0;
+			for (MediaContent message : messages) {
+				tokenCount += estimate(message);
+			}
+			return tokenCount;
+		}
+
+	}
+
 }
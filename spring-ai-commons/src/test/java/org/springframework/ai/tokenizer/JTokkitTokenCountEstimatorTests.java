@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.tokenizer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JTokkitTokenCountEstimatorTests {
+
+	private static final List<String> TEXTS = List.of(
+			"In the end, writing arises when man realizes that memory is not enough. ".repeat(20),
+			"The most oppressive thing about the labyrinth is that you are constantly being forced to choose.\n"
+				.repeat(15),
+			"public static void main(String[] args) { System.out.println(args.length + 42); }\n".repeat(10),
+			"Grüße aus Köln! 日本語のテキストを分割します。 Emoji 😀🚀 in 2025.\n".repeat(12),
+			"Привет, мир! Это длинный текст на русском языке для проверки.\n".repeat(12), Base64.getEncoder()
+				.encodeToString("binary \u0000\u00ff payload ".repeat(40).getBytes(StandardCharsets.UTF_8)));
+
+	@Test
+	void cachedEstimateMatchesEncoder() {
+		JTokkitTokenCountEstimator cached = new JTokkitTokenCountEstimator(EncodingType.CL100K_BASE,
+				JTokkitTokenCountEstimator.DEFAULT_CACHE_SIZE);
+		JTokkitTokenCountEstimator uncached = new JTokkitTokenCountEstimator();
+
+		for (String text : TEXTS) {
+			assertThat(cached.estimate(text)).isEqualTo(uncached.estimate(text));
+			assertThat(cached.estimate(new String(text))).isEqualTo(uncached.estimate(text));
+		}
+		assertThat(cached.estimate((String) null)).isZero();
+	}
+
+	@Test
+	void cachedEstimateTellsTextsOfSameLengthApart() {
+		JTokkitTokenCountEstimator cached = new JTokkitTokenCountEstimator(EncodingType.CL100K_BASE, 16);
+		JTokkitTokenCountEstimator uncached = new JTokkitTokenCountEstimator();
+		String words = "word ".repeat(40);
+		String letters = "w".repeat(words.length());
+
+		assertThat(uncached.estimate(words)).isNotEqualTo(uncached.estimate(letters));
+		assertThat(cached.estimate(words)).isEqualTo(uncached.estimate(words));
+		assertThat(cached.estimate(letters)).isEqualTo(uncached.estimate(letters));
+		assertThat(cached.estimate(words)).isEqualTo(uncached.estimate(words));
+	}
+
+}
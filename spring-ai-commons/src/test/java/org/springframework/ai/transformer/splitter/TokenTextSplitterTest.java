@@ -18,6 +18,7 @@ package org.springframework.ai.transformer.splitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -112,4 +113,83 @@ public class TokenTextSplitterTest {
 		assertThat(chunks.get(2).getMetadata()).containsKeys("key2", "key3").doesNotContainKeys("key1");
 	}
 
+	@Test
+	public void testTokenTextSplitterKeepsMultiByteCharactersWhole() {
+		String text = "Grüße aus Köln! 日本語のテキストを分割します。 Emoji 😀🚀 are split across tokens.\n".repeat(20);
+
+		var tokenTextSplitter = TokenTextSplitter.builder()
+			.withChunkSize(7)
+			.withMinChunkSizeChars(5)
+			.withMinChunkLengthToEmbed(0)
+			.withMaxNumChunks(10000)
+			.withKeepSeparator(true)
+			.build();
+
+		var chunks = tokenTextSplitter.apply(List.of(new Document(text)));
+
+		assertThat(chunks).hasSizeGreaterThan(20);
+		assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.getText()).doesNotContain("\uFFFD"));
+		String joined = String.join("", chunks.stream().map(Document::getText).toList());
+		assertThat(joined.replaceAll("\\s", "")).isEqualTo(text.replaceAll("\\s", ""));
+	}
+
+	@Test
+	public void testTokenTextSplitterResumesWithinTokenAfterPunctuation() {
+		// The period and the closing quote are encoded as a single token
+		String text = "She said \"Please close the door.\" Then she left the room quietly. ".repeat(20);
+
+		var tokenTextSplitter = TokenTextSplitter.builder()
+			.withChunkSize(12)
+			.withMinChunkSizeChars(5)
+			.withMinChunkLengthToEmbed(0)
+			.withMaxNumChunks(10000)
+			.withKeepSeparator(true)
+			.build();
+
+		var chunks = tokenTextSplitter.apply(List.of(new Document(text)));
+
+		assertThat(chunks).extracting(Document::getText).contains("She said \"Please close the door.");
+		assertThat(chunks).extracting(Document::getText).anyMatch(chunk -> chunk.startsWith("\" Then"));
+		String joined = String.join("", chunks.stream().map(Document::getText).toList());
+		assertThat(joined.replaceAll("\\s", "")).isEqualTo(text.replaceAll("\\s", ""));
+	}
+
+	@Test
+	public void testTokenTextSplitterInParallelKeepsDocumentOrder() {
+		List<Document> documents = IntStream.range(0, 200)
+			.mapToObj(i -> new Document(("Document " + i + " sentence. ").repeat(i % 7 + 1), Map.of("index", i)))
+			.toList();
+
+		var sequential = TokenTextSplitter.builder()
+			.withChunkSize(8)
+			.withMinChunkSizeChars(5)
+			.withMinChunkLengthToEmbed(3)
+			.withMaxNumChunks(100)
+			.withKeepSeparator(true)
+			.build();
+		var parallel = TokenTextSplitter.builder()
+			.withChunkSize(8)
+			.withMinChunkSizeChars(5)
+			.withMinChunkLengthToEmbed(3)
+			.withMaxNumChunks(100)
+			.withKeepSeparator(true)
+			.withParallel(true)
+			.build();
+
+		var expected = sequential.apply(documents);
+		var chunks = parallel.apply(documents);
+
+		assertThat(parallel.isParallel()).isTrue();
+		assertThat(chunks).extracting(Document::getText)
+			.containsExactlyElementsOf(expected.stream().map(Document::getText).toList());
+		assertThat(chunks).extracting(Document::getMetadata)
+			.containsExactlyElementsOf(expected.stream().map(Document::getMetadata).toList());
+
+		// Chunks of the same document get their own metadata
+		var siblings = chunks.stream().filter(chunk -> chunk.getMetadata().get("index").equals(6)).toList();
+		assertThat(siblings).hasSizeGreaterThan(1);
+		siblings.get(0).getMetadata().put("chunk", 0);
+		assertThat(siblings.get(1).getMetadata()).doesNotContainKey("chunk");
+	}
+
 }
@@ -17,16 +17,19 @@
 package org.springframework.ai.embedding;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import org.springframework.ai.document.Document;
 import org.springframework.aot.hint.RuntimeHints;
 import org.springframework.aot.hint.RuntimeHintsRegistrar;
 import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -49,6 +52,13 @@ public abstract class AbstractEmbeddingModel implements EmbeddingModel {
 	 */
 	protected final AtomicInteger embeddingDimensions = new AtomicInteger(-1);
 
+	/**
+	 * Dispatcher sending the sub-batches of a batched embedding concurrently, or
+	 * {@code null} to send them one after another.
+	 */
+	@Nullable
+	private ConcurrentBatchDispatcher batchDispatcher;
+
 	/**
 	 * Return the dimension of the requested embedding generative name. If the generative
 	 * name is unknown uses the EmbeddingModel to perform a dummy EmbeddingModel#embed and
@@ -97,6 +107,25 @@ public abstract class AbstractEmbeddingModel implements EmbeddingModel {
 		return this.embeddingDimensions.get();
 	}
 
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		if (this.batchDispatcher == null) {
+			return EmbeddingModel.super.embed(documents, options, batchingStrategy);
+		}
+		return this.batchDispatcher.embed(this, documents, options, batchingStrategy);
+	}
+
+	/**
+	 * Sets the dispatcher used to send the sub-batches of
+	 * {@link #embed(List, EmbeddingOptions, BatchingStrategy)} concurrently. Concurrent
+	 * dispatch is opt-in: the sub-batches are sent one after another unless a dispatcher
+	 * is set.
+	 * @param batchDispatcher the dispatcher, or {@code null} to send sequentially
+	 */
+	public void setBatchDispatcher(@Nullable ConcurrentBatchDispatcher batchDispatcher) {
+		this.batchDispatcher = batchDispatcher;
+	}
+
 	static class Hints implements RuntimeHintsRegistrar {
 
 		@Override
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ai.document.Document;
+import org.springframework.util.Assert;
+
+/**
+ * Maps the documents of the batches produced by a {@link BatchingStrategy} back to their
+ * positions in the input, so embeddings can be returned in input order even when the
+ * strategy reorders documents.
+ */
+final class BatchPositions {
+
+	private BatchPositions() {
+	}
+
+	/**
+	 * Returns, for every batch, the input position of each of its documents. Documents
+	 * are matched by identity; a document occurring several times in the input takes its
+	 * positions in order.
+	 */
+	static int[][] of(List<Document> documents, List<List<Document>> batches) {
+		int[][] positions = new int[batches.size()][];
+		int next = 0;
+		boolean inOrder = true;
+		for (int b = 0; b < batches.size(); b++) {
+			List<Document> batch = batches.get(b);
+			positions[b] = new int[batch.size()];
+			for (int i = 0; i < batch.size(); i++) {
+				inOrder = inOrder && next < documents.size() && documents.get(next) == batch.get(i);
+				positions[b][i] = next++;
+			}
+		}
+		Assert.isTrue(next == documents.size(), "Embeddings must have the same number as that of the documents");
+		return inOrder ? positions : byIdentity(documents, batches, positions);
+	}
+
+	private static int[][] byIdentity(List<Document> documents, List<List<Document>> batches, int[][] positions) {
+		Map<Document, ArrayDeque<Integer>> inputPositions = new IdentityHashMap<>(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			inputPositions.computeIfAbsent(documents.get(i), document -> new ArrayDeque<>()).add(i);
+		}
+		for (int b = 0; b < batches.size(); b++) {
+			List<Document> batch = batches.get(b);
+			for (int i = 0; i < batch.size(); i++) {
+				ArrayDeque<Integer> candidates = inputPositions.get(batch.get(i));
+				Assert.isTrue(candidates != null && !candidates.isEmpty(),
+						"Batches must contain exactly the documents to embed");
+				positions[b][i] = candidates.poll();
+			}
+		}
+		return positions;
+	}
+
+}
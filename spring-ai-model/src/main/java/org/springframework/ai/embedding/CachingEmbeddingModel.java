@@ -0,0 +1,451 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationContext;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.observation.conventions.AiProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator that caches embeddings by content.
+ * <p>
+ * An embedding is cached under the SHA-256 digest of the model name, the embedding
+ * options and the text, so an embedding is reused whenever the same text is embedded with
+ * the same model and options again. Calls without options embed with the default options
+ * of the delegate, which the cache cannot inspect, so the model name is mandatory and
+ * must identify the delegate together with its defaults, such as the model and the
+ * dimensions. Two delegates with different defaults must use different model names, or
+ * they share cached embeddings, including those kept in a directory. The cache keeps the
+ * most recently used embeddings on the heap and, optionally, every embedding in a
+ * directory, which survives restarts. Batch calls send only the texts missing from the
+ * cache to the delegate, once per distinct text, and return the embeddings in the order
+ * of the inputs. Documents are cached by their text, whichever method embeds them, while
+ * documents without text, such as media documents, are passed to the delegate uncached.
+ * <p>
+ * Every call is observed with an {@link EmbeddingModelObservationContext} carrying the
+ * {@link EmbeddingModelObservationContext.CacheUsage cache usage} of the call.
+ *
+ * @since 1.0.0
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingEmbeddingModel.class);
+
+	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
+
+	private final EmbeddingModel delegate;
+
+	private final String modelName;
+
+	private final MemoryTier memoryTier;
+
+	@Nullable
+	private final Path directory;
+
+	private final ObservationRegistry observationRegistry;
+
+	private EmbeddingModelObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
+
+	protected CachingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		Assert.hasText(builder.modelName, "Model name must not be empty");
+		this.modelName = builder.modelName;
+		this.memoryTier = new MemoryTier(builder.maximumSize);
+		this.directory = builder.directory;
+		this.observationRegistry = builder.observationRegistry;
+		if (this.directory != null) {
+			try {
+				Files.createDirectories(this.directory);
+			}
+			catch (IOException ex) {
+				throw new RuntimeException("Failed to create embedding cache directory " + this.directory, ex);
+			}
+		}
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "Request must not be null");
+		EmbeddingOptions options = options(request.getOptions());
+		List<String> texts = request.getInstructions();
+		Assert.noNullElements(texts, "Texts must not contain null elements");
+		return observe(texts, options, observationContext -> {
+			EmbeddingResponseMetadata[] metadata = { new EmbeddingResponseMetadata() };
+			List<float[]> vectors = embed(keys(texts, options), observationContext, missing -> {
+				List<String> missingTexts = missing.stream().map(texts::get).toList();
+				EmbeddingResponse response = this.delegate
+					.call(new EmbeddingRequest(missingTexts, request.getOptions()));
+				metadata[0] = response.getMetadata();
+				return response.getResults().stream().map(Embedding::getOutput).toList();
+			});
+			List<Embedding> embeddings = new ArrayList<>(vectors.size());
+			for (int i = 0; i < vectors.size(); i++) {
+				embeddings.add(new Embedding(vectors.get(i), i));
+			}
+			EmbeddingResponse response = new EmbeddingResponse(embeddings, metadata[0]);
+			observationContext.setResponse(response);
+			return response;
+		});
+	}
+
+	/**
+	 * Embeds the text of the document, the content that
+	 * {@link #embed(List, EmbeddingOptions, BatchingStrategy)} embeds as well, so that
+	 * both share cached embeddings. Documents without text, such as media documents, are
+	 * embedded by the delegate without caching.
+	 */
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		String text = content(document);
+		if (text == null) {
+			return this.delegate.embed(document);
+		}
+		EmbeddingOptions options = options(null);
+		List<float[]> vectors = observe(List.of(text), options,
+				observationContext -> embed(keys(List.of(text), options), observationContext,
+						missing -> List.of(this.delegate.embed(text))));
+		return vectors.get(0);
+	}
+
+	/**
+	 * Embeds the texts of the documents, sending the documents missing from the cache to
+	 * the delegate. Documents without text are always sent to the delegate and never
+	 * cached.
+	 */
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		Assert.notNull(documents, "Documents must not be null");
+		List<String> texts = documents.stream().map(CachingEmbeddingModel::content).toList();
+		EmbeddingOptions keyOptions = options(options);
+		return observe(texts, keyOptions,
+				observationContext -> embed(keys(texts, keyOptions), observationContext, missing -> {
+					List<Document> missingDocuments = missing.stream().map(documents::get).toList();
+					return this.delegate.embed(missingDocuments, options, batchingStrategy);
+				}));
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	/**
+	 * Use the provided convention for reporting observation data
+	 * @param observationConvention The provided convention
+	 */
+	public void setObservationConvention(EmbeddingModelObservationConvention observationConvention) {
+		Assert.notNull(observationConvention, "observationConvention cannot be null");
+		this.observationConvention = observationConvention;
+	}
+
+	private <T> T observe(List<String> texts, EmbeddingOptions options,
+			Function<EmbeddingModelObservationContext, T> embedder) {
+		EmbeddingModelObservationContext observationContext = EmbeddingModelObservationContext.builder()
+			.embeddingRequest(new EmbeddingRequest(texts, options))
+			.provider(AiProvider.SPRING_AI.value())
+			.build();
+		return EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> embedder.apply(observationContext));
+	}
+
+	/**
+	 * Resolves the embeddings of all keys, loading the missing ones through the loader,
+	 * which receives the index of the first occurrence of every missing key, followed by
+	 * the indices of the {@code null} keys, which are never cached, and must return their
+	 * embeddings in the same order.
+	 */
+	private List<float[]> embed(List<String> keys, EmbeddingModelObservationContext observationContext,
+			Function<List<Integer>, List<float[]>> loader) {
+		float[][] vectors = new float[keys.size()][];
+		Map<String, List<Integer>> missing = new LinkedHashMap<>();
+		List<Integer> uncached = new ArrayList<>();
+		int hits = 0;
+		int evictions = 0;
+		for (int i = 0; i < keys.size(); i++) {
+			String key = keys.get(i);
+			if (key == null) {
+				uncached.add(i);
+				continue;
+			}
+			float[] vector = this.memoryTier.get(key);
+			if (vector == null && this.directory != null) {
+				vector = readFromDisk(key);
+				if (vector != null) {
+					evictions += this.memoryTier.put(key, vector);
+				}
+			}
+			if (vector != null) {
+				vectors[i] = vector.clone();
+				hits++;
+			}
+			else {
+				missing.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+			}
+		}
+		if (!missing.isEmpty() || !uncached.isEmpty()) {
+			List<Integer> indices = new ArrayList<>(missing.size() + uncached.size());
+			missing.values().forEach(occurrences -> indices.add(occurrences.get(0)));
+			indices.addAll(uncached);
+			List<float[]> loaded = loader.apply(indices);
+			Assert.state(loaded.size() == indices.size(),
+					"Embeddings must have the same number as that of the missing inputs");
+			int next = 0;
+			for (Map.Entry<String, List<Integer>> entry : missing.entrySet()) {
+				float[] vector = loaded.get(next++);
+				evictions += this.memoryTier.put(entry.getKey(), vector.clone());
+				if (this.directory != null) {
+					writeToDisk(entry.getKey(), vector);
+				}
+				for (int index : entry.getValue()) {
+					vectors[index] = (index == entry.getValue().get(0)) ? vector : vector.clone();
+				}
+			}
+			for (int index : uncached) {
+				vectors[index] = loaded.get(next++);
+			}
+		}
+		observationContext
+			.setCacheUsage(new EmbeddingModelObservationContext.CacheUsage(hits, keys.size() - hits, evictions));
+		return Arrays.asList(vectors);
+	}
+
+	/**
+	 * Returns the content a document is cached by, its text, or {@code null} if it has
+	 * none.
+	 */
+	@Nullable
+	private static String content(Document document) {
+		return document.isText() ? document.getText() : null;
+	}
+
+	private EmbeddingOptions options(@Nullable EmbeddingOptions options) {
+		return (options != null) ? options : EmbeddingOptionsBuilder.builder().build();
+	}
+
+	/**
+	 * Derives the cache keys of the texts. The key of a {@code null} text is
+	 * {@code null}.
+	 */
+	private List<String> keys(List<String> texts, EmbeddingOptions options) {
+		String optionsJson = ModelOptionsUtils.toJsonString(options);
+		List<String> keys = new ArrayList<>(texts.size());
+		for (String text : texts) {
+			if (text == null) {
+				keys.add(null);
+				continue;
+			}
+			MessageDigest digest = sha256();
+			update(digest, this.modelName);
+			update(digest, optionsJson);
+			update(digest, text);
+			keys.add(HexFormat.of().formatHex(digest.digest()));
+		}
+		return keys;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+		digest.update(bytes);
+	}
+
+	@Nullable
+	private float[] readFromDisk(String key) {
+		Path file = this.directory.resolve(key + ".bin");
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+			float[] vector = new float[buffer.remaining() / Float.BYTES];
+			buffer.asFloatBuffer().get(vector);
+			return vector;
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to read cached embedding {}", file, ex);
+			return null;
+		}
+	}
+
+	private void writeToDisk(String key, float[] vector) {
+		Path file = this.directory.resolve(key + ".bin");
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.asFloatBuffer().put(vector);
+			Path temp = Files.createTempFile(this.directory, key, ".tmp");
+			Files.write(temp, buffer.array());
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write cached embedding {}", file, ex);
+		}
+	}
+
+	/**
+	 * Bounded least recently used map of embeddings.
+	 */
+	private static final class MemoryTier {
+
+		private final int maximumSize;
+
+		private final LinkedHashMap<String, float[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+		MemoryTier(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		@Nullable
+		synchronized float[] get(String key) {
+			return this.entries.get(key);
+		}
+
+		/**
+		 * Stores an embedding and returns the number of evicted embeddings.
+		 */
+		synchronized int put(String key, float[] vector) {
+			if (this.maximumSize == 0) {
+				return 0;
+			}
+			this.entries.put(key, vector);
+			int evictions = 0;
+			Iterator<String> eldest = this.entries.keySet().iterator();
+			while (this.entries.size() > this.maximumSize) {
+				eldest.next();
+				eldest.remove();
+				evictions++;
+			}
+			return evictions;
+		}
+
+	}
+
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		@Nullable
+		private String modelName;
+
+		private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+		@Nullable
+		private Path directory;
+
+		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "Delegate EmbeddingModel must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Sets the name cache keys are derived from, which must identify the delegate
+		 * together with the default options it embeds with when a call does not override
+		 * them, for example {@code text-embedding-3-small/512} for a model configured
+		 * with 512 dimensions. Required.
+		 * @param modelName the model name
+		 * @return the builder instance
+		 */
+		public Builder modelName(String modelName) {
+			Assert.hasText(modelName, "Model name must not be empty");
+			this.modelName = modelName;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of embeddings kept on the heap. Defaults to
+		 * {@link CachingEmbeddingModel#DEFAULT_MAXIMUM_SIZE}.
+		 * @param maximumSize the maximum number of embeddings
+		 * @return the builder instance
+		 */
+		public Builder maximumSize(int maximumSize) {
+			Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Additionally keeps every embedding in a file of the given directory, where it
+		 * is looked up when it is not on the heap. Defaults to none.
+		 * @param directory the cache directory
+		 * @return the builder instance
+		 */
+		public Builder directory(Path directory) {
+			Assert.notNull(directory, "Directory must not be null");
+			this.directory = directory;
+			return this;
+		}
+
+		public Builder observationRegistry(ObservationRegistry observationRegistry) {
+			Assert.notNull(observationRegistry, "ObservationRegistry must not be null");
+			this.observationRegistry = observationRegistry;
+			return this;
+		}
+
+		public CachingEmbeddingModel build() {
+			return new CachingEmbeddingModel(this);
+		}
+
+	}
+
+}
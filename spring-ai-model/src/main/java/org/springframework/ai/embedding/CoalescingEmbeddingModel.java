@@ -0,0 +1,242 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator that coalesces concurrent single-text embeddings into
+ * batch requests.
+ * <p>
+ * Calls to {@link #embed(String)}, such as the query embeddings of concurrent similarity
+ * searches, are collected for up to {@code maxDelay} or until {@code maxBatchSize}
+ * distinct texts are waiting, and are then sent to the delegate as a single
+ * {@link #embed(List) batch}. Each caller receives its own embedding from the batch
+ * response. The first caller of a batch waits for the batch to fill and sends it, so no
+ * additional threads are needed. All other calls are passed to the delegate unchanged.
+ *
+ * @since 1.0.0
+ */
+public class CoalescingEmbeddingModel implements EmbeddingModel {
+
+	public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(2);
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+	private final EmbeddingModel delegate;
+
+	private final long maxDelayNanos;
+
+	private final int maxBatchSize;
+
+	private final Object monitor = new Object();
+
+	/**
+	 * The batch collecting texts, or {@code null} when no batch is open. Guarded by the
+	 * monitor.
+	 */
+	@Nullable
+	private Batch openBatch;
+
+	protected CoalescingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		this.maxDelayNanos = builder.maxDelay.toNanos();
+		this.maxBatchSize = builder.maxBatchSize;
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public float[] embed(String text) {
+		Assert.notNull(text, "Text must not be null");
+		Batch batch;
+		CompletableFuture<float[]> embedding;
+		boolean leader;
+		synchronized (this.monitor) {
+			leader = (this.openBatch == null);
+			if (leader) {
+				this.openBatch = new Batch();
+			}
+			batch = this.openBatch;
+			embedding = batch.add(text);
+			if (batch.size() >= this.maxBatchSize) {
+				this.openBatch = null;
+				this.monitor.notifyAll();
+			}
+		}
+		if (leader) {
+			awaitBatch(batch);
+			batch.send(this.delegate);
+		}
+		try {
+			return embedding.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Waits until the batch is full or its delay has elapsed, and closes it. An interrupt
+	 * closes the batch early, so the callers waiting on it are not left stranded.
+	 */
+	private void awaitBatch(Batch batch) {
+		long deadline = System.nanoTime() + this.maxDelayNanos;
+		synchronized (this.monitor) {
+			try {
+				long remaining = this.maxDelayNanos;
+				while (this.openBatch == batch && remaining > 0) {
+					this.monitor.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+					remaining = deadline - System.nanoTime();
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				if (this.openBatch == batch) {
+					this.openBatch = null;
+				}
+			}
+		}
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		return this.delegate.call(request);
+	}
+
+	@Override
+	public Mono<EmbeddingResponse> embedAsync(EmbeddingRequest request) {
+		return this.delegate.embedAsync(request);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return this.delegate.embed(document);
+	}
+
+	@Override
+	public List<float[]> embed(List<String> texts) {
+		return this.delegate.embed(texts);
+	}
+
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		return this.delegate.embed(documents, options, batchingStrategy);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	/**
+	 * Texts waiting to be embedded together. Equal texts share a single embedding.
+	 */
+	private static final class Batch {
+
+		private final Map<String, CompletableFuture<float[]>> embeddings = new LinkedHashMap<>();
+
+		CompletableFuture<float[]> add(String text) {
+			return this.embeddings.computeIfAbsent(text, key -> new CompletableFuture<>());
+		}
+
+		int size() {
+			return this.embeddings.size();
+		}
+
+		void send(EmbeddingModel delegate) {
+			List<String> texts = new ArrayList<>(this.embeddings.keySet());
+			try {
+				List<float[]> vectors = delegate.embed(texts);
+				Assert.state(vectors.size() == texts.size(),
+						"Embeddings must have the same number as that of the texts");
+				for (int i = 0; i < texts.size(); i++) {
+					this.embeddings.get(texts.get(i)).complete(vectors.get(i));
+				}
+			}
+			catch (Throwable ex) {
+				this.embeddings.values().forEach(embedding -> embedding.completeExceptionally(ex));
+			}
+		}
+
+	}
+
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "EmbeddingModel must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Sets how long the first text of a batch waits for more texts before the batch
+		 * is sent. Defaults to {@link CoalescingEmbeddingModel#DEFAULT_MAX_DELAY}.
+		 * @param maxDelay the maximum delay added to an embedding
+		 * @return the builder instance
+		 */
+		public Builder maxDelay(Duration maxDelay) {
+			Assert.notNull(maxDelay, "maxDelay must not be null");
+			Assert.isTrue(!maxDelay.isNegative(), "maxDelay must not be negative");
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * Sets the number of distinct texts that sends a batch without waiting for the
+		 * delay to elapse. Defaults to
+		 * {@link CoalescingEmbeddingModel#DEFAULT_MAX_BATCH_SIZE}.
+		 * @param maxBatchSize the maximum number of texts per request
+		 * @return the builder instance
+		 */
+		public Builder maxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		public CoalescingEmbeddingModel build() {
+			return new CoalescingEmbeddingModel(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Embeds the sub-batches of
+ * {@link EmbeddingModel#embed(List, EmbeddingOptions, BatchingStrategy)} concurrently
+ * instead of one after another.
+ * <p>
+ * At most {@code maxInFlight} sub-batches are sent to the model at once. When a sub-batch
+ * fails with a transient error, such as a rate limit, the number of sub-batches in flight
+ * is halved and the sub-batch is sent again after an exponential backoff with jitter.
+ * Each successful round of requests raises the limit by one until it is back at
+ * {@code maxInFlight}. The embeddings are returned in the order of the documents,
+ * whatever the order in which the sub-batches complete or the batching strategy arranged
+ * the documents. Once a sub-batch fails for good, the sub-batches still in flight are
+ * interrupted and those not yet started are skipped.
+ *
+ * @since 1.0.0
+ * @see AbstractEmbeddingModel#setBatchDispatcher(ConcurrentBatchDispatcher)
+ */
+public final class ConcurrentBatchDispatcher {
+
+	public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+	public static final int DEFAULT_MAX_RETRIES = 3;
+
+	public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(500);
+
+	public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+	private static final Logger logger = LoggerFactory.getLogger(ConcurrentBatchDispatcher.class);
+
+	/**
+	 * Exceptions treated as transient by default. Spring AI raises a
+	 * {@code TransientAiException} once the retries of a model are exhausted on a
+	 * transient error, and HTTP clients raise a {@code TooManyRequests} on a 429 status.
+	 */
+	private static final Set<String> DEFAULT_TRANSIENT_EXCEPTIONS = Set.of(
+			"org.springframework.ai.retry.TransientAiException",
+			"org.springframework.web.client.HttpClientErrorException$TooManyRequests",
+			"org.springframework.web.reactive.function.client.WebClientResponseException$TooManyRequests");
+
+	private final int maxInFlight;
+
+	private final int maxRetries;
+
+	private final Duration initialBackoff;
+
+	private final Duration maxBackoff;
+
+	private final Executor executor;
+
+	private final Predicate<Throwable> transientErrorPredicate;
+
+	@Nullable
+	private final ProgressListener progressListener;
+
+	private ConcurrentBatchDispatcher(Builder builder) {
+		this.maxInFlight = builder.maxInFlight;
+		this.maxRetries = builder.maxRetries;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+		this.executor = (builder.executor != null) ? builder.executor : DefaultExecutor.INSTANCE;
+		this.transientErrorPredicate = builder.transientErrorPredicate;
+		this.progressListener = builder.progressListener;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Embeds the documents through the model, sending the sub-batches produced by the
+	 * batching strategy concurrently.
+	 * @param embeddingModel the model to call
+	 * @param documents the documents to embed
+	 * @param options the embedding options
+	 * @param batchingStrategy the strategy splitting the documents into sub-batches
+	 * @return the embeddings in the order of the documents
+	 */
+	public List<float[]> embed(EmbeddingModel embeddingModel, List<Document> documents, EmbeddingOptions options,
+			BatchingStrategy batchingStrategy) {
+		Assert.notNull(embeddingModel, "EmbeddingModel must not be null");
+		Assert.notNull(documents, "Documents must not be null");
+		List<List<Document>> batches = batchingStrategy.batch(documents);
+		int[][] positions = BatchPositions.of(documents, batches);
+
+		float[][] embeddings = new float[documents.size()][];
+		int[] attempts = new int[batches.size()];
+		Deque<Integer> pending = new ArrayDeque<>(batches.size());
+		for (int i = 0; i < batches.size(); i++) {
+			pending.add(i);
+		}
+		BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+		Map<Integer, Request> inFlight = new HashMap<>();
+		int limit = this.maxInFlight;
+		int successes = 0;
+		int completedBatches = 0;
+		int embeddedDocuments = 0;
+		try {
+			while (completedBatches < batches.size()) {
+				while (inFlight.size() < limit && !pending.isEmpty()) {
+					int batch = pending.poll();
+					List<String> texts = batches.get(batch).stream().map(Document::getText).toList();
+					Request request = new Request(batch, backoff(attempts[batch]),
+							() -> embeddingModel.call(new EmbeddingRequest(texts, options)), outcomes);
+					inFlight.put(batch, request);
+					this.executor.execute(request);
+				}
+				Outcome outcome = take(outcomes);
+				inFlight.remove(outcome.batch());
+				if (outcome.failure() != null) {
+					if (!isTransient(outcome.failure()) || attempts[outcome.batch()]++ >= this.maxRetries) {
+						throw propagate(outcome.failure());
+					}
+					limit = Math.max(1, limit / 2);
+					successes = 0;
+					pending.addFirst(outcome.batch());
+					logger.debug("Transient failure embedding a sub-batch, lowering concurrency to {}", limit,
+							outcome.failure());
+					continue;
+				}
+				embeddedDocuments += store(outcome, positions, embeddings);
+				completedBatches++;
+				if (limit < this.maxInFlight && ++successes >= limit) {
+					limit++;
+					successes = 0;
+				}
+				if (this.progressListener != null) {
+					this.progressListener.onProgress(embeddedDocuments, documents.size());
+				}
+			}
+		}
+		finally {
+			inFlight.values().forEach(Request::cancel);
+		}
+		return Arrays.asList(embeddings);
+	}
+
+	/**
+	 * Stores the embeddings of a successful outcome at the positions of its documents and
+	 * returns their number.
+	 */
+	private static int store(Outcome outcome, int[][] positions, float[][] embeddings) {
+		List<Embedding> results = outcome.response().getResults();
+		int[] batchPositions = positions[outcome.batch()];
+		int size = batchPositions.length;
+		Assert.state(results.size() == size, "Embeddings must have the same number as that of the documents");
+		for (int i = 0; i < size; i++) {
+			embeddings[batchPositions[i]] = results.get(i).getOutput();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns how long to wait before the given retry of a sub-batch: the initial backoff
+	 * doubled for every earlier retry, capped at the maximum backoff, of which a random
+	 * part up to one half is dropped so that retries of concurrent sub-batches spread
+	 * out.
+	 */
+	private long backoff(int retry) {
+		if (retry == 0) {
+			return 0;
+		}
+		long backoff = this.initialBackoff.toMillis() << Math.min(retry - 1, 30);
+		if (backoff < 0 || backoff > this.maxBackoff.toMillis()) {
+			backoff = this.maxBackoff.toMillis();
+		}
+		return backoff - ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+	}
+
+	private boolean isTransient(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (this.transientErrorPredicate.test(cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Outcome take(BlockingQueue<Outcome> outcomes) {
+		try {
+			return outcomes.take();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while embedding documents", ex);
+		}
+	}
+
+	private static RuntimeException propagate(Throwable failure) {
+		if (failure instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (failure instanceof Error error) {
+			throw error;
+		}
+		return new RuntimeException(failure);
+	}
+
+	private static boolean isDefaultTransient(Throwable failure) {
+		for (Class<?> type = failure.getClass(); type != null; type = type.getSuperclass()) {
+			if (DEFAULT_TRANSIENT_EXCEPTIONS.contains(type.getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Receives the progress of a dispatch after every completed sub-batch.
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+
+		void onProgress(int embeddedDocuments, int totalDocuments);
+
+	}
+
+	private record Outcome(int batch, @Nullable EmbeddingResponse response, @Nullable Throwable failure) {
+
+	}
+
+	/**
+	 * Sends a sub-batch to the model after its backoff and reports the outcome. A
+	 * cancelled request is skipped if it has not started yet and interrupted otherwise.
+	 */
+	private static final class Request implements Runnable {
+
+		private final int batch;
+
+		private final long backoffMillis;
+
+		private final Supplier<EmbeddingResponse> call;
+
+		private final BlockingQueue<Outcome> outcomes;
+
+		@Nullable
+		private Thread thread;
+
+		private boolean done;
+
+		private boolean interrupted;
+
+		Request(int batch, long backoffMillis, Supplier<EmbeddingResponse> call, BlockingQueue<Outcome> outcomes) {
+			this.batch = batch;
+			this.backoffMillis = backoffMillis;
+			this.call = call;
+			this.outcomes = outcomes;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (this.done) {
+					return;
+				}
+				this.thread = Thread.currentThread();
+			}
+			try {
+				if (this.backoffMillis > 0) {
+					Thread.sleep(this.backoffMillis);
+				}
+				this.outcomes.add(new Outcome(this.batch, this.call.get(), null));
+			}
+			catch (Throwable ex) {
+				this.outcomes.add(new Outcome(this.batch, null, ex));
+			}
+			finally {
+				boolean interrupted;
+				synchronized (this) {
+					this.done = true;
+					this.thread = null;
+					interrupted = this.interrupted;
+				}
+				if (interrupted) {
+					// Clears the interrupt of the cancellation, which may have raced with
+					// the completion, so that it does not leak into the next task of a
+					// pooled thread
+					Thread.interrupted();
+				}
+			}
+		}
+
+		synchronized void cancel() {
+			if (!this.done && this.thread != null) {
+				this.thread.interrupt();
+				this.interrupted = true;
+			}
+			this.done = true;
+		}
+
+	}
+
+	/**
+	 * Executor shared by the dispatchers without an executor of their own. Starts a
+	 * virtual thread per sub-batch on Java 21 and later, and otherwise a daemon platform
+	 * thread from a cached pool, whose idle threads terminate after a minute.
+	 */
+	private static final class DefaultExecutor {
+
+		static final Executor INSTANCE = create();
+
+		private static Executor create() {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			}
+			catch (ReflectiveOperationException ex) {
+				AtomicInteger threadNumber = new AtomicInteger();
+				return Executors.newCachedThreadPool(runnable -> {
+					Thread thread = new Thread(runnable, "embedding-dispatcher-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+		}
+
+	}
+
+	public static final class Builder {
+
+		private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+		private int maxRetries = DEFAULT_MAX_RETRIES;
+
+		private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+
+		private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+
+		@Nullable
+		private Executor executor;
+
+		private Predicate<Throwable> transientErrorPredicate = ConcurrentBatchDispatcher::isDefaultTransient;
+
+		@Nullable
+		private ProgressListener progressListener;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of sub-batches sent to the model at once. Defaults to
+		 * {@link ConcurrentBatchDispatcher#DEFAULT_MAX_IN_FLIGHT}.
+		 * @param maxInFlight the maximum number of concurrent requests
+		 * @return the builder instance
+		 */
+		public Builder maxInFlight(int maxInFlight) {
+			Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+			this.maxInFlight = maxInFlight;
+			return this;
+		}
+
+		/**
+		 * Sets how many times a sub-batch failing with a transient error is sent again.
+		 * Defaults to {@link ConcurrentBatchDispatcher#DEFAULT_MAX_RETRIES}.
+		 * @param maxRetries the maximum number of retries per sub-batch
+		 * @return the builder instance
+		 */
+		public Builder maxRetries(int maxRetries) {
+			Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * Sets how long a sub-batch waits before its first retry. Every further retry
+		 * waits twice as long, up to the {@link #maxBackoff(Duration) maximum backoff},
+		 * less a random part of up to one half. The waiting sub-batch counts against the
+		 * number of sub-batches in flight. Defaults to
+		 * {@link ConcurrentBatchDispatcher#DEFAULT_INITIAL_BACKOFF}.
+		 * @param initialBackoff the backoff before the first retry
+		 * @return the builder instance
+		 */
+		public Builder initialBackoff(Duration initialBackoff) {
+			Assert.notNull(initialBackoff, "Initial backoff must not be null");
+			Assert.isTrue(!initialBackoff.isNegative(), "Initial backoff must not be negative");
+			this.initialBackoff = initialBackoff;
+			return this;
+		}
+
+		/**
+		 * Sets the longest a sub-batch waits before a retry. Defaults to
+		 * {@link ConcurrentBatchDispatcher#DEFAULT_MAX_BACKOFF}.
+		 * @param maxBackoff the maximum backoff
+		 * @return the builder instance
+		 */
+		public Builder maxBackoff(Duration maxBackoff) {
+			Assert.notNull(maxBackoff, "Max backoff must not be null");
+			Assert.isTrue(!maxBackoff.isNegative(), "Max backoff must not be negative");
+			this.maxBackoff = maxBackoff;
+			return this;
+		}
+
+		/**
+		 * Sets the executor the requests are sent from. Defaults to an executor shared by
+		 * all dispatchers, which starts a virtual thread per request on Java 21 and later
+		 * and uses a cached pool of daemon threads otherwise. An executor set here is not
+		 * shut down by the dispatcher.
+		 * @param executor the executor
+		 * @return the builder instance
+		 */
+		public Builder executor(Executor executor) {
+			Assert.notNull(executor, "Executor must not be null");
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Sets which errors, or causes of errors, lower the concurrency and are retried.
+		 * Defaults to {@code TransientAiException} and HTTP 429 client exceptions.
+		 * @param transientErrorPredicate the predicate matching transient errors
+		 * @return the builder instance
+		 */
+		public Builder transientErrorPredicate(Predicate<Throwable> transientErrorPredicate) {
+			Assert.notNull(transientErrorPredicate, "Transient error predicate must not be null");
+			this.transientErrorPredicate = transientErrorPredicate;
+			return this;
+		}
+
+		public Builder progressListener(ProgressListener progressListener) {
+			Assert.notNull(progressListener, "ProgressListener must not be null");
+			this.progressListener = progressListener;
+			return this;
+		}
+
+		public ConcurrentBatchDispatcher build() {
+			return new ConcurrentBatchDispatcher(this);
+		}
+
+	}
+
+}
@@ -16,8 +16,13 @@
 
 package org.springframework.ai.embedding;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiConsumer;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.model.Model;
@@ -83,19 +88,47 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 	 */
 	default List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
 		Assert.notNull(documents, "Documents must not be null");
-		List<float[]> embeddings = new ArrayList<>(documents.size());
+		float[][] embeddings = new float[documents.size()][];
 		List<List<Document>> batch = batchingStrategy.batch(documents);
-		for (List<Document> subBatch : batch) {
+		// Strategies may reorder documents, so place embeddings by input position.
+		int[][] positions = BatchPositions.of(documents, batch);
+		for (int b = 0; b < batch.size(); b++) {
+			List<Document> subBatch = batch.get(b);
 			List<String> texts = subBatch.stream().map(Document::getText).toList();
 			EmbeddingRequest request = new EmbeddingRequest(texts, options);
 			EmbeddingResponse response = this.call(request);
 			for (int i = 0; i < subBatch.size(); i++) {
-				embeddings.add(response.getResults().get(i).getOutput());
+				embeddings[positions[b][i]] = response.getResults().get(i).getOutput();
 			}
 		}
-		Assert.isTrue(embeddings.size() == documents.size(),
-				"Embeddings must have the same number as that of the documents");
-		return embeddings;
+		return Arrays.asList(embeddings);
+	}
+
+	/**
+	 * Embeds a source of {@link Document}s lazily, one batch at a time. Each batch of the
+	 * {@link BatchingStrategy#batch(Iterator) streaming batching strategy} is embedded
+	 * and handed to the consumer, with its embeddings in the same order, before the next
+	 * batch is read from the source, so memory is bounded by the batch size rather than
+	 * by the number of documents.
+	 * @param documents the source of {@link Document}s.
+	 * @param options {@link EmbeddingOptions}.
+	 * @param batchingStrategy {@link BatchingStrategy}.
+	 * @param batchConsumer receives every batch of documents with its embeddings.
+	 */
+	default void embed(Iterator<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy,
+			BiConsumer<List<Document>, List<float[]>> batchConsumer) {
+		Assert.notNull(documents, "Documents must not be null");
+		Assert.notNull(batchConsumer, "Batch consumer must not be null");
+		Iterator<List<Document>> batches = batchingStrategy.batch(documents);
+		while (batches.hasNext()) {
+			List<Document> batch = batches.next();
+			List<String> texts = batch.stream().map(Document::getText).toList();
+			EmbeddingResponse response = this.call(new EmbeddingRequest(texts, options));
+			List<float[]> embeddings = response.getResults().stream().map(Embedding::getOutput).toList();
+			Assert.isTrue(embeddings.size() == batch.size(),
+					"Embeddings must have the same number as that of the documents");
+			batchConsumer.accept(batch, embeddings);
+		}
 	}
 
 	/**
@@ -108,6 +141,30 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 		return this.call(new EmbeddingRequest(texts, EmbeddingOptionsBuilder.builder().build()));
 	}
 
+	/**
+	 * Embeds the texts of the request without blocking the calling thread. The default
+	 * implementation runs {@link #call(EmbeddingRequest)} on the
+	 * {@link Schedulers#boundedElastic() bounded elastic} scheduler; models backed by a
+	 * non-blocking client send the request natively instead.
+	 * @param request the embedding request.
+	 * @return a {@link Mono} emitting the embedding response.
+	 */
+	default Mono<EmbeddingResponse> embedAsync(EmbeddingRequest request) {
+		Assert.notNull(request, "Request must not be null");
+		return Mono.fromCallable(() -> this.call(request)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Embeds the given text into a vector without blocking the calling thread.
+	 * @param text the text to embed.
+	 * @return a {@link Mono} emitting the embedded vector.
+	 */
+	default Mono<float[]> embedAsync(String text) {
+		Assert.notNull(text, "Text must not be null");
+		return this.embedAsync(new EmbeddingRequest(List.of(text), EmbeddingOptionsBuilder.builder().build()))
+			.map(response -> response.getResult().getOutput());
+	}
+
 	/**
 	 * Get the number of dimensions of the embedded vectors. Note that by default, this
 	 * method will call the remote Embedding endpoint to get the dimensions of the
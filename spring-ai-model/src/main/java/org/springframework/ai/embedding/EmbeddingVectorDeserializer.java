@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Deserializes an embedding vector sent either as a JSON array of numbers, or as the
+ * base64 encoding of its little-endian float32 values, as OpenAI-compatible APIs do for
+ * the {@code base64} encoding format. The base64 form is about a third of the size of the
+ * array and is decoded straight into the {@code float[]}.
+ * <p>
+ * Annotate the embedding properties of API responses with
+ * {@code @JsonDeserialize(using = EmbeddingVectorDeserializer.class)}.
+ *
+ * @since 1.0.0
+ */
+public class EmbeddingVectorDeserializer extends StdDeserializer<float[]> {
+
+	/**
+	 * The encoding format requesting base64 encoded embeddings from OpenAI-compatible
+	 * APIs.
+	 */
+	public static final String BASE64_ENCODING_FORMAT = "base64";
+
+	public EmbeddingVectorDeserializer() {
+		super(float[].class);
+	}
+
+	@Override
+	public float[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+			return context.readValue(parser, float[].class);
+		}
+		byte[] bytes = parser.getBinaryValue(context.getBase64Variant());
+		if (bytes.length % Float.BYTES != 0) {
+			return context.reportInputMismatch(this, "Base64 embedding of %d bytes is not a sequence of float32 values",
+					bytes.length);
+		}
+		return decode(bytes);
+	}
+
+	/**
+	 * Decodes the little-endian float32 values of an embedding.
+	 * @param bytes the bytes of the embedding, a multiple of four
+	 * @return the embedding vector
+	 */
+	public static float[] decode(byte[] bytes) {
+		float[] vector = new float[bytes.length / Float.BYTES];
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+		return vector;
+	}
+
+}
@@ -93,6 +93,8 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 		// Response
 		keyValues = usageInputTokens(keyValues, context);
 		keyValues = usageTotalTokens(keyValues, context);
+		// Cache
+		keyValues = cacheUsage(keyValues, context);
 		return keyValues;
 	}
 
@@ -131,4 +133,20 @@ public class DefaultEmbeddingModelObservationConvention implements EmbeddingMode
 		return keyValues;
 	}
 
+	// Cache
+
+	protected KeyValues cacheUsage(KeyValues keyValues, EmbeddingModelObservationContext context) {
+		EmbeddingModelObservationContext.CacheUsage cacheUsage = context.getCacheUsage();
+		if (cacheUsage != null) {
+			return keyValues
+				.and(EmbeddingModelObservationDocumentation.HighCardinalityKeyNames.CACHE_HITS.asString(),
+						String.valueOf(cacheUsage.hits()))
+				.and(EmbeddingModelObservationDocumentation.HighCardinalityKeyNames.CACHE_MISSES.asString(),
+						String.valueOf(cacheUsage.misses()))
+				.and(EmbeddingModelObservationDocumentation.HighCardinalityKeyNames.CACHE_EVICTIONS.asString(),
+						String.valueOf(cacheUsage.evictions()));
+		}
+		return keyValues;
+	}
+
 }
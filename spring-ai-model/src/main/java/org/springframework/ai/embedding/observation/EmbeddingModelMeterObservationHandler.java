@@ -16,7 +16,10 @@
 
 package org.springframework.ai.embedding.observation;
 
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationHandler;
 
@@ -30,6 +33,12 @@ import org.springframework.ai.model.observation.ModelUsageMetricsGenerator;
  */
 public class EmbeddingModelMeterObservationHandler implements ObservationHandler<EmbeddingModelObservationContext> {
 
+	private static final String CACHE_REQUESTS = "spring.ai.embedding.cache.requests";
+
+	private static final String CACHE_EVICTIONS = "spring.ai.embedding.cache.evictions";
+
+	private static final String CACHE_RESULT = "spring.ai.embedding.cache.result";
+
 	private final MeterRegistry meterRegistry;
 
 	public EmbeddingModelMeterObservationHandler(MeterRegistry meterRegistry) {
@@ -43,6 +52,34 @@ public class EmbeddingModelMeterObservationHandler implements ObservationHandler
 			ModelUsageMetricsGenerator.generate(context.getResponse().getMetadata().getUsage(), context,
 					this.meterRegistry);
 		}
+		if (context.getCacheUsage() != null) {
+			generateCacheMetrics(context.getCacheUsage(), context);
+		}
+	}
+
+	private void generateCacheMetrics(EmbeddingModelObservationContext.CacheUsage cacheUsage,
+			EmbeddingModelObservationContext context) {
+		Tags tags = Tags.empty();
+		for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+			tags = tags.and(keyValue.getKey(), keyValue.getValue());
+		}
+		Counter.builder(CACHE_REQUESTS)
+			.tag(CACHE_RESULT, "hit")
+			.description("Measures number of embedding inputs served by the cache")
+			.tags(tags)
+			.register(this.meterRegistry)
+			.increment(cacheUsage.hits());
+		Counter.builder(CACHE_REQUESTS)
+			.tag(CACHE_RESULT, "miss")
+			.description("Measures number of embedding inputs served by the cache")
+			.tags(tags)
+			.register(this.meterRegistry)
+			.increment(cacheUsage.misses());
+		Counter.builder(CACHE_EVICTIONS)
+			.description("Measures number of cached embeddings evicted")
+			.tags(tags)
+			.register(this.meterRegistry)
+			.increment(cacheUsage.evictions());
 	}
 
 	@Override
@@ -22,6 +22,7 @@ import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.ai.model.observation.ModelObservationContext;
 import org.springframework.ai.observation.AiOperationMetadata;
 import org.springframework.ai.observation.conventions.AiOperationType;
+import org.springframework.lang.Nullable;
 
 /**
  * Context used to store metadata for embedding model exchanges.
@@ -32,6 +33,9 @@ import org.springframework.ai.observation.conventions.AiOperationType;
  */
 public class EmbeddingModelObservationContext extends ModelObservationContext<EmbeddingRequest, EmbeddingResponse> {
 
+	@Nullable
+	private CacheUsage cacheUsage;
+
 	EmbeddingModelObservationContext(EmbeddingRequest embeddingRequest, String provider) {
 		super(embeddingRequest,
 				AiOperationMetadata.builder()
@@ -40,6 +44,19 @@ public class EmbeddingModelObservationContext extends ModelObservationContext<Em
 					.build());
 	}
 
+	/**
+	 * Returns how the inputs of the exchange were served by an embedding cache, or
+	 * {@code null} if the exchange did not go through a cache.
+	 */
+	@Nullable
+	public CacheUsage getCacheUsage() {
+		return this.cacheUsage;
+	}
+
+	public void setCacheUsage(@Nullable CacheUsage cacheUsage) {
+		this.cacheUsage = cacheUsage;
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -69,4 +86,16 @@ public class EmbeddingModelObservationContext extends ModelObservationContext<Em
 
 	}
 
+	/**
+	 * Counts of the inputs of an exchange served by an embedding cache.
+	 *
+	 * @param hits the number of inputs whose embedding was found in the cache
+	 * @param misses the number of inputs that had to be sent to the model
+	 * @param evictions the number of cached embeddings evicted to make room
+	 * @since 1.0.0
+	 */
+	public record CacheUsage(int hits, int misses, int evictions) {
+
+	}
+
 }
@@ -134,6 +134,38 @@ public enum EmbeddingModelObservationDocumentation implements ObservationDocumen
 			public String asString() {
 				return AiObservationAttributes.USAGE_TOTAL_TOKENS.value();
 			}
+		},
+
+		// Cache
+
+		/**
+		 * The number of inputs whose embedding was served by the cache.
+		 */
+		CACHE_HITS {
+			@Override
+			public String asString() {
+				return "spring.ai.embedding.cache.hits";
+			}
+		},
+
+		/**
+		 * The number of inputs that missed the cache and were sent to the model.
+		 */
+		CACHE_MISSES {
+			@Override
+			public String asString() {
+				return "spring.ai.embedding.cache.misses";
+			}
+		},
+
+		/**
+		 * The number of cached embeddings evicted while serving the request.
+		 */
+		CACHE_EVICTIONS {
+			@Override
+			public String asString() {
+				return "spring.ai.embedding.cache.evictions";
+			}
 		}
 
 	}
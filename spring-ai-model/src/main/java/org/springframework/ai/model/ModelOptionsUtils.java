@@ -22,8 +22,10 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -73,7 +75,7 @@ public abstract class ModelOptionsUtils {
 
 	private static final List<String> BEAN_MERGE_FIELD_EXCISIONS = List.of("class");
 
-	private static final ConcurrentHashMap<Class<?>, List<String>> REQUEST_FIELD_NAMES_PER_CLASS = new ConcurrentHashMap<Class<?>, List<String>>();
+	private static final ConcurrentHashMap<Class<?>, Set<String>> REQUEST_FIELD_NAMES_PER_CLASS = new ConcurrentHashMap<Class<?>, Set<String>>();
 
 	private static final AtomicReference<SchemaGenerator> SCHEMA_GENERATOR_CACHE = new AtomicReference<>();
 
@@ -159,14 +161,45 @@ public abstract class ModelOptionsUtils {
 			source = Map.of();
 		}
 
-		List<String> requestFieldNames = CollectionUtils.isEmpty(acceptedFieldNames)
-				? REQUEST_FIELD_NAMES_PER_CLASS.computeIfAbsent(clazz, ModelOptionsUtils::getJsonPropertyValues)
-				: acceptedFieldNames;
+		Set<String> requestFieldNames = CollectionUtils.isEmpty(acceptedFieldNames)
+				? REQUEST_FIELD_NAMES_PER_CLASS.computeIfAbsent(clazz,
+						type -> new LinkedHashSet<>(ModelOptionsUtils.getJsonPropertyValues(type)))
+				: new LinkedHashSet<>(acceptedFieldNames);
 
 		if (CollectionUtils.isEmpty(requestFieldNames)) {
 			throw new IllegalArgumentException("No @JsonProperty fields found in the " + clazz.getName());
 		}
 
+		PropertyAccessors.JsonWriter writer = PropertyAccessors.writer(clazz, OBJECT_MAPPER);
+		PropertyAccessors.JsonReader targetReader = (target != null)
+				? PropertyAccessors.reader(target.getClass(), OBJECT_MAPPER) : null;
+		PropertyAccessors.JsonReader sourceReader = (source instanceof Map) ? null
+				: PropertyAccessors.reader(source.getClass(), OBJECT_MAPPER);
+		if (writer == null || (target != null && targetReader == null)
+				|| (sourceReader == null && !(source instanceof Map))) {
+			return mergeAsJson(source, target, clazz, requestFieldNames);
+		}
+
+		// Merge the JSON properties directly between the objects, as the JSON round-trip
+		// does
+		Map<String, Object> values = new HashMap<>();
+		if (targetReader != null) {
+			targetReader.read(target, requestFieldNames, values);
+		}
+		if (sourceReader != null) {
+			sourceReader.read(source, requestFieldNames, values);
+		}
+		else {
+			((Map<?, ?>) source).forEach((name, value) -> {
+				if (value != null && requestFieldNames.contains(name)) {
+					values.put((String) name, value);
+				}
+			});
+		}
+		return clazz.cast(writer.create(values, OBJECT_MAPPER));
+	}
+
+	private static <T> T mergeAsJson(Object source, Object target, Class<T> clazz, Set<String> requestFieldNames) {
 		Map<String, Object> sourceMap = ModelOptionsUtils.objectToMap(source);
 		Map<String, Object> targetMap = ModelOptionsUtils.objectToMap(target);
 
@@ -317,6 +350,13 @@ public abstract class ModelOptionsUtils {
 		Assert.notNull(source, "Source object must not be null");
 		Assert.notNull(target, "Target object must not be null");
 
+		PropertyAccessors.BeanMerger merger = PropertyAccessors.beanMerger(source.getClass(), target.getClass(),
+				sourceInterfaceClazz, BEAN_MERGE_FIELD_EXCISIONS);
+		if (merger != null) {
+			merger.merge(source, target, overrideNonNullTargetValues);
+			return target;
+		}
+
 		BeanWrapper sourceBeanWrap = new BeanWrapperImpl(source);
 		BeanWrapper targetBeanWrap = new BeanWrapperImpl(target);
 
@@ -0,0 +1,648 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Per-class property accessors backing {@link ModelOptionsUtils#merge} and
+ * {@link ModelOptionsUtils#mergeBeans}.
+ * <p>
+ * The JSON properties of a class are resolved once through the bean introspection of the
+ * {@link ObjectMapper}, so names, getters, setters and ignored properties are those a
+ * JSON round-trip would use, and are then read and written through {@link MethodHandle}s
+ * instead of serializing the objects. Classes whose JSON form cannot be reproduced this
+ * way, such as classes with custom serializers, creators or polymorphic types, have no
+ * accessors, and callers fall back to the JSON round-trip.
+ */
+final class PropertyAccessors {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ConcurrentHashMap<Class<?>, Optional<JsonReader>> READERS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentHashMap<Class<?>, Optional<JsonWriter>> WRITERS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentHashMap<BeanMergeKey, Optional<BeanMerger>> BEAN_MERGERS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentHashMap<Class<?>, Boolean> SHAREABLE_RECORDS = new ConcurrentHashMap<>();
+
+	private PropertyAccessors() {
+	}
+
+	/**
+	 * Returns the reader of the JSON properties of the given class, or {@code null} if
+	 * its JSON form cannot be read through accessors.
+	 */
+	@Nullable
+	static JsonReader reader(Class<?> type, ObjectMapper objectMapper) {
+		return READERS.computeIfAbsent(type, key -> Optional.ofNullable(createReader(key, objectMapper))).orElse(null);
+	}
+
+	/**
+	 * Returns the writer creating instances of the given class from JSON property values,
+	 * or {@code null} if it cannot be deserialized through accessors.
+	 */
+	@Nullable
+	static JsonWriter writer(Class<?> type, ObjectMapper objectMapper) {
+		return WRITERS.computeIfAbsent(type, key -> Optional.ofNullable(createWriter(key, objectMapper))).orElse(null);
+	}
+
+	/**
+	 * Returns the merger copying the bean properties of the interface from a source to a
+	 * target class, or {@code null} if a property lacks an accessor.
+	 */
+	@Nullable
+	static BeanMerger beanMerger(Class<?> sourceType, Class<?> targetType, Class<?> interfaceType,
+			List<String> excludedProperties) {
+		return BEAN_MERGERS
+			.computeIfAbsent(new BeanMergeKey(sourceType, targetType, interfaceType),
+					key -> Optional.ofNullable(createBeanMerger(key, excludedProperties)))
+			.orElse(null);
+	}
+
+	@Nullable
+	private static JsonReader createReader(Class<?> type, ObjectMapper objectMapper) {
+		if (!isPlainBean(type)) {
+			return null;
+		}
+		SerializationConfig config = objectMapper.getSerializationConfig();
+		JavaType javaType = config.constructType(type);
+		BeanDescription description = config.introspect(javaType);
+		AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+		if (description.findJsonValueAccessor() != null || description.findAnyGetter() != null
+				|| introspector.findSerializer(description.getClassInfo()) != null
+				|| introspector.findTypeResolver(config, description.getClassInfo(), javaType) != null) {
+			return null;
+		}
+		JsonInclude.Value defaultInclusion = description
+			.findPropertyInclusion(config.getDefaultPropertyInclusion(type));
+		List<ReadableProperty> properties = new ArrayList<>();
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			AnnotatedMember accessor = property.getAccessor();
+			if (accessor == null) {
+				continue;
+			}
+			if (introspector.findSerializer(accessor) != null
+					|| introspector.findUnwrappingNameTransformer(accessor) != null
+					|| introspector.findPropertyTypeResolver(config, accessor, accessor.getType()) != null) {
+				return null;
+			}
+			JsonInclude.Include inclusion = defaultInclusion.withOverrides(property.findInclusion())
+				.getValueInclusion();
+			if (inclusion == JsonInclude.Include.NON_DEFAULT || inclusion == JsonInclude.Include.CUSTOM) {
+				return null;
+			}
+			MethodHandle getter = getter(accessor.getMember());
+			if (getter == null) {
+				return null;
+			}
+			properties
+				.add(new ReadableProperty(property.getName(), getter, inclusion == JsonInclude.Include.NON_EMPTY));
+		}
+		return new JsonReader(properties);
+	}
+
+	@Nullable
+	private static JsonWriter createWriter(Class<?> type, ObjectMapper objectMapper) {
+		if (!isPlainBean(type) || Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+		DeserializationConfig config = objectMapper.getDeserializationConfig();
+		JavaType javaType = config.constructType(type);
+		BeanDescription description = config.introspect(javaType);
+		AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+		if (introspector.findDeserializer(description.getClassInfo()) != null
+				|| introspector.findPOJOBuilder(description.getClassInfo()) != null
+				|| introspector.findTypeResolver(config, description.getClassInfo(), javaType) != null
+				|| description.findAnySetterAccessor() != null) {
+			return null;
+		}
+		for (AnnotatedWithParams creator : creators(description)) {
+			if (introspector.findCreatorAnnotation(config, creator) != null) {
+				return null;
+			}
+		}
+		return type.isRecord() ? createRecordWriter(type, objectMapper)
+				: createBeanWriter(type, description, introspector, objectMapper);
+	}
+
+	/**
+	 * Records are created through their canonical constructor, with the components named
+	 * by the {@link JsonProperty} of their fields.
+	 */
+	@Nullable
+	private static JsonWriter createRecordWriter(Class<?> type, ObjectMapper objectMapper) {
+		RecordComponent[] components = type.getRecordComponents();
+		String[] names = new String[components.length];
+		JavaType[] types = new JavaType[components.length];
+		Class<?>[] parameterTypes = new Class<?>[components.length];
+		for (int i = 0; i < components.length; i++) {
+			Field field;
+			try {
+				field = type.getDeclaredField(components[i].getName());
+			}
+			catch (NoSuchFieldException ex) {
+				return null;
+			}
+			if (field.isAnnotationPresent(JsonIgnore.class) || field.isAnnotationPresent(JsonDeserialize.class)) {
+				return null;
+			}
+			JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+			names[i] = (jsonProperty != null && !jsonProperty.value().isEmpty()) ? jsonProperty.value()
+					: components[i].getName();
+			types[i] = objectMapper.getTypeFactory().constructType(components[i].getGenericType());
+			parameterTypes[i] = components[i].getType();
+		}
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+			MethodHandle handle = privateLookup(type).unreflectConstructor(constructor);
+			return new RecordWriter(names, types, handle.asSpreader(Object[].class, components.length)
+				.asType(MethodType.methodType(Object.class, Object[].class)));
+		}
+		catch (ReflectiveOperationException | SecurityException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Beans are created through their default constructor, and their properties are set
+	 * through the setter, or else the field, that Jackson would use.
+	 */
+	@Nullable
+	private static JsonWriter createBeanWriter(Class<?> type, BeanDescription description,
+			AnnotationIntrospector introspector, ObjectMapper objectMapper) {
+		if (description.findDefaultConstructor() == null) {
+			return null;
+		}
+		Map<String, WritableProperty> properties = new HashMap<>();
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			AnnotatedMember mutator = property.hasSetter() ? property.getSetter()
+					: property.hasField() ? property.getField() : null;
+			if (mutator == null) {
+				// Jackson fills collections exposed by a getter only
+				if (property.hasConstructorParameter() || (property.hasGetter()
+						&& (Collection.class.isAssignableFrom(property.getGetter().getRawType())
+								|| Map.class.isAssignableFrom(property.getGetter().getRawType())))) {
+					return null;
+				}
+				continue;
+			}
+			if (introspector.findDeserializer(mutator) != null
+					|| introspector.findPropertyTypeResolver(objectMapper.getDeserializationConfig(), mutator,
+							property.getPrimaryType()) != null) {
+				return null;
+			}
+			MethodHandle setter = setter(mutator.getMember());
+			if (setter == null) {
+				return null;
+			}
+			properties.put(property.getName(), new WritableProperty(setter, property.getPrimaryType()));
+		}
+		try {
+			MethodHandle constructor = privateLookup(type)
+				.unreflectConstructor(description.findDefaultConstructor().getAnnotated())
+				.asType(MethodType.methodType(Object.class));
+			return new BeanWriter(constructor, properties);
+		}
+		catch (ReflectiveOperationException | SecurityException ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static BeanMerger createBeanMerger(BeanMergeKey key, List<String> excludedProperties) {
+		Set<String> interfaceMethods = new LinkedHashSet<>();
+		for (Method method : key.interfaceType().getMethods()) {
+			interfaceMethods.add(method.getName());
+		}
+		List<MergedProperty> properties = new ArrayList<>();
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(key.sourceType())) {
+			String name = descriptor.getName();
+			if (excludedProperties.contains(name)
+					|| !interfaceMethods.contains("get" + name.substring(0, 1).toUpperCase() + name.substring(1))) {
+				continue;
+			}
+			PropertyDescriptor target = BeanUtils.getPropertyDescriptor(key.targetType(), name);
+			if (descriptor.getReadMethod() == null || target == null || target.getReadMethod() == null
+					|| target.getWriteMethod() == null) {
+				return null;
+			}
+			if (!ClassUtils.isAssignable(target.getWriteMethod().getParameterTypes()[0],
+					descriptor.getReadMethod().getReturnType())) {
+				return null;
+			}
+			MethodHandle sourceGetter = getter(descriptor.getReadMethod());
+			MethodHandle targetGetter = getter(target.getReadMethod());
+			MethodHandle targetSetter = setter(target.getWriteMethod());
+			if (sourceGetter == null || targetGetter == null || targetSetter == null) {
+				return null;
+			}
+			properties.add(new MergedProperty(sourceGetter, targetGetter, targetSetter));
+		}
+		return new BeanMerger(properties);
+	}
+
+	private static boolean isPlainBean(Class<?> type) {
+		return !type.isPrimitive() && !type.isArray() && !type.isInterface() && !type.isEnum()
+				&& !type.getName().startsWith("java.") && !Map.class.isAssignableFrom(type)
+				&& !Collection.class.isAssignableFrom(type) && !KotlinDetector.isKotlinType(type);
+	}
+
+	private static List<AnnotatedWithParams> creators(BeanDescription description) {
+		List<AnnotatedWithParams> creators = new ArrayList<>(description.getConstructors());
+		creators.addAll(description.getFactoryMethods());
+		return creators;
+	}
+
+	@Nullable
+	private static MethodHandle getter(Member member) {
+		try {
+			MethodHandles.Lookup lookup = privateLookup(member.getDeclaringClass());
+			MethodHandle handle = (member instanceof Method method) ? lookup.unreflect(method)
+					: lookup.unreflectGetter((Field) member);
+			return handle.asType(GETTER_TYPE);
+		}
+		catch (ReflectiveOperationException | SecurityException | ClassCastException ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static MethodHandle setter(Member member) {
+		try {
+			MethodHandles.Lookup lookup = privateLookup(member.getDeclaringClass());
+			MethodHandle handle = (member instanceof Method method) ? lookup.unreflect(method)
+					: lookup.unreflectSetter((Field) member);
+			if (handle.type().parameterCount() != 2) {
+				return null;
+			}
+			return handle.asType(handle.type().changeReturnType(void.class)).asType(SETTER_TYPE);
+		}
+		catch (ReflectiveOperationException | SecurityException | ClassCastException ex) {
+			return null;
+		}
+	}
+
+	private static MethodHandles.Lookup privateLookup(Class<?> type) throws IllegalAccessException {
+		return MethodHandles.privateLookupIn(type, LOOKUP);
+	}
+
+	/**
+	 * Returns the value as an instance of the given type, as the JSON round-trip would
+	 * produce it, but without converting what the round-trip would reproduce. Scalars of
+	 * the type, and records that consist of such values only, are used as is. Collections
+	 * and maps are copied, with their elements converted to the element type. Other
+	 * records and beans are recreated from their converted properties. Untyped values,
+	 * values of another type and objects without accessors are converted by the object
+	 * mapper.
+	 */
+	@Nullable
+	private static Object convert(Object value, JavaType type, ObjectMapper objectMapper) {
+		Class<?> rawType = ClassUtils.resolvePrimitiveIfNecessary(type.getRawClass());
+		if (rawType == Object.class) {
+			// Jackson reads untyped JSON strings, booleans, ints and floats back as these
+			return (value instanceof String || value instanceof Boolean || value instanceof Integer
+					|| value instanceof Double) ? value : objectMapper.convertValue(value, type);
+		}
+		if (!rawType.isInstance(value)) {
+			return objectMapper.convertValue(value, type);
+		}
+		if (isScalar(value)) {
+			return value;
+		}
+		if (value instanceof Collection<?> collection && type.isCollectionLikeType()) {
+			Collection<Object> copy = rawType.isAssignableFrom(ArrayList.class) ? new ArrayList<>(collection.size())
+					: rawType.isAssignableFrom(HashSet.class) ? new HashSet<>() : null;
+			if (copy != null) {
+				for (Object element : collection) {
+					copy.add((element != null) ? convert(element, type.getContentType(), objectMapper) : null);
+				}
+				return copy;
+			}
+		}
+		else if (value instanceof Map<?, ?> map && type.isMapLikeType() && rawType.isAssignableFrom(LinkedHashMap.class)
+				&& type.getKeyType().getRawClass() == String.class) {
+			Map<Object, Object> copy = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				Object element = entry.getValue();
+				copy.put(entry.getKey(),
+						(element != null) ? convert(element, type.getContentType(), objectMapper) : null);
+			}
+			return copy;
+		}
+		else if (value.getClass() == rawType) {
+			if (rawType.isRecord() && isShareableRecord(rawType, objectMapper, new HashSet<>())) {
+				return value;
+			}
+			JsonReader reader = reader(rawType, objectMapper);
+			JsonWriter writer = writer(rawType, objectMapper);
+			if (reader != null && writer != null) {
+				Map<String, Object> values = new HashMap<>();
+				reader.read(value, null, values);
+				return writer.create(values, objectMapper);
+			}
+		}
+		return objectMapper.convertValue(value, type);
+	}
+
+	/**
+	 * Returns whether every record of the class equals its own JSON round-trip, so that
+	 * it may be shared rather than recreated: all of its components are read and written
+	 * through accessors, none of them is skipped when empty, and all of them hold
+	 * scalars, such records, or collections and maps of them.
+	 * @param visiting the records whose check is in progress, which are assumed to be
+	 * shareable
+	 */
+	private static boolean isShareableRecord(Class<?> type, ObjectMapper objectMapper, Set<Class<?>> visiting) {
+		Boolean shareable = SHAREABLE_RECORDS.get(type);
+		if (shareable != null) {
+			return shareable;
+		}
+		if (!visiting.add(type)) {
+			return true;
+		}
+		JsonReader reader = reader(type, objectMapper);
+		RecordComponent[] components = type.getRecordComponents();
+		shareable = reader != null && reader.properties.size() == components.length && !reader.skipsEmptyValues()
+				&& writer(type, objectMapper) != null;
+		for (RecordComponent component : components) {
+			if (!shareable) {
+				break;
+			}
+			shareable = isShareableType(objectMapper.getTypeFactory().constructType(component.getGenericType()),
+					objectMapper, visiting);
+		}
+		visiting.remove(type);
+		if (visiting.isEmpty()) {
+			SHAREABLE_RECORDS.putIfAbsent(type, shareable);
+		}
+		return shareable;
+	}
+
+	private static boolean isShareableType(JavaType type, ObjectMapper objectMapper, Set<Class<?>> visiting) {
+		Class<?> rawType = ClassUtils.resolvePrimitiveIfNecessary(type.getRawClass());
+		if (rawType == String.class || rawType == Boolean.class || rawType == Character.class || rawType.isEnum()
+				|| (Number.class.isAssignableFrom(rawType) && rawType.getName().startsWith("java."))) {
+			return true;
+		}
+		if (type.isCollectionLikeType()) {
+			return isShareableType(type.getContentType(), objectMapper, visiting);
+		}
+		if (type.isMapLikeType()) {
+			return type.getKeyType().getRawClass() == String.class
+					&& isShareableType(type.getContentType(), objectMapper, visiting);
+		}
+		return rawType.isRecord() && isShareableRecord(rawType, objectMapper, visiting);
+	}
+
+	private static boolean isScalar(Object value) {
+		return value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum<?>;
+	}
+
+	private static boolean isEmpty(Object value) {
+		return (value instanceof Collection<?> collection && collection.isEmpty())
+				|| (value instanceof Map<?, ?> map && map.isEmpty())
+				|| (value instanceof CharSequence text && text.length() == 0)
+				|| (value.getClass().isArray() && Array.getLength(value) == 0);
+	}
+
+	private static RuntimeException rethrow(Throwable ex) {
+		if (ex instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (ex instanceof Error error) {
+			throw error;
+		}
+		return new IllegalStateException(ex);
+	}
+
+	/**
+	 * Reads the non-null JSON properties of an object.
+	 */
+	static final class JsonReader {
+
+		private final List<ReadableProperty> properties;
+
+		private JsonReader(List<ReadableProperty> properties) {
+			this.properties = properties;
+		}
+
+		/**
+		 * Puts the values of the properties of the object named in {@code names}, or of
+		 * all properties if {@code null}, into {@code values}, replacing the values of
+		 * properties of the same name.
+		 */
+		void read(Object object, @Nullable Set<String> names, Map<String, Object> values) {
+			for (ReadableProperty property : this.properties) {
+				if (names != null && !names.contains(property.name())) {
+					continue;
+				}
+				Object value;
+				try {
+					value = property.getter().invokeExact(object);
+				}
+				catch (Throwable ex) {
+					throw rethrow(ex);
+				}
+				if (value == null || (value instanceof Optional<?> optional && optional.isEmpty())
+						|| (property.skipEmpty() && isEmpty(value))) {
+					continue;
+				}
+				values.put(property.name(), value);
+			}
+		}
+
+		boolean skipsEmptyValues() {
+			for (ReadableProperty property : this.properties) {
+				if (property.skipEmpty()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * Creates objects from JSON property values.
+	 */
+	abstract static sealed class JsonWriter permits RecordWriter, BeanWriter {
+
+		abstract Object create(Map<String, Object> values, ObjectMapper objectMapper);
+
+	}
+
+	static final class RecordWriter extends JsonWriter {
+
+		private final String[] names;
+
+		private final JavaType[] types;
+
+		private final MethodHandle constructor;
+
+		private RecordWriter(String[] names, JavaType[] types, MethodHandle constructor) {
+			this.names = names;
+			this.types = types;
+			this.constructor = constructor;
+		}
+
+		@Override
+		Object create(Map<String, Object> values, ObjectMapper objectMapper) {
+			Object[] arguments = new Object[this.names.length];
+			for (int i = 0; i < arguments.length; i++) {
+				Object value = values.get(this.names[i]);
+				Class<?> type = this.types[i].getRawClass();
+				if (value != null) {
+					arguments[i] = convert(value, this.types[i], objectMapper);
+				}
+				else if (type.isPrimitive()) {
+					// the default value, as Jackson passes for absent primitive
+					// properties
+					arguments[i] = Array.get(Array.newInstance(type, 1), 0);
+				}
+			}
+			try {
+				return this.constructor.invokeExact(arguments);
+			}
+			catch (Throwable ex) {
+				throw rethrow(ex);
+			}
+		}
+
+	}
+
+	static final class BeanWriter extends JsonWriter {
+
+		private final MethodHandle constructor;
+
+		private final Map<String, WritableProperty> properties;
+
+		private BeanWriter(MethodHandle constructor, Map<String, WritableProperty> properties) {
+			this.constructor = constructor;
+			this.properties = properties;
+		}
+
+		@Override
+		Object create(Map<String, Object> values, ObjectMapper objectMapper) {
+			try {
+				Object object = this.constructor.invokeExact();
+				for (Map.Entry<String, Object> value : values.entrySet()) {
+					WritableProperty property = this.properties.get(value.getKey());
+					if (property != null) {
+						property.setter().invokeExact(object, convert(value.getValue(), property.type(), objectMapper));
+					}
+				}
+				return object;
+			}
+			catch (Throwable ex) {
+				throw rethrow(ex);
+			}
+		}
+
+	}
+
+	/**
+	 * Copies the non-null bean properties of a source to a target.
+	 */
+	static final class BeanMerger {
+
+		private final List<MergedProperty> properties;
+
+		private BeanMerger(List<MergedProperty> properties) {
+			this.properties = properties;
+		}
+
+		void merge(Object source, Object target, boolean overrideNonNullTargetValues) {
+			try {
+				for (MergedProperty property : this.properties) {
+					Object value = property.sourceGetter().invokeExact(source);
+					if (value != null && (overrideNonNullTargetValues
+							|| (Object) property.targetGetter().invokeExact(target) == null)) {
+						property.targetSetter().invokeExact(target, value);
+					}
+				}
+			}
+			catch (Throwable ex) {
+				throw rethrow(ex);
+			}
+		}
+
+	}
+
+	private record ReadableProperty(String name, MethodHandle getter, boolean skipEmpty) {
+
+	}
+
+	private record WritableProperty(MethodHandle setter, JavaType type) {
+
+	}
+
+	private record MergedProperty(MethodHandle sourceGetter, MethodHandle targetGetter, MethodHandle targetSetter) {
+
+	}
+
+	private record BeanMergeKey(Class<?> sourceType, Class<?> targetType, Class<?> interfaceType) {
+
+	}
+
+}
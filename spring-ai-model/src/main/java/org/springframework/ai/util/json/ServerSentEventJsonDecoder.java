@@ -0,0 +1,293 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.util.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes a stream of server-sent events carrying JSON data, such as the streaming
+ * responses of chat completion APIs, into objects.
+ * <p>
+ * The bytes of the {@code data} fields are fed straight from the response buffers into a
+ * single non-blocking Jackson parser per stream, so the events are neither copied into
+ * strings nor parsed by a new parser each. The stream completes on the {@code [DONE]}
+ * event some APIs send last, which is detected on the bytes as well. The other fields of
+ * the events are ignored.
+ *
+ * @param <T> the type of the event data
+ * @since 1.0.0
+ */
+public final class ServerSentEventJsonDecoder<T> {
+
+	private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] DONE_DATA = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] LINE_FEED = { '\n' };
+
+	private final Class<T> type;
+
+	private final ObjectMapper objectMapper;
+
+	private final JsonParser parser;
+
+	private final ByteBufferFeeder feeder;
+
+	/**
+	 * The tokens of the value being parsed, or {@code null} between values.
+	 */
+	@Nullable
+	private TokenBuffer tokens;
+
+	private int depth;
+
+	private State state = State.FIELD;
+
+	/**
+	 * The number of leading bytes of the field name matching {@code data}, or -1 if the
+	 * field is another one.
+	 */
+	private int fieldMatch;
+
+	/**
+	 * The number of leading bytes of the data matching {@code [DONE]}.
+	 */
+	private int doneMatch;
+
+	private boolean carriageReturn;
+
+	private boolean done;
+
+	private ServerSentEventJsonDecoder(Class<T> type, ObjectMapper objectMapper) {
+		this.type = type;
+		this.objectMapper = objectMapper;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to create a non-blocking JSON parser", ex);
+		}
+		this.feeder = (ByteBufferFeeder) this.parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * Decodes the data of the server-sent events of a response body into objects.
+	 * @param <T> the type of the event data
+	 * @param body the response body, whose buffers are released once decoded
+	 * @param type the type of the event data
+	 * @param objectMapper the object mapper to read the data with
+	 * @return the event data, completing with the body or on a {@code [DONE]} event
+	 */
+	public static <T> Flux<T> decode(Flux<DataBuffer> body, Class<T> type, ObjectMapper objectMapper) {
+		Assert.notNull(body, "body cannot be null");
+		Assert.notNull(type, "type cannot be null");
+		Assert.notNull(objectMapper, "objectMapper cannot be null");
+		return Flux.defer(() -> {
+			ServerSentEventJsonDecoder<T> decoder = new ServerSentEventJsonDecoder<>(type, objectMapper);
+			return body.map(decoder::decode)
+				// cancels the body once the "[DONE]" event is received
+				.takeUntil(values -> decoder.done)
+				.concatMapIterable(Function.identity())
+				.doFinally(signal -> decoder.close());
+		});
+	}
+
+	private List<T> decode(DataBuffer buffer) {
+		List<T> values = new ArrayList<>(1);
+		try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+			while (iterator.hasNext() && !this.done) {
+				decode(iterator.next(), values);
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to decode the JSON data of a server-sent event", ex);
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+		return values;
+	}
+
+	/**
+	 * Decodes a chunk of the event stream, adding the values completed by the chunk.
+	 */
+	void decode(ByteBuffer chunk, List<T> values) throws IOException {
+		int limit = chunk.limit();
+		int i = chunk.position();
+		while (i < limit && !this.done) {
+			byte b = chunk.get(i);
+			if (b == '\n' && this.carriageReturn) {
+				// the line feed of a CRLF line ending
+				this.carriageReturn = false;
+				i++;
+				continue;
+			}
+			this.carriageReturn = (b == '\r');
+			if (b == '\r' || b == '\n') {
+				endOfLine(values);
+				i++;
+				continue;
+			}
+			switch (this.state) {
+				case FIELD -> {
+					if (b == ':') {
+						this.state = (this.fieldMatch == DATA_FIELD.length) ? State.DATA_START : State.IGNORED;
+					}
+					else {
+						this.fieldMatch = (this.fieldMatch >= 0 && this.fieldMatch < DATA_FIELD.length
+								&& DATA_FIELD[this.fieldMatch] == b) ? this.fieldMatch + 1 : -1;
+					}
+					i++;
+				}
+				case DATA_START -> {
+					// a single space after the colon is not part of the data
+					if (b == ' ') {
+						i++;
+					}
+					this.state = State.VALUE_START;
+				}
+				case VALUE_START -> {
+					this.state = (b == DONE_DATA[0]) ? State.DONE_CHECK : State.DATA;
+					this.doneMatch = 0;
+				}
+				case DONE_CHECK -> {
+					if (this.doneMatch < DONE_DATA.length && DONE_DATA[this.doneMatch] == b) {
+						this.doneMatch++;
+						i++;
+					}
+					else {
+						feed(ByteBuffer.wrap(DONE_DATA, 0, this.doneMatch), values);
+						this.state = State.DATA;
+					}
+				}
+				case DATA -> {
+					int end = i;
+					while (end < limit && chunk.get(end) != '\n' && chunk.get(end) != '\r') {
+						end++;
+					}
+					feed(chunk.slice(i, end - i), values);
+					i = end;
+				}
+				case IGNORED -> i++;
+			}
+		}
+	}
+
+	private void endOfLine(List<T> values) throws IOException {
+		if (this.state == State.DONE_CHECK && this.doneMatch == DONE_DATA.length) {
+			this.done = true;
+			return;
+		}
+		if (this.state == State.DONE_CHECK) {
+			feed(ByteBuffer.wrap(DONE_DATA, 0, this.doneMatch), values);
+		}
+		if (this.state == State.DONE_CHECK || this.state == State.DATA) {
+			// the lines of the data are joined by line feeds
+			feed(ByteBuffer.wrap(LINE_FEED), values);
+		}
+		this.state = State.FIELD;
+		this.fieldMatch = 0;
+	}
+
+	/**
+	 * Feeds bytes of the data to the parser and reads the tokens they complete.
+	 */
+	private void feed(ByteBuffer data, List<T> values) throws IOException {
+		if (!data.hasRemaining()) {
+			return;
+		}
+		this.feeder.feedInput(data);
+		JsonToken token;
+		while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			if (this.tokens == null) {
+				this.tokens = new TokenBuffer(this.parser);
+			}
+			this.tokens.copyCurrentEvent(this.parser);
+			if (token.isStructStart()) {
+				this.depth++;
+			}
+			else if (token.isStructEnd()) {
+				this.depth--;
+			}
+			if (this.depth == 0) {
+				values.add(this.objectMapper.readValue(this.tokens.asParser(), this.type));
+				this.tokens = null;
+			}
+		}
+	}
+
+	private void close() {
+		try {
+			this.parser.close();
+		}
+		catch (IOException ex) {
+			// nothing to release
+		}
+	}
+
+	private enum State {
+
+		/**
+		 * Reading the name of a field.
+		 */
+		FIELD,
+
+		/**
+		 * After the colon of a data field.
+		 */
+		DATA_START,
+
+		/**
+		 * At the first byte of the data, after the optional space.
+		 */
+		VALUE_START,
+
+		/**
+		 * Reading data which may be {@code [DONE]}.
+		 */
+		DONE_CHECK,
+
+		/**
+		 * Reading JSON data.
+		 */
+		DATA,
+
+		/**
+		 * Skipping the value of another field or a comment.
+		 */
+		IGNORED
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.ai.embedding;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -77,6 +78,52 @@ public class AbstractEmbeddingModelTests {
 		assertThat(dummy.dimensions()).isEqualTo(3);
 	}
 
+	@Test
+	public void testDefaultEmbedAsyncImplementation() {
+		EmbeddingModel dummy = new EmbeddingModel() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				assertThat(Thread.currentThread().getName()).startsWith("boundedElastic");
+				float[] embedding = { request.getInstructions().size() };
+				return new EmbeddingResponse(List.of(new Embedding(embedding, 0)));
+			}
+
+			@Override
+			public float[] embed(Document document) {
+				throw new UnsupportedOperationException("Unimplemented method 'embed'");
+			}
+		};
+
+		assertThat(dummy.embedAsync("Hello world!").block()).containsExactly(1f);
+	}
+
+	@Test
+	public void testDefaultBatchEmbedRestoresInputOrder() {
+		EmbeddingModel dummy = new EmbeddingModel() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				List<Embedding> embeddings = new ArrayList<>();
+				for (String text : request.getInstructions()) {
+					embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+
+			@Override
+			public float[] embed(Document document) {
+				throw new UnsupportedOperationException("Unimplemented method 'embed'");
+			}
+		};
+		List<Document> documents = List.of(new Document("0"), new Document("1"), new Document("2"));
+		BatchingStrategy reversed = docs -> List.of(List.of(docs.get(2), docs.get(1)), List.of(docs.get(0)));
+
+		List<float[]> embeddings = dummy.embed(documents, EmbeddingOptionsBuilder.builder().build(), reversed);
+
+		assertThat(embeddings).containsExactly(new float[] { 0 }, new float[] { 1 }, new float[] { 2 });
+	}
+
 	@ParameterizedTest
 	@CsvFileSource(resources = "/embedding/embedding-model-dimensions.properties", numLinesToSkip = 1, delimiter = '=')
 	public void testKnownEmbeddingModelDimensions(String model, String dimension) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.content.Media;
+import org.springframework.ai.document.Document;
+import org.springframework.util.MimeTypeUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CachingEmbeddingModelTests {
+
+	private final RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+
+	@Test
+	void shouldSendOnlyDistinctMissesUpstreamAndKeepOrder() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).modelName("length").build();
+		embeddingModel.embed(List.of("a", "bb"));
+
+		List<float[]> embeddings = embeddingModel.embed(List.of("bb", "ccc", "a", "ccc"));
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("ccc"));
+		assertThat(embeddings).containsExactly(new float[] { 2f }, new float[] { 3f }, new float[] { 1f },
+				new float[] { 3f });
+	}
+
+	@Test
+	void shouldKeyOnModelAndOptions() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).modelName("length").build();
+
+		EmbeddingOptions x = EmbeddingOptionsBuilder.builder().withModel("x").build();
+		EmbeddingOptions y = EmbeddingOptionsBuilder.builder().withModel("y").build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), x));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), y));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), x));
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void shouldKeyOnModelNameForDefaultOptions(@TempDir Path directory) {
+		CachingEmbeddingModel.builder(this.delegate).modelName("length").directory(directory).build().embed("a");
+
+		CachingEmbeddingModel.builder(this.delegate).modelName("length/512").directory(directory).build().embed("a");
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void shouldRequireModelName() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CachingEmbeddingModel.builder(this.delegate).build())
+			.withMessageContaining("Model name");
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedEmbeddings() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.modelName("length")
+			.maximumSize(2)
+			.build();
+
+		embeddingModel.embed("a");
+		embeddingModel.embed("bb");
+		embeddingModel.embed("a");
+		embeddingModel.embed("ccc");
+		embeddingModel.embed("a");
+		embeddingModel.embed("bb");
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a"), List.of("bb"), List.of("ccc"), List.of("bb"));
+	}
+
+	@Test
+	void shouldServeEmbeddingsFromDirectoryAcrossInstances(@TempDir Path directory) {
+		CachingEmbeddingModel.builder(this.delegate).modelName("length").directory(directory).build().embed("a");
+
+		float[] embedding = CachingEmbeddingModel.builder(this.delegate)
+			.modelName("length")
+			.directory(directory)
+			.build()
+			.embed("a");
+
+		assertThat(embedding).containsExactly(1f);
+		assertThat(this.delegate.requests).hasSize(1);
+	}
+
+	@Test
+	void shouldEmbedOnlyMissingDocuments() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).modelName("length").build();
+		embeddingModel.embed(List.of("a"));
+
+		List<float[]> embeddings = embeddingModel.embed(List.of(new Document("a"), new Document("dddd")),
+				EmbeddingOptionsBuilder.builder().build(), new TokenCountBatchingStrategy());
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a"), List.of("dddd"));
+		assertThat(embeddings).containsExactly(new float[] { 1f }, new float[] { 4f });
+	}
+
+	@Test
+	void shouldShareEmbeddingsOfDocumentTextsAcrossMethods() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).modelName("length").build();
+		embeddingModel.embed(new Document("a", Map.of("source", "x")));
+
+		List<float[]> embeddings = embeddingModel.embed(List.of(new Document("a")),
+				EmbeddingOptionsBuilder.builder().build(), new TokenCountBatchingStrategy());
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a"));
+		assertThat(embeddings).containsExactly(new float[] { 1f });
+	}
+
+	@Test
+	void shouldPassDocumentsWithoutTextToDelegate() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).modelName("length").build();
+		Document image = Document.builder()
+			.media(new Media(MimeTypeUtils.IMAGE_PNG, URI.create("https://example.com/image.png")))
+			.build();
+
+		List<float[]> embeddings = embeddingModel.embed(List.of(new Document("a"), image, new Document("a")),
+				EmbeddingOptionsBuilder.builder().build(), List::of);
+		float[] embedding = embeddingModel.embed(image);
+
+		assertThat(this.delegate.requests).containsExactly(Arrays.asList("a", null));
+		assertThat(this.delegate.media).isEqualTo(1);
+		assertThat(embeddings).containsExactly(new float[] { 1f }, new float[] { -1f }, new float[] { 1f });
+		assertThat(embedding).containsExactly(-1f);
+	}
+
+	/**
+	 * Embeds every text into its length, and texts that are {@code null} into -1, and
+	 * records the requests.
+	 */
+	static class RecordingEmbeddingModel implements EmbeddingModel {
+
+		final List<List<String>> requests = new ArrayList<>();
+
+		int media;
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { (text != null) ? text.length() : -1 }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			if (!document.isText()) {
+				this.media++;
+				return new float[] { -1f };
+			}
+			return embed(document.getText());
+		}
+
+	}
+
+}
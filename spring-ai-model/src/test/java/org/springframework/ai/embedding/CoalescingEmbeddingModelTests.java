@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingEmbeddingModelTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void shouldCoalesceConcurrentEmbeddings() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CoalescingEmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(delegate)
+			.maxDelay(Duration.ofMillis(200))
+			.maxBatchSize(8)
+			.build();
+
+		List<CompletableFuture<float[]>> embeddings = IntStream.range(0, 16)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> embeddingModel.embed("x".repeat(i + 1)), this.executor))
+			.toList();
+
+		for (int i = 0; i < embeddings.size(); i++) {
+			assertThat(embeddings.get(i).join()).containsExactly(i + 1);
+		}
+		assertThat(delegate.requests).hasSizeLessThan(16);
+		assertThat(delegate.requests.stream().mapToInt(List::size).sum()).isEqualTo(16);
+		assertThat(delegate.requests).allSatisfy(texts -> assertThat(texts).hasSizeLessThanOrEqualTo(8));
+	}
+
+	@Test
+	void shouldSendSingleEmbeddingAfterDelay() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CoalescingEmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(delegate).build();
+
+		assertThat(embeddingModel.embed("abc")).containsExactly(3);
+		assertThat(embeddingModel.embed("abcd")).containsExactly(4);
+		assertThat(delegate.requests).containsExactly(List.of("abc"), List.of("abcd"));
+	}
+
+	@Test
+	void shouldEmbedEqualTextsOnce() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CoalescingEmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(delegate)
+			.maxDelay(Duration.ofMillis(200))
+			.maxBatchSize(2)
+			.build();
+
+		List<CompletableFuture<float[]>> embeddings = IntStream.range(0, 4)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> embeddingModel.embed("same"), this.executor))
+			.toList();
+		embeddings.forEach(embedding -> assertThat(embedding.join()).containsExactly(4));
+
+		assertThat(delegate.requests).allSatisfy(texts -> assertThat(texts).containsExactly("same"));
+	}
+
+	@Test
+	void shouldFailEveryCallerOfFailedBatch() {
+		EmbeddingModel delegate = new RecordingEmbeddingModel() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				throw new IllegalStateException("Unavailable");
+			}
+
+		};
+		CoalescingEmbeddingModel embeddingModel = CoalescingEmbeddingModel.builder(delegate).build();
+
+		assertThatThrownBy(() -> embeddingModel.embed("abc")).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unavailable");
+	}
+
+	static class RecordingEmbeddingModel implements EmbeddingModel {
+
+		final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { text.length() }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentBatchDispatcherTests {
+
+	private static final BatchingStrategy PAIRS = documents -> {
+		List<List<Document>> batches = new ArrayList<>();
+		for (int i = 0; i < documents.size(); i += 2) {
+			batches.add(documents.subList(i, Math.min(i + 2, documents.size())));
+		}
+		return batches;
+	};
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+	private final List<Document> documents = IntStream.range(0, 41)
+		.mapToObj(i -> new Document(String.valueOf(i)))
+		.toList();
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void shouldPreserveDocumentOrder() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of());
+		embeddingModel.setBatchDispatcher(ConcurrentBatchDispatcher.builder().executor(this.executor).build());
+
+		List<float[]> embeddings = embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(),
+				PAIRS);
+
+		assertThat(embeddings).hasSize(this.documents.size());
+		for (int i = 0; i < embeddings.size(); i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+		}
+	}
+
+	@Test
+	void shouldNotExceedMaxInFlight() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of());
+		embeddingModel
+			.setBatchDispatcher(ConcurrentBatchDispatcher.builder().executor(this.executor).maxInFlight(3).build());
+
+		embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(), PAIRS);
+
+		assertThat(embeddingModel.maxConcurrency.get()).isBetween(1, 3);
+	}
+
+	@Test
+	void shouldRetryTransientFailuresAndReportProgress() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of("4", "20"));
+		List<Integer> progress = new ArrayList<>();
+		embeddingModel.setBatchDispatcher(ConcurrentBatchDispatcher.builder()
+			.executor(this.executor)
+			.initialBackoff(Duration.ofMillis(1))
+			.transientErrorPredicate(RateLimitedException.class::isInstance)
+			.progressListener((embedded, total) -> {
+				assertThat(total).isEqualTo(this.documents.size());
+				progress.add(embedded);
+			})
+			.build());
+
+		List<float[]> embeddings = embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(),
+				PAIRS);
+
+		assertThat(embeddings).hasSize(this.documents.size());
+		assertThat(embeddings.get(4)).containsExactly(4);
+		assertThat(embeddings.get(20)).containsExactly(20);
+		assertThat(progress).isSorted().hasSize(21).last().isEqualTo(this.documents.size());
+	}
+
+	@Test
+	void shouldPropagateNonTransientFailures() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of("4"));
+		embeddingModel.setBatchDispatcher(ConcurrentBatchDispatcher.builder().executor(this.executor).build());
+
+		assertThatThrownBy(() -> embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(), PAIRS))
+			.isInstanceOf(RateLimitedException.class);
+	}
+
+	@Test
+	void shouldGiveUpAfterMaxRetries() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of("4"));
+		embeddingModel.failuresPerText = Integer.MAX_VALUE;
+		embeddingModel.setBatchDispatcher(ConcurrentBatchDispatcher.builder()
+			.executor(this.executor)
+			.maxRetries(2)
+			.initialBackoff(Duration.ofMillis(1))
+			.transientErrorPredicate(RateLimitedException.class::isInstance)
+			.build());
+
+		assertThatThrownBy(() -> embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(), PAIRS))
+			.isInstanceOf(RateLimitedException.class);
+		assertThat(embeddingModel.failures.get("4")).hasValue(3);
+	}
+
+	@Test
+	void shouldBackOffExponentiallyBeforeRetrying() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of("4"));
+		embeddingModel.failuresPerText = 2;
+		embeddingModel.setBatchDispatcher(ConcurrentBatchDispatcher.builder()
+			.executor(this.executor)
+			.initialBackoff(Duration.ofMillis(100))
+			.transientErrorPredicate(RateLimitedException.class::isInstance)
+			.build());
+
+		long start = System.nanoTime();
+		embeddingModel.embed(this.documents, EmbeddingOptionsBuilder.builder().build(), PAIRS);
+
+		// At least half of 100 ms before the first retry and of 200 ms before the second
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+		assertThat(embeddingModel.failures.get("4")).hasValue(3);
+	}
+
+	@Test
+	void shouldInterruptSubBatchesInFlightOnFailure() throws Exception {
+		CountDownLatch started = new CountDownLatch(3);
+		CountDownLatch interrupted = new CountDownLatch(3);
+		AtomicInteger calls = new AtomicInteger();
+		EmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of()) {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				calls.incrementAndGet();
+				if (request.getInstructions().contains("0")) {
+					try {
+						started.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					throw new IllegalStateException("Rejected");
+				}
+				started.countDown();
+				try {
+					Thread.sleep(10_000);
+				}
+				catch (InterruptedException ex) {
+					interrupted.countDown();
+				}
+				throw new IllegalStateException("Interrupted");
+			}
+
+		};
+		ConcurrentBatchDispatcher dispatcher = ConcurrentBatchDispatcher.builder()
+			.executor(this.executor)
+			.maxInFlight(4)
+			.build();
+
+		assertThatThrownBy(() -> dispatcher.embed(embeddingModel, this.documents,
+				EmbeddingOptionsBuilder.builder().build(), PAIRS))
+			.hasMessage("Rejected");
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(calls).hasValue(4);
+	}
+
+	@Test
+	void shouldKeepInterruptsNotSentByCancellation() {
+		List<Boolean> interruptedAfterRun = new CopyOnWriteArrayList<>();
+		EmbeddingModel embeddingModel = new SlowEmbeddingModel(Set.of()) {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				EmbeddingResponse response = super.call(request);
+				Thread.currentThread().interrupt();
+				return response;
+			}
+
+		};
+		ConcurrentBatchDispatcher dispatcher = ConcurrentBatchDispatcher.builder().executor(command -> {
+			command.run();
+			interruptedAfterRun.add(Thread.interrupted());
+		}).build();
+
+		dispatcher.embed(embeddingModel, this.documents, EmbeddingOptionsBuilder.builder().build(), PAIRS);
+
+		assertThat(interruptedAfterRun).hasSize(21).containsOnly(true);
+	}
+
+	static class RateLimitedException extends RuntimeException {
+
+	}
+
+	/**
+	 * Embeds every document text, a number, as a single component after a short delay,
+	 * failing the first requests containing one of the failing texts.
+	 */
+	static class SlowEmbeddingModel extends AbstractEmbeddingModel {
+
+		final AtomicInteger concurrency = new AtomicInteger();
+
+		final AtomicInteger maxConcurrency = new AtomicInteger();
+
+		final ConcurrentHashMap<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+		private final Set<String> failingTexts;
+
+		int failuresPerText = 1;
+
+		SlowEmbeddingModel(Set<String> failingTexts) {
+			this.failingTexts = failingTexts;
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.maxConcurrency.accumulateAndGet(this.concurrency.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2);
+				List<Embedding> embeddings = new ArrayList<>();
+				for (String text : request.getInstructions()) {
+					if (this.failingTexts.contains(text)
+							&& this.failures.computeIfAbsent(text, key -> new AtomicInteger())
+								.getAndIncrement() < this.failuresPerText) {
+						throw new RateLimitedException();
+					}
+					embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.concurrency.decrementAndGet();
+			}
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+}
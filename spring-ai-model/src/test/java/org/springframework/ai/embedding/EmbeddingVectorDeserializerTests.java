@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link EmbeddingVectorDeserializer} class.
+ */
+class EmbeddingVectorDeserializerTests {
+
+	private static final float[] VECTOR = { 0.0023064255f, -0.009327292f, 1.0f, -0.0f, Float.MIN_VALUE };
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void shouldDeserializeBase64Embedding() throws Exception {
+		ByteBuffer bytes = ByteBuffer.allocate(VECTOR.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.asFloatBuffer().put(VECTOR);
+		String json = "{\"embedding\":\"" + Base64.getEncoder().encodeToString(bytes.array()) + "\"}";
+
+		assertThat(this.objectMapper.readValue(json, TestEmbedding.class).embedding()).containsExactly(VECTOR);
+	}
+
+	@Test
+	void shouldDeserializeFloatArrayEmbedding() throws Exception {
+		String json = "{\"embedding\":" + this.objectMapper.writeValueAsString(VECTOR) + "}";
+
+		assertThat(this.objectMapper.readValue(json, TestEmbedding.class).embedding()).containsExactly(VECTOR);
+		assertThat(this.objectMapper.readValue("{\"embedding\":null}", TestEmbedding.class).embedding()).isNull();
+	}
+
+	@Test
+	void shouldDeserializeListOfEmbeddings() throws Exception {
+		String json = "{\"vectors\":[\"AACAPw==\",[2.0]]}";
+
+		assertThat(this.objectMapper.readValue(json, TestEmbeddingList.class).vectors())
+			.containsExactly(new float[] { 1.0f }, new float[] { 2.0f });
+	}
+
+	@Test
+	void shouldRejectTruncatedBase64Embedding() {
+		assertThatThrownBy(() -> this.objectMapper.readValue("{\"embedding\":\"AACA\"}", TestEmbedding.class))
+			.isInstanceOf(MismatchedInputException.class);
+	}
+
+	record TestEmbedding(
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding) {
+
+	}
+
+	record TestEmbeddingList(@JsonProperty("vectors") @JsonDeserialize(
+			contentUsing = EmbeddingVectorDeserializer.class) List<float[]> vectors) {
+
+	}
+
+}
@@ -126,6 +126,19 @@ class DefaultEmbeddingModelObservationConventionTests {
 					HighCardinalityKeyNames.USAGE_TOTAL_TOKENS.asString());
 	}
 
+	@Test
+	void shouldHaveCacheKeyValuesWhenCacheUsageDefined() {
+		EmbeddingModelObservationContext observationContext = EmbeddingModelObservationContext.builder()
+			.embeddingRequest(generateEmbeddingRequest(EmbeddingOptionsBuilder.builder().build()))
+			.provider("superprovider")
+			.build();
+		observationContext.setCacheUsage(new EmbeddingModelObservationContext.CacheUsage(3, 2, 1));
+		assertThat(this.observationConvention.getHighCardinalityKeyValues(observationContext)).contains(
+				KeyValue.of(HighCardinalityKeyNames.CACHE_HITS.asString(), "3"),
+				KeyValue.of(HighCardinalityKeyNames.CACHE_MISSES.asString(), "2"),
+				KeyValue.of(HighCardinalityKeyNames.CACHE_EVICTIONS.asString(), "1"));
+	}
+
 	private EmbeddingRequest generateEmbeddingRequest(EmbeddingOptions embeddingOptions) {
 		return new EmbeddingRequest(List.of(), embeddingOptions);
 	}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ModelOptionsUtils#merge(Object, Object, Class)} of chat options into a
+ * request record, holding a conversation of typed messages with tool calls and tool
+ * definitions, with the JSON round-trip it replaces. Run the {@link #main} method from
+ * the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelOptionsUtilsBenchmark {
+
+	private final BenchmarkOptions options = new BenchmarkOptions();
+
+	private final BenchmarkRequest request = new BenchmarkRequest(conversation(), "default-model", 1.0, null, null,
+			null, null, false, null, List.of(tool("current_weather"), tool("local_time")));
+
+	public ModelOptionsUtilsBenchmark() {
+		this.options.setModel("model");
+		this.options.setTemperature(0.7);
+		this.options.setTopP(0.9);
+		this.options.setMaxTokens(512);
+		this.options.setStop(List.of("END"));
+		this.options.setMetadata(Map.of("user", "benchmark"));
+	}
+
+	@Benchmark
+	public BenchmarkRequest merge() {
+		return ModelOptionsUtils.merge(this.options, this.request, BenchmarkRequest.class);
+	}
+
+	@Benchmark
+	public BenchmarkRequest jsonRoundTrip() {
+		List<String> fieldNames = ModelOptionsUtils.getJsonPropertyValues(BenchmarkRequest.class);
+		Map<String, Object> target = ModelOptionsUtils.objectToMap(this.request);
+		target.putAll(ModelOptionsUtils.objectToMap(this.options));
+		return ModelOptionsUtils.mapToClass(target.entrySet()
+			.stream()
+			.filter(e -> fieldNames.contains(e.getKey()))
+			.collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue())), BenchmarkRequest.class);
+	}
+
+	private static List<BenchmarkMessage> conversation() {
+		List<BenchmarkMessage> messages = new ArrayList<>();
+		messages.add(new BenchmarkMessage("system", "You are a helpful travel assistant.", null, null, null));
+		for (int i = 0; i < 4; i++) {
+			String id = "call_" + i;
+			messages.add(new BenchmarkMessage("user", "What is the weather and the local time in city " + i + "?", null,
+					null, null));
+			messages.add(
+					new BenchmarkMessage("assistant", null, null,
+							List.of(new BenchmarkToolCall(id, "function",
+									new BenchmarkFunctionCall("current_weather", "{\"city\":\"city " + i + "\"}"))),
+							null));
+			messages
+				.add(new BenchmarkMessage("tool", "{\"temperature\":21,\"unit\":\"C\"}", "current_weather", null, id));
+			messages.add(new BenchmarkMessage("assistant", "It is 21 degrees in city " + i + ".", null, null, null));
+		}
+		return messages;
+	}
+
+	private static BenchmarkTool tool(String name) {
+		return new BenchmarkTool("function",
+				new BenchmarkFunction(name, "Returns the " + name.replace('_', ' '), Map.of("type", "object",
+						"properties", Map.of("city", Map.of("type", "string")), "required", List.of("city"))));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ModelOptionsUtilsBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkRequest(@JsonProperty("messages") List<BenchmarkMessage> messages,
+			@JsonProperty("model") String model, @JsonProperty("temperature") Double temperature,
+			@JsonProperty("top_p") Double topP, @JsonProperty("max_tokens") Integer maxTokens,
+			@JsonProperty("stop") List<String> stop, @JsonProperty("metadata") Map<String, String> metadata,
+			@JsonProperty("stream") Boolean stream, @JsonProperty("user") String user,
+			@JsonProperty("tools") List<BenchmarkTool> tools) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkMessage(@JsonProperty("role") String role, @JsonProperty("content") String content,
+			@JsonProperty("name") String name, @JsonProperty("tool_calls") List<BenchmarkToolCall> toolCalls,
+			@JsonProperty("tool_call_id") String toolCallId) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkToolCall(@JsonProperty("id") String id, @JsonProperty("type") String type,
+			@JsonProperty("function") BenchmarkFunctionCall function) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkFunctionCall(@JsonProperty("name") String name,
+			@JsonProperty("arguments") String arguments) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkTool(@JsonProperty("type") String type,
+			@JsonProperty("function") BenchmarkFunction function) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record BenchmarkFunction(@JsonProperty("name") String name, @JsonProperty("description") String description,
+			@JsonProperty("parameters") Map<String, Object> parameters) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class BenchmarkOptions {
+
+		@JsonProperty("model")
+		private String model;
+
+		@JsonProperty("temperature")
+		private Double temperature;
+
+		@JsonProperty("top_p")
+		private Double topP;
+
+		@JsonProperty("max_tokens")
+		private Integer maxTokens;
+
+		@JsonProperty("stop")
+		private List<String> stop;
+
+		@JsonProperty("metadata")
+		private Map<String, String> metadata;
+
+		public String getModel() {
+			return this.model;
+		}
+
+		public void setModel(String model) {
+			this.model = model;
+		}
+
+		public Double getTemperature() {
+			return this.temperature;
+		}
+
+		public void setTemperature(Double temperature) {
+			this.temperature = temperature;
+		}
+
+		public Double getTopP() {
+			return this.topP;
+		}
+
+		public void setTopP(Double topP) {
+			this.topP = topP;
+		}
+
+		public Integer getMaxTokens() {
+			return this.maxTokens;
+		}
+
+		public void setMaxTokens(Integer maxTokens) {
+			this.maxTokens = maxTokens;
+		}
+
+		public List<String> getStop() {
+			return this.stop;
+		}
+
+		public void setStop(List<String> stop) {
+			this.stop = stop;
+		}
+
+		public Map<String, String> getMetadata() {
+			return this.metadata;
+		}
+
+		public void setMetadata(Map<String, String> metadata) {
+			this.metadata = metadata;
+		}
+
+	}
+
+}
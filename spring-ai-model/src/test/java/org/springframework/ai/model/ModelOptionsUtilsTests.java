@@ -16,9 +16,14 @@
 
 package org.springframework.ai.model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +58,79 @@ public class ModelOptionsUtilsTests {
 		assertThat(specificOptions2.getSpecificField()).isEqualTo("SpecificField");
 	}
 
+	@Test
+	public void mergeIntoRecord() {
+		TestSpecificOptions options = new TestSpecificOptions();
+		options.setName("John");
+		options.setSpecificField("SpecificField");
+
+		TestRequest request = new TestRequest("Mike", 60.0, List.of("stop"), Map.of("key", "value"), true);
+		TestRequest merged = ModelOptionsUtils.merge(options, request, TestRequest.class);
+
+		assertThat(merged).isEqualTo(new TestRequest("John", 60.0, List.of("stop"), Map.of("key", "value"), true));
+		assertThat(merged.stop()).isNotSameAs(request.stop());
+		assertThat(ModelOptionsUtils.merge(options, null, TestRequest.class))
+			.isEqualTo(new TestRequest("John", null, null, null, false));
+		assertThat(ModelOptionsUtils.merge(Map.of("age", 30, "stop", List.of("end")), request, TestRequest.class))
+			.isEqualTo(new TestRequest("Mike", 30.0, List.of("end"), Map.of("key", "value"), true));
+	}
+
+	@Test
+	public void mergeConvertsPropertyTypes() {
+		TestSpecificOptions options = new TestSpecificOptions();
+		options.setAge(30);
+
+		TestRequest merged = ModelOptionsUtils.merge(options, null, TestRequest.class);
+		assertThat(merged.age()).isEqualTo(30.0);
+
+		TestSpecificOptions specificOptions = ModelOptionsUtils.merge(merged, new TestSpecificOptions(),
+				TestSpecificOptions.class);
+		assertThat(specificOptions.getAge()).isEqualTo(30);
+		assertThat(specificOptions.getName()).isNull();
+	}
+
+	@Test
+	public void mergeDoesNotShareNestedObjects() {
+		Map<String, Object> nested = new HashMap<>(Map.of("key", "value"));
+		TestRequest request = new TestRequest("Mike", 60.0, List.of("stop"), Map.of("nested", nested), false);
+
+		TestRequest merged = ModelOptionsUtils.merge(Map.of(), request, TestRequest.class);
+		nested.put("key", "changed");
+
+		assertThat(merged.metadata()).isEqualTo(Map.of("nested", Map.of("key", "value")));
+	}
+
+	@Test
+	public void mergeConvertsUntypedValuesAsJsonRoundTrip() {
+		TestContentRequest request = new TestContentRequest(List.of(new TestContent("text", "Hi")));
+
+		TestContentRequest merged = ModelOptionsUtils.merge(Map.of(), request, TestContentRequest.class);
+
+		assertThat(merged.content()).isEqualTo(List.of(Map.of("type", "text", "text", "Hi")));
+	}
+
+	@Test
+	public void mergeSharesTypedRecordsAndCopiesTheirCollections() {
+		TestContent content = new TestContent("text", "Hi");
+		List<TestContent> contents = new ArrayList<>(List.of(content));
+		TestTypedContentRequest request = new TestTypedContentRequest(contents);
+
+		TestTypedContentRequest merged = ModelOptionsUtils.merge(Map.of(), request, TestTypedContentRequest.class);
+		contents.clear();
+
+		assertThat(merged.content()).containsExactly(content);
+		assertThat(merged.content().get(0)).isSameAs(content);
+	}
+
+	@Test
+	public void mergeMatchesJsonRoundTripForCustomJson() {
+		TestRequest request = new TestRequest("Mike", 60.0, List.of("stop"), null, false);
+
+		TestRequest merged = ModelOptionsUtils.merge(new TestJsonValueOptions("John"), request, TestRequest.class);
+
+		assertThat(merged).isEqualTo(new TestRequest("John", 60.0, List.of("stop"), null, false));
+	}
+
 	@Test
 	public void objectToMap() {
 		TestPortableOptionsImpl portableOptions = new TestPortableOptionsImpl();
@@ -131,6 +209,38 @@ public class ModelOptionsUtilsTests {
 		assertThat(ModelOptionsUtils.getJsonPropertyValues(TestRecord.class)).containsExactly("field1", "field2");
 	}
 
+	public record TestContentRequest(@JsonProperty("content") Object content) {
+
+	}
+
+	public record TestTypedContentRequest(@JsonProperty("content") List<TestContent> content) {
+
+	}
+
+	public record TestContent(@JsonProperty("type") String type, @JsonProperty("text") String text) {
+
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record TestRequest(@JsonProperty("name") String name, @JsonProperty("age") Double age,
+			@JsonProperty("stop") List<String> stop, @JsonProperty("metadata") Map<String, Object> metadata,
+			@JsonProperty("stream") boolean stream) {
+
+	}
+
+	/**
+	 * Options serialized through a {@link JsonValue}, which are merged through their JSON
+	 * form.
+	 */
+	public record TestJsonValueOptions(String name) {
+
+		@JsonValue
+		public Map<String, Object> toJson() {
+			return Map.of("name", this.name);
+		}
+
+	}
+
 	public interface TestPortableOptions extends ModelOptions {
 
 		String getName();
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.util.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link ServerSentEventJsonDecoder} class.
+ */
+class ServerSentEventJsonDecoderTests {
+
+	private static final String EVENTS = """
+			: keep-alive
+
+			event: message\r
+			data: {"id":"1","content":"Grüße 日本 😀"}\r
+			\r
+			id: 2
+			data:{"id":"2",
+			data: "content":"two lines"}
+
+			data: {"id":"3","content":null}\r\rdata: [DONE]
+
+			data: {"id":"4"}
+
+			""";
+
+	@Test
+	void shouldDecodeEventsSplitAtAnyByte() {
+		for (int size = 1; size <= EVENTS.getBytes(StandardCharsets.UTF_8).length; size++) {
+			List<Chunk> chunks = ServerSentEventJsonDecoder
+				.decode(buffers(EVENTS, size), Chunk.class, JsonParser.getObjectMapper())
+				.collectList()
+				.block();
+
+			assertThat(chunks).as("split every %d bytes", size)
+				.containsExactly(new Chunk("1", "Grüße 日本 😀"), new Chunk("2", "two lines"), new Chunk("3", null));
+		}
+	}
+
+	@Test
+	void shouldCancelBodyAfterDone() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<DataBuffer> body = Flux
+			.concat(buffers("data: {\"id\":\"1\"}\n\ndata: [DONE]\n\n", 64), Flux.<DataBuffer>never())
+			.doOnCancel(() -> cancelled.set(true));
+
+		List<Chunk> chunks = ServerSentEventJsonDecoder.decode(body, Chunk.class, JsonParser.getObjectMapper())
+			.collectList()
+			.block();
+
+		assertThat(chunks).containsExactly(new Chunk("1", null));
+		assertThat(cancelled).isTrue();
+	}
+
+	@Test
+	void shouldDecodeArraysStartingLikeDone() {
+		List<int[]> values = ServerSentEventJsonDecoder
+			.decode(buffers("data: [1,2]\n\ndata:[3]\n\n", 3), int[].class, JsonParser.getObjectMapper())
+			.collectList()
+			.block();
+
+		assertThat(values).containsExactly(new int[] { 1, 2 }, new int[] { 3 });
+	}
+
+	@Test
+	void shouldFailOnInvalidJson() {
+		Flux<Chunk> chunks = ServerSentEventJsonDecoder.decode(buffers("data: {\"id\":}\n\n", 64), Chunk.class,
+				JsonParser.getObjectMapper());
+
+		assertThatThrownBy(chunks::blockLast).isInstanceOf(IllegalStateException.class);
+	}
+
+	private static Flux<DataBuffer> buffers(String events, int size) {
+		byte[] bytes = events.getBytes(StandardCharsets.UTF_8);
+		List<DataBuffer> buffers = new ArrayList<>();
+		for (int i = 0; i < bytes.length; i += size) {
+			buffers.add(DefaultDataBufferFactory.sharedInstance
+				.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + size))));
+		}
+		return Flux.fromIterable(buffers);
+	}
+
+	record Chunk(String id, String content) {
+
+	}
+
+}
@@ -0,0 +1,608 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.ai.embedding.SimilarityKernel;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * In-memory Hierarchical Navigable Small World (HNSW) graph used by
+ * {@link SimpleVectorStore} for approximate nearest neighbour search.
+ * <p>
+ * The graph holds no vectors of its own. Every node references the slot of its document
+ * in the {@link SimpleVectorStorage}, and similarities are computed against the stored
+ * rows and their stored norms, so the index only adds its adjacency lists to the memory
+ * of the store. Callers put a document into the storage before adding it to the index,
+ * and remove documents from the storage through {@link #remove(String)}.
+ * <p>
+ * Deleted entries are kept as tombstones that still route searches. Once tombstones
+ * outnumber the live entries, a fresh graph is started and every subsequent mutation
+ * moves a bounded batch of live entries from the old graph into it, so that no single
+ * mutation pays for a full rebuild. Searches cover both graphs until the old one is
+ * drained. The slots of deleted documents are only recycled once the graph holding their
+ * tombstones is dropped, so that a tombstone never scores against the embedding of
+ * another document.
+ * <p>
+ * Mutations are serialized through a write lock while searches share a read lock. The
+ * storage read lock is always taken after the index lock, never before it.
+ *
+ * @see <a href="https://arxiv.org/abs/1603.09320">Efficient and robust approximate
+ * nearest neighbor search using Hierarchical Navigable Small World graphs</a>
+ */
+final class HnswIndex {
+
+	private static final Comparator<Candidate> BY_SIMILARITY = Comparator.comparingDouble(Candidate::similarity);
+
+	/**
+	 * Number of live entries moved from the graph being drained into the current graph by
+	 * every mutation.
+	 */
+	private static final int REBUILD_BATCH_SIZE = 16;
+
+	private final SimpleVectorStorage storage;
+
+	private final int m;
+
+	private final int maxConnectionsLevel0;
+
+	private final int efConstruction;
+
+	private final int efSearch;
+
+	private final double levelMultiplier;
+
+	private final Random random = new Random(42);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Graph graph = new Graph();
+
+	/**
+	 * The graph replaced by {@link #graph} once its tombstones outnumbered its live
+	 * entries, or {@code null} if no rebuild is in progress.
+	 */
+	@Nullable
+	private Graph draining;
+
+	private int drainPosition;
+
+	/**
+	 * Slots of deleted documents no longer referenced by any graph, recycled once the
+	 * storage read lock is released.
+	 */
+	private final List<Integer> releasedSlots = new ArrayList<>();
+
+	/**
+	 * Buffer for a stored row, reused by insertions, which run under the write lock.
+	 */
+	private float[] row = new float[0];
+
+	HnswIndex(SimpleVectorStorage storage, int m, int efConstruction, int efSearch) {
+		Assert.notNull(storage, "storage must not be null");
+		Assert.isTrue(m > 1, "M must be greater than 1");
+		Assert.isTrue(efConstruction > 0, "efConstruction must be positive");
+		Assert.isTrue(efSearch > 0, "efSearch must be positive");
+		this.storage = storage;
+		this.m = m;
+		this.maxConnectionsLevel0 = 2 * m;
+		this.efConstruction = efConstruction;
+		this.efSearch = efSearch;
+		this.levelMultiplier = 1 / Math.log(m);
+	}
+
+	/**
+	 * Adds the stored document with the given id to the graph, replacing any entry
+	 * previously added with the same id. Documents no longer in the storage are removed
+	 * instead.
+	 * @param id the document id
+	 */
+	void add(String id) {
+		this.lock.writeLock().lock();
+		try {
+			this.storage.read(() -> {
+				markDeleted(id);
+				int slot = this.storage.slot(id);
+				if (slot >= 0) {
+					this.graph.insert(id, slot);
+				}
+				return rebuildStep();
+			});
+			recycleReleasedSlots();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the document with the given id from the storage and from the search
+	 * results. Its slot is recycled once no graph references it any more.
+	 * @param id the document id
+	 */
+	void remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			int slot = this.storage.remove(id, false);
+			this.storage.read(() -> {
+				if (slot >= 0) {
+					// the oldest graph holding the entry is the last one to be dropped
+					Graph holder = (this.draining != null && this.draining.contains(id)) ? this.draining : this.graph;
+					holder.removedSlots.add(slot);
+				}
+				markDeleted(id);
+				return rebuildStep();
+			});
+			recycleReleasedSlots();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the graph with one holding every document of the storage.
+	 */
+	void rebuild() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+			this.storage.read(() -> {
+				this.storage.forEachSlot(slot -> this.graph.insert(this.storage.id(slot), slot));
+				return this.graph.size();
+			});
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.graph.size() + ((this.draining != null) ? this.draining.size() : 0);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the approximate nearest neighbours of the query, most similar first.
+	 * @param query the query vector
+	 * @param topK the maximum number of results
+	 * @param filter accepts the ids that may be returned. Rejected nodes are still
+	 * traversed, so restrictive filters widen the search instead of losing recall.
+	 * @return the matching ids with their cosine similarity to the query
+	 */
+	List<ScoredId> search(float[] query, int topK, Predicate<String> filter) {
+		this.lock.readLock().lock();
+		try {
+			if (topK <= 0 || size() == 0) {
+				return List.of();
+			}
+			float[] normalizedQuery = normalize(query);
+			return this.storage.read(() -> {
+				List<Candidate> candidates = this.graph.search(normalizedQuery, topK, filter);
+				Graph draining = this.draining;
+				if (draining != null) {
+					candidates.addAll(draining.search(normalizedQuery, topK, filter));
+					candidates.sort(BY_SIMILARITY.reversed());
+				}
+				List<ScoredId> results = new ArrayList<>(Math.min(topK, candidates.size()));
+				for (int i = 0; i < candidates.size() && results.size() < topK; i++) {
+					results.add(new ScoredId(candidates.get(i).id(), candidates.get(i).similarity()));
+				}
+				return results;
+			});
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private void markDeleted(String id) {
+		this.graph.markDeleted(id);
+		if (this.draining != null) {
+			this.draining.markDeleted(id);
+		}
+	}
+
+	/**
+	 * Starts a rebuild once tombstones outnumber the live entries of the graph, and moves
+	 * the next batch of live entries of a rebuild in progress.
+	 * @return the number of entries moved
+	 */
+	private int rebuildStep() {
+		if (this.draining == null) {
+			if (this.graph.size() == 0) {
+				this.releasedSlots.addAll(this.graph.removedSlots);
+				this.graph = new Graph();
+				return 0;
+			}
+			if (this.graph.deletedCount <= this.graph.size()) {
+				return 0;
+			}
+			this.draining = this.graph;
+			this.drainPosition = 0;
+			this.graph = new Graph();
+		}
+		Graph draining = this.draining;
+		int moved = 0;
+		while (moved < REBUILD_BATCH_SIZE && this.drainPosition < draining.nodes.size()) {
+			Node node = draining.nodes.get(this.drainPosition++);
+			if (!node.deleted) {
+				draining.markDeleted(node.id);
+				this.graph.insert(node.id, node.slot);
+				moved++;
+			}
+		}
+		if (this.drainPosition == draining.nodes.size()) {
+			this.releasedSlots.addAll(draining.removedSlots);
+			this.draining = null;
+		}
+		return moved;
+	}
+
+	private void recycleReleasedSlots() {
+		if (!this.releasedSlots.isEmpty()) {
+			this.storage.recycle(this.releasedSlots);
+			this.releasedSlots.clear();
+		}
+	}
+
+	/**
+	 * Drops all graphs without recycling the slots they retain, as the storage is cleared
+	 * or replaced alongside.
+	 */
+	private void reset() {
+		this.graph = new Graph();
+		this.draining = null;
+		this.drainPosition = 0;
+		this.releasedSlots.clear();
+	}
+
+	private int randomLevel() {
+		return (int) (-Math.log(1.0 - this.random.nextDouble()) * this.levelMultiplier);
+	}
+
+	/**
+	 * Computes the cosine similarity between a vector of unit length and the stored
+	 * embedding of the slot.
+	 */
+	private double similarity(float[] normalizedVector, int slot) {
+		float squaredNorm = this.storage.squaredNorm(slot);
+		return (squaredNorm != 0) ? this.storage.dotProduct(slot, normalizedVector) / Math.sqrt(squaredNorm) : 0;
+	}
+
+	/**
+	 * Reads the stored embedding of the slot scaled to unit length into the target.
+	 */
+	private float[] normalizedRow(int slot, float[] target) {
+		this.storage.vector(slot, target);
+		float squaredNorm = this.storage.squaredNorm(slot);
+		if (squaredNorm != 0) {
+			double norm = Math.sqrt(squaredNorm);
+			for (int i = 0; i < target.length; i++) {
+				target[i] = (float) (target[i] / norm);
+			}
+		}
+		return target;
+	}
+
+	private float[] rowBuffer(int dimensions) {
+		if (this.row.length != dimensions) {
+			this.row = new float[dimensions];
+		}
+		return this.row;
+	}
+
+	private static float[] normalize(float[] vector) {
+		double norm = Math.sqrt(SimilarityKernel.dotProduct().similarity(vector, vector));
+		float[] normalized = new float[vector.length];
+		if (norm == 0) {
+			return normalized;
+		}
+		for (int i = 0; i < vector.length; i++) {
+			normalized[i] = (float) (vector[i] / norm);
+		}
+		return normalized;
+	}
+
+	/**
+	 * A document id paired with its cosine similarity to the query.
+	 */
+	record ScoredId(String id, double score) {
+	}
+
+	private record Candidate(int node, String id, double similarity) {
+	}
+
+	/**
+	 * A single layered graph over storage slots.
+	 */
+	private final class Graph {
+
+		private final List<Node> nodes = new ArrayList<>();
+
+		private final Map<String, Integer> nodeIndexes = new HashMap<>();
+
+		private int entryPoint = -1;
+
+		private int maxLevel = -1;
+
+		private int deletedCount;
+
+		/**
+		 * Slots of deleted documents whose tombstones are in this graph or in a newer
+		 * one, kept off the storage free-list until this graph is dropped.
+		 */
+		private final List<Integer> removedSlots = new ArrayList<>();
+
+		int size() {
+			return this.nodeIndexes.size();
+		}
+
+		boolean contains(String id) {
+			return this.nodeIndexes.containsKey(id);
+		}
+
+		List<Candidate> search(float[] normalizedQuery, int topK, Predicate<String> filter) {
+			if (this.entryPoint < 0) {
+				return new ArrayList<>();
+			}
+			int current = greedySearch(normalizedQuery, this.entryPoint, this.maxLevel, 0);
+			return searchLayer(normalizedQuery, current, Math.max(HnswIndex.this.efSearch, topK), 0,
+					node -> !node.deleted && filter.test(node.id));
+		}
+
+		void markDeleted(String id) {
+			Integer index = this.nodeIndexes.remove(id);
+			if (index != null) {
+				this.nodes.get(index).deleted = true;
+				this.deletedCount++;
+			}
+		}
+
+		void insert(String id, int slot) {
+			int level = randomLevel();
+			int index = this.nodes.size();
+			Node node = new Node(id, slot, level, HnswIndex.this.m, HnswIndex.this.maxConnectionsLevel0);
+			this.nodes.add(node);
+			this.nodeIndexes.put(id, index);
+
+			if (this.entryPoint < 0) {
+				this.entryPoint = index;
+				this.maxLevel = level;
+				return;
+			}
+
+			float[] vector = normalizedRow(slot, new float[HnswIndex.this.storage.dimensions()]);
+			int current = greedySearch(vector, this.entryPoint, this.maxLevel, level + 1);
+			for (int layer = Math.min(level, this.maxLevel); layer >= 0; layer--) {
+				List<Candidate> candidates = searchLayer(vector, current, HnswIndex.this.efConstruction, layer,
+						n -> true);
+				for (Candidate neighbour : selectNeighbours(candidates, HnswIndex.this.m)) {
+					node.connect(layer, neighbour.node());
+					connectBack(neighbour.node(), layer, index);
+				}
+				current = candidates.get(0).node();
+			}
+
+			if (level > this.maxLevel) {
+				this.maxLevel = level;
+				this.entryPoint = index;
+			}
+		}
+
+		private void connectBack(int nodeIndex, int layer, int newNeighbour) {
+			Node node = this.nodes.get(nodeIndex);
+			int maxConnections = (layer == 0) ? HnswIndex.this.maxConnectionsLevel0 : HnswIndex.this.m;
+			if (node.neighbourCount(layer) < maxConnections) {
+				node.connect(layer, newNeighbour);
+				return;
+			}
+			float[] vector = normalizedRow(node.slot, rowBuffer(HnswIndex.this.storage.dimensions()));
+			List<Candidate> candidates = new ArrayList<>(maxConnections + 1);
+			int[] neighbours = node.neighbours[layer];
+			for (int i = 0; i < node.neighbourCounts[layer]; i++) {
+				candidates.add(candidate(vector, neighbours[i]));
+			}
+			candidates.add(candidate(vector, newNeighbour));
+			candidates.sort(BY_SIMILARITY.reversed());
+			node.neighbourCounts[layer] = 0;
+			for (Candidate candidate : selectNeighbours(candidates, maxConnections)) {
+				node.connect(layer, candidate.node());
+			}
+		}
+
+		/**
+		 * Neighbour selection heuristic from the HNSW paper: a candidate is kept only
+		 * when it is closer to the base node than to any neighbour selected so far, which
+		 * favours links in diverse directions. Pruned candidates fill the remaining
+		 * slots.
+		 * @param candidates candidates sorted by descending similarity
+		 * @param maxNeighbours the maximum number of neighbours to select
+		 * @return the selected neighbours
+		 */
+		private List<Candidate> selectNeighbours(List<Candidate> candidates, int maxNeighbours) {
+			if (candidates.size() <= maxNeighbours) {
+				return candidates;
+			}
+			List<Candidate> selected = new ArrayList<>(maxNeighbours);
+			List<Candidate> pruned = new ArrayList<>();
+			for (Candidate candidate : candidates) {
+				if (selected.size() >= maxNeighbours) {
+					break;
+				}
+				float[] vector = normalizedRow(this.nodes.get(candidate.node()).slot,
+						rowBuffer(HnswIndex.this.storage.dimensions()));
+				boolean diverse = true;
+				for (Candidate other : selected) {
+					if (similarity(vector, other.node()) > candidate.similarity()) {
+						diverse = false;
+						break;
+					}
+				}
+				if (diverse) {
+					selected.add(candidate);
+				}
+				else {
+					pruned.add(candidate);
+				}
+			}
+			for (int i = 0; i < pruned.size() && selected.size() < maxNeighbours; i++) {
+				selected.add(pruned.get(i));
+			}
+			return selected;
+		}
+
+		private int greedySearch(float[] query, int start, int fromLevel, int toLevel) {
+			int current = start;
+			double currentSimilarity = similarity(query, current);
+			for (int layer = fromLevel; layer >= toLevel; layer--) {
+				boolean changed = true;
+				while (changed) {
+					changed = false;
+					Node node = this.nodes.get(current);
+					int[] neighbours = node.neighbours[layer];
+					for (int i = 0; i < node.neighbourCounts[layer]; i++) {
+						double neighbourSimilarity = similarity(query, neighbours[i]);
+						if (neighbourSimilarity > currentSimilarity) {
+							current = neighbours[i];
+							currentSimilarity = neighbourSimilarity;
+							changed = true;
+						}
+					}
+				}
+			}
+			return current;
+		}
+
+		/**
+		 * Best-first search of a single layer.
+		 * @return up to {@code ef} accepted nodes sorted by descending similarity
+		 */
+		private List<Candidate> searchLayer(float[] query, int start, int ef, int layer, Predicate<Node> accept) {
+			BitSet visited = new BitSet(this.nodes.size());
+			PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_SIMILARITY.reversed());
+			PriorityQueue<Candidate> results = new PriorityQueue<>(BY_SIMILARITY);
+
+			Candidate first = candidate(query, start);
+			visited.set(start);
+			candidates.add(first);
+			if (accept.test(this.nodes.get(start))) {
+				results.add(first);
+			}
+
+			while (!candidates.isEmpty()) {
+				Candidate closest = candidates.poll();
+				if (results.size() >= ef && closest.similarity() < results.peek().similarity()) {
+					break;
+				}
+				Node node = this.nodes.get(closest.node());
+				int[] neighbours = node.neighbours[layer];
+				for (int i = 0; i < node.neighbourCounts[layer]; i++) {
+					int neighbour = neighbours[i];
+					if (visited.get(neighbour)) {
+						continue;
+					}
+					visited.set(neighbour);
+					Candidate candidate = candidate(query, neighbour);
+					if (results.size() < ef || candidate.similarity() > results.peek().similarity()) {
+						candidates.add(candidate);
+						if (accept.test(this.nodes.get(neighbour))) {
+							results.add(candidate);
+							if (results.size() > ef) {
+								results.poll();
+							}
+						}
+					}
+				}
+			}
+
+			List<Candidate> sorted = new ArrayList<>(results);
+			sorted.sort(BY_SIMILARITY.reversed());
+			return sorted;
+		}
+
+		private Candidate candidate(float[] query, int nodeIndex) {
+			Node node = this.nodes.get(nodeIndex);
+			return new Candidate(nodeIndex, node.id, HnswIndex.this.similarity(query, node.slot));
+		}
+
+		private double similarity(float[] query, int nodeIndex) {
+			return HnswIndex.this.similarity(query, this.nodes.get(nodeIndex).slot);
+		}
+
+	}
+
+	private static final class Node {
+
+		private final String id;
+
+		private final int slot;
+
+		private final int[][] neighbours;
+
+		private final int[] neighbourCounts;
+
+		private boolean deleted;
+
+		Node(String id, int slot, int level, int m, int maxConnectionsLevel0) {
+			this.id = id;
+			this.slot = slot;
+			this.neighbours = new int[level + 1][];
+			this.neighbourCounts = new int[level + 1];
+			for (int layer = 0; layer <= level; layer++) {
+				this.neighbours[layer] = new int[(layer == 0) ? maxConnectionsLevel0 : m];
+			}
+		}
+
+		int neighbourCount(int layer) {
+			return this.neighbourCounts[layer];
+		}
+
+		void connect(int layer, int neighbour) {
+			this.neighbours[layer][this.neighbourCounts[layer]++] = neighbour;
+		}
+
+	}
+
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.ai.document.id.JdkSha256HexIdGenerator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DocumentWriter} that writes only new and modified chunks to a
+ * {@link VectorStore}, so re-running an ingestion over unchanged sources embeds nothing.
+ * <p>
+ * Every chunk is stored under an id hashed from its source, text and metadata. A local
+ * manifest file records the ids written for every source. When the chunks of a source are
+ * written again, chunks whose id is already in the manifest are skipped, new or modified
+ * chunks are added, and the chunks of the source that are no longer present are deleted
+ * from the store. Sources are read from the {@code source} metadata key by default, and
+ * sources absent from a write are left untouched; use {@link #deleteSource(String)} for
+ * sources that no longer exist.
+ * <p>
+ * Outside of a run, every {@link #accept(List)} or {@link #sync(List)} is taken to hold
+ * all chunks of the sources it touches. A pipeline writing the chunks of a source over
+ * several calls, as a batching reader or splitter does, wraps them in a run:
+ * {@link #begin()} starts it, every call adds its new chunks, and {@link #commit()}
+ * deletes the chunks no longer present in the sources written during the run and writes
+ * the manifest once.
+ * <p>
+ * The manifest is updated after the store, so a failed write is retried in full on the
+ * next run. The ids being content hashes, chunks added again replace themselves.
+ *
+ * @since 1.0.0
+ */
+public class IncrementalDocumentWriter implements DocumentWriter {
+
+	public static final String DEFAULT_SOURCE_METADATA_KEY = "source";
+
+	private static final Logger logger = LoggerFactory.getLogger(IncrementalDocumentWriter.class);
+
+	private static final TypeReference<Map<String, Set<String>>> MANIFEST_TYPE = new TypeReference<>() {
+	};
+
+	private final VectorStore vectorStore;
+
+	private final Path manifestFile;
+
+	private final String sourceMetadataKey;
+
+	private final IdGenerator idGenerator;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+	/**
+	 * The chunk ids of every source, as last written to the store. Guarded by this.
+	 */
+	private final Map<String, Set<String>> manifest;
+
+	/**
+	 * The run in progress, or {@code null} if there is none. Guarded by this.
+	 */
+	@Nullable
+	private Run run;
+
+	protected IncrementalDocumentWriter(Builder builder) {
+		this.vectorStore = builder.vectorStore;
+		this.manifestFile = builder.manifestFile;
+		this.sourceMetadataKey = builder.sourceMetadataKey;
+		this.idGenerator = builder.idGenerator;
+		this.manifest = readManifest();
+	}
+
+	public static Builder builder(VectorStore vectorStore, Path manifestFile) {
+		return new Builder(vectorStore, manifestFile);
+	}
+
+	/**
+	 * Writes the chunks as part of the run in progress, or else through
+	 * {@link #sync(List)}.
+	 * @param documents the chunks to write
+	 */
+	@Override
+	public synchronized void accept(List<Document> documents) {
+		if (this.run != null) {
+			write(this.run, documents);
+		}
+		else {
+			sync(documents);
+		}
+	}
+
+	/**
+	 * Brings the store in line with the given chunks for every source they belong to, as
+	 * a run of its own. The chunks must be all chunks of these sources: chunks written
+	 * earlier for them and absent here are deleted.
+	 * @param documents the current chunks of one or more sources
+	 * @return the number of chunks added, skipped and deleted
+	 */
+	public synchronized Result sync(List<Document> documents) {
+		begin();
+		try {
+			write(this.run, documents);
+		}
+		catch (RuntimeException ex) {
+			this.run = null;
+			throw ex;
+		}
+		return commit();
+	}
+
+	/**
+	 * Starts a run collecting the chunks of the following calls to {@link #accept(List)},
+	 * so that the chunks of a source may be spread over several calls. A run ends with
+	 * {@link #commit()}, or with {@link #abort()} if a write failed.
+	 * @throws IllegalStateException if a run is already in progress
+	 */
+	public synchronized void begin() {
+		Assert.state(this.run == null, "A run is already in progress");
+		this.run = new Run();
+	}
+
+	/**
+	 * Completes the run in progress: deletes the chunks written earlier for the sources
+	 * of the run and absent from it, and records the chunks of these sources in the
+	 * manifest.
+	 * @return the number of chunks added, skipped and deleted during the run
+	 * @throws IllegalStateException if no run is in progress
+	 */
+	public synchronized Result commit() {
+		Run run = this.run;
+		Assert.state(run != null, "No run is in progress");
+		this.run = null;
+		List<String> deleted = new ArrayList<>();
+		run.chunkIds.forEach((source, ids) -> {
+			for (String id : this.manifest.getOrDefault(source, Set.of())) {
+				if (!ids.contains(id)) {
+					deleted.add(id);
+				}
+			}
+		});
+		if (!deleted.isEmpty()) {
+			this.vectorStore.delete(deleted);
+		}
+		run.chunkIds.forEach((source, ids) -> this.manifest.put(source, new TreeSet<>(ids)));
+		writeManifest();
+
+		Result result = new Result(run.added, run.unchanged, deleted.size());
+		logger.info("Incremental ingestion of {} sources: {}", run.chunkIds.size(), result);
+		return result;
+	}
+
+	/**
+	 * Discards the run in progress, if any, without deleting chunks or updating the
+	 * manifest. Chunks already added stay in the store, and the next run writing them
+	 * adds them again under the same ids.
+	 */
+	public synchronized void abort() {
+		this.run = null;
+	}
+
+	/**
+	 * Adds the chunks not yet in the store and records the chunks of every source in the
+	 * run. Deletions are left to {@link #commit()}, so that a failure never leaves a
+	 * source without its chunks.
+	 */
+	private void write(Run run, List<Document> documents) {
+		Assert.notNull(documents, "Documents must not be null");
+		List<Document> added = new ArrayList<>();
+		for (Document document : documents) {
+			Object source = document.getMetadata().get(this.sourceMetadataKey);
+			String sourceKey = (source != null) ? source.toString() : "";
+			String id = this.idGenerator.generateId(sourceKey, document.getText(),
+					new TreeMap<>(document.getMetadata()));
+			if (!run.chunkIds.computeIfAbsent(sourceKey, key -> new LinkedHashSet<>()).add(id)) {
+				continue;
+			}
+			if (this.manifest.getOrDefault(sourceKey, Set.of()).contains(id)) {
+				run.unchanged++;
+			}
+			else {
+				added.add(document.mutate().id(id).build());
+			}
+		}
+		if (!added.isEmpty()) {
+			this.vectorStore.add(added);
+		}
+		run.added += added.size();
+	}
+
+	/**
+	 * Deletes all chunks written for a source, such as a file that was removed.
+	 * @param source the value of the source metadata key of the chunks
+	 * @return the number of chunks deleted
+	 */
+	public synchronized int deleteSource(String source) {
+		Assert.notNull(source, "Source must not be null");
+		Set<String> ids = this.manifest.get(source);
+		if (ids == null) {
+			return 0;
+		}
+		if (!ids.isEmpty()) {
+			this.vectorStore.delete(new ArrayList<>(ids));
+		}
+		this.manifest.remove(source);
+		writeManifest();
+		return ids.size();
+	}
+
+	/**
+	 * Returns the sources recorded in the manifest.
+	 * @return the sources written so far
+	 */
+	public synchronized Set<String> getSources() {
+		return Set.copyOf(this.manifest.keySet());
+	}
+
+	private Map<String, Set<String>> readManifest() {
+		if (!Files.exists(this.manifestFile)) {
+			return new TreeMap<>();
+		}
+		try {
+			Map<String, Set<String>> manifest = new TreeMap<>();
+			this.objectMapper.readValue(this.manifestFile.toFile(), MANIFEST_TYPE)
+				.forEach((source, ids) -> manifest.put(source, new LinkedHashSet<>(ids)));
+			return manifest;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read the ingestion manifest " + this.manifestFile, ex);
+		}
+	}
+
+	/**
+	 * Writes the manifest to a temporary file next to it, which then replaces it
+	 * atomically.
+	 */
+	private void writeManifest() {
+		try {
+			Path directory = this.manifestFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporaryFile = Files.createTempFile(directory, this.manifestFile.getFileName().toString(), ".tmp");
+			try {
+				this.objectMapper.writeValue(temporaryFile.toFile(), this.manifest);
+				Files.move(temporaryFile, this.manifestFile, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write the ingestion manifest " + this.manifestFile, ex);
+		}
+	}
+
+	/**
+	 * The chunk ids of every source written during a run, and the counts of chunks added
+	 * and skipped so far.
+	 */
+	private static final class Run {
+
+		private final Map<String, Set<String>> chunkIds = new LinkedHashMap<>();
+
+		private int added;
+
+		private int unchanged;
+
+	}
+
+	/**
+	 * Outcome of a {@link #sync(List)} or a run.
+	 *
+	 * @param added the number of new or modified chunks added to the store
+	 * @param unchanged the number of chunks skipped as already in the store
+	 * @param deleted the number of chunks deleted from the store
+	 */
+	public record Result(int added, int unchanged, int deleted) {
+
+	}
+
+	public static final class Builder {
+
+		private final VectorStore vectorStore;
+
+		private final Path manifestFile;
+
+		private String sourceMetadataKey = DEFAULT_SOURCE_METADATA_KEY;
+
+		private IdGenerator idGenerator = new JdkSha256HexIdGenerator();
+
+		private Builder(VectorStore vectorStore, Path manifestFile) {
+			Assert.notNull(vectorStore, "VectorStore must not be null");
+			Assert.notNull(manifestFile, "Manifest file must not be null");
+			this.vectorStore = vectorStore;
+			this.manifestFile = manifestFile;
+		}
+
+		/**
+		 * Sets the metadata key identifying the source of a chunk. Defaults to
+		 * {@link IncrementalDocumentWriter#DEFAULT_SOURCE_METADATA_KEY}.
+		 * @param sourceMetadataKey the metadata key
+		 * @return the builder instance
+		 */
+		public Builder sourceMetadataKey(String sourceMetadataKey) {
+			Assert.hasText(sourceMetadataKey, "Source metadata key must not be empty");
+			this.sourceMetadataKey = sourceMetadataKey;
+			return this;
+		}
+
+		/**
+		 * Sets the generator hashing the source, text and metadata of a chunk into its
+		 * id. Defaults to a {@link JdkSha256HexIdGenerator}.
+		 * @param idGenerator the id generator
+		 * @return the builder instance
+		 */
+		public Builder idGenerator(IdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "IdGenerator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
+		public IncrementalDocumentWriter build() {
+			return new IncrementalDocumentWriter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
+import org.springframework.ai.vectorstore.filter.FilterHelper;
+import org.springframework.lang.Nullable;
+
+/**
+ * Inverted index over selected metadata fields of the slots of a
+ * {@link SimpleVectorStorage}.
+ * <p>
+ * For every indexed field the slots holding a value are recorded in a {@link BitSet}
+ * posting. Postings are reachable through a hash map for {@code EQ} and {@code IN}
+ * lookups and, for numbers and strings, through sorted maps for range comparisons. A
+ * filter expression is evaluated into a bitmap of candidate slots, which is a superset of
+ * the matching slots: comparisons that cannot be answered from the index, such as those
+ * on fields that are not indexed, {@code NE}/{@code NIN} and {@code LT}/{@code LTE},
+ * which also match slots without the field, leave the candidates unconstrained, so the
+ * filter predicate must still be applied to every candidate.
+ * <p>
+ * The index is not thread-safe; {@link SimpleVectorStorage} guards it with its lock.
+ */
+final class MetadataIndex {
+
+	private static final Comparator<Number> NUMBER_ORDER = MetadataIndex::compareNumbers;
+
+	private final Map<String, FieldIndex> fields = new HashMap<>();
+
+	MetadataIndex(Collection<String> fieldNames) {
+		for (String fieldName : fieldNames) {
+			this.fields.put(fieldName, new FieldIndex());
+		}
+	}
+
+	void add(int slot, Map<String, Object> metadata) {
+		this.fields.forEach((fieldName, field) -> {
+			Object value = metadata.get(fieldName);
+			if (value != null) {
+				field.add(FilterExpressionPredicateCompiler.canonicalValue(value), slot);
+			}
+		});
+	}
+
+	void remove(int slot, Map<String, Object> metadata) {
+		this.fields.forEach((fieldName, field) -> {
+			Object value = metadata.get(fieldName);
+			if (value != null) {
+				field.remove(FilterExpressionPredicateCompiler.canonicalValue(value), slot);
+			}
+		});
+	}
+
+	void clear() {
+		this.fields.values().forEach(FieldIndex::clear);
+	}
+
+	/**
+	 * Evaluates the expression against the index.
+	 * @return a new bitmap holding a superset of the matching slots, or {@code null} if
+	 * the index cannot narrow the expression down
+	 */
+	@Nullable
+	BitSet candidates(Filter.Expression expression) {
+		return evaluate(expression);
+	}
+
+	@Nullable
+	private BitSet evaluate(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return evaluate(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case NOT:
+				return evaluate(FilterHelper.negate(expression));
+			case AND: {
+				BitSet left = evaluate(expression.left());
+				BitSet right = evaluate(expression.right());
+				if (left == null || right == null) {
+					return (left != null) ? left : right;
+				}
+				left.and(right);
+				return left;
+			}
+			case OR: {
+				BitSet left = evaluate(expression.left());
+				BitSet right = (left != null) ? evaluate(expression.right()) : null;
+				if (left == null || right == null) {
+					return null;
+				}
+				left.or(right);
+				return left;
+			}
+			default:
+				break;
+		}
+		if (!(expression.left() instanceof Filter.Key key) || !(expression.right() instanceof Filter.Value value)) {
+			return null;
+		}
+		FieldIndex field = this.fields.get(fieldName(key));
+		if (field == null || value.value() == null) {
+			return null;
+		}
+		return switch (expression.type()) {
+			case EQ -> field.equalTo(value.value());
+			case IN -> {
+				BitSet candidates = new BitSet();
+				List<?> values = (value.value() instanceof List<?> list) ? list : List.of(value.value());
+				for (Object element : values) {
+					if (element == null) {
+						// a null element matches documents without the field
+						yield null;
+					}
+					candidates.or(field.equalTo(element));
+				}
+				yield candidates;
+			}
+			case GT -> field.range(value.value(), false);
+			case GTE -> field.range(value.value(), true);
+			// LT and LTE also match slots without the field, which are not indexed
+			default -> null;
+		};
+	}
+
+	private static String fieldName(Filter.Key key) {
+		String name = key.key().trim();
+		if (name.length() > 1
+				&& ((name.startsWith("\"") && name.endsWith("\"")) || (name.startsWith("'") && name.endsWith("'")))) {
+			return name.substring(1, name.length() - 1);
+		}
+		return key.key();
+	}
+
+	/**
+	 * Orders the canonical numbers, which are either {@link Long} or {@link Double},
+	 * exactly so that distinct values never collide as keys.
+	 */
+	private static int compareNumbers(Number x, Number y) {
+		if (x instanceof Long && y instanceof Long) {
+			return Long.compare(x.longValue(), y.longValue());
+		}
+		int order = Double.compare(x.doubleValue(), y.doubleValue());
+		if (order != 0 || x.getClass() == y.getClass()) {
+			return order;
+		}
+		return exact(x).compareTo(exact(y));
+	}
+
+	private static BigDecimal exact(Number number) {
+		return (number instanceof Long) ? BigDecimal.valueOf(number.longValue()) : new BigDecimal(number.doubleValue());
+	}
+
+	/**
+	 * Postings of a single field. The sorted maps share their {@link BitSet} instances
+	 * with the hash map.
+	 */
+	private static final class FieldIndex {
+
+		private final Map<Object, BitSet> postings = new HashMap<>();
+
+		private final NavigableMap<Number, BitSet> numbers = new TreeMap<>(NUMBER_ORDER);
+
+		private final NavigableMap<String, BitSet> strings = new TreeMap<>();
+
+		void add(Object value, int slot) {
+			BitSet posting = this.postings.get(value);
+			if (posting == null) {
+				posting = new BitSet();
+				this.postings.put(value, posting);
+				if (value instanceof Number number) {
+					this.numbers.put(number, posting);
+				}
+				else if (value instanceof String string) {
+					this.strings.put(string, posting);
+				}
+			}
+			posting.set(slot);
+		}
+
+		void remove(Object value, int slot) {
+			BitSet posting = this.postings.get(value);
+			if (posting == null) {
+				return;
+			}
+			posting.clear(slot);
+			if (posting.isEmpty()) {
+				this.postings.remove(value);
+				if (value instanceof Number number) {
+					this.numbers.remove(number);
+				}
+				else if (value instanceof String string) {
+					this.strings.remove(string);
+				}
+			}
+		}
+
+		void clear() {
+			this.postings.clear();
+			this.numbers.clear();
+			this.strings.clear();
+		}
+
+		BitSet equalTo(Object value) {
+			BitSet posting = this.postings.get(FilterExpressionPredicateCompiler.canonicalValue(value));
+			return (posting != null) ? (BitSet) posting.clone() : new BitSet();
+		}
+
+		@Nullable
+		BitSet range(Object bound, boolean inclusive) {
+			Object value = FilterExpressionPredicateCompiler.canonicalValue(bound);
+			Collection<BitSet> postings;
+			if (value instanceof Number number) {
+				postings = this.numbers.tailMap(number, inclusive).values();
+			}
+			else if (value instanceof String string) {
+				postings = this.strings.tailMap(string, inclusive).values();
+			}
+			else {
+				return null;
+			}
+			BitSet candidates = new BitSet();
+			for (BitSet posting : postings) {
+				candidates.or(posting);
+			}
+			return candidates;
+		}
+
+	}
+
+}
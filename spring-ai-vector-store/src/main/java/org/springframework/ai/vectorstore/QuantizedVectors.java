@@ -0,0 +1,342 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.springframework.ai.vectorstore.SimpleVectorStore.QuantizationType;
+
+/**
+ * Compact codes of the embeddings held by {@link SimpleVectorStorage}, addressed by the
+ * same slots. A scan over the codes reads a fraction of the memory of a scan over the
+ * float rows and yields approximate cosine similarities that are only used to pick a
+ * shortlist for exact re-ranking. The float rows of a storage with codes are kept in a
+ * memory-mapped file, so that the codes are what the storage holds in memory.
+ * <p>
+ * Not thread-safe for writes; the storage guards the codes with its lock. A
+ * {@link Scorer} may be used by several threads at once. Chunks handed out by
+ * {@link #share()} are copied on their next write.
+ */
+abstract class QuantizedVectors {
+
+	/**
+	 * Approximate number of bytes per code chunk. Chunks are never copied when the
+	 * storage grows.
+	 */
+	private static final int CHUNK_BYTES = 1 << 20;
+
+	final int dimensions;
+
+	private final int slotsPerChunk;
+
+	final BitSet sharedChunks = new BitSet();
+
+	QuantizedVectors(int dimensions, int bytesPerSlot) {
+		this.dimensions = dimensions;
+		this.slotsPerChunk = Math.max(1, CHUNK_BYTES / bytesPerSlot);
+	}
+
+	static QuantizedVectors create(QuantizationType quantizationType, int dimensions) {
+		return switch (quantizationType) {
+			case INT8 -> new Int8(dimensions);
+			case BINARY -> new Binary(dimensions);
+			case NONE -> throw new IllegalArgumentException("Unquantized vectors have no codes");
+		};
+	}
+
+	abstract QuantizationType type();
+
+	abstract void ensureCapacity(int slots);
+
+	/**
+	 * Encodes an embedding into the slot.
+	 * @param norm the euclidean norm of the embedding
+	 */
+	abstract void write(int slot, float[] embedding, float norm);
+
+	/**
+	 * Prepares the scoring of the codes against a query of unit length.
+	 */
+	abstract Scorer scorer(float[] normalizedQuery);
+
+	/**
+	 * Writes the code of the slot, which {@link #readCode(int, DataInput)} reads back.
+	 */
+	abstract void writeCode(int slot, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a code written by {@link #writeCode(int, DataOutput)} into the slot, which
+	 * must be within the capacity.
+	 */
+	abstract void readCode(int slot, DataInput in) throws IOException;
+
+	/**
+	 * Returns codes over the current chunks, which are only ever read. Concurrent callers
+	 * holding the storage read lock are serialized by the monitor of the codes.
+	 */
+	abstract QuantizedVectors share();
+
+	int chunk(int slot) {
+		return slot / this.slotsPerChunk;
+	}
+
+	int chunkSlots() {
+		return this.slotsPerChunk;
+	}
+
+	int offset(int slot, int codeLength) {
+		return (slot % this.slotsPerChunk) * codeLength;
+	}
+
+	/**
+	 * Scores the codes of a slot against a prepared query.
+	 */
+	@FunctionalInterface
+	interface Scorer {
+
+		/**
+		 * Returns the approximate cosine similarity between the query and the embedding
+		 * of the slot, which must not have a zero norm.
+		 */
+		double score(int slot);
+
+	}
+
+	/**
+	 * Scalar quantization of every component to a signed byte, scaled per embedding by
+	 * its largest absolute component. The query is quantized the same way, so scoring is
+	 * an integer dot product followed by a single multiplication.
+	 */
+	private static final class Int8 extends QuantizedVectors {
+
+		private final List<byte[]> chunks = new ArrayList<>();
+
+		private float[] scales = new float[0];
+
+		Int8(int dimensions) {
+			super(dimensions, dimensions);
+		}
+
+		@Override
+		QuantizationType type() {
+			return QuantizationType.INT8;
+		}
+
+		@Override
+		void ensureCapacity(int slots) {
+			while (this.chunks.size() * chunkSlots() < slots) {
+				this.chunks.add(new byte[chunkSlots() * this.dimensions]);
+			}
+			if (this.scales.length < slots) {
+				float[] scales = new float[Math.max(slots, this.scales.length + (this.scales.length >> 1))];
+				System.arraycopy(this.scales, 0, scales, 0, this.scales.length);
+				this.scales = scales;
+			}
+		}
+
+		@Override
+		void write(int slot, float[] embedding, float norm) {
+			float scale = quantize(embedding, writableChunk(slot), offset(slot, this.dimensions));
+			this.scales[slot] = (norm != 0) ? scale / norm : 0;
+		}
+
+		@Override
+		void writeCode(int slot, DataOutput out) throws IOException {
+			out.write(this.chunks.get(chunk(slot)), offset(slot, this.dimensions), this.dimensions);
+			out.writeFloat(this.scales[slot]);
+		}
+
+		@Override
+		void readCode(int slot, DataInput in) throws IOException {
+			in.readFully(writableChunk(slot), offset(slot, this.dimensions), this.dimensions);
+			this.scales[slot] = in.readFloat();
+		}
+
+		@Override
+		synchronized QuantizedVectors share() {
+			Int8 shared = new Int8(this.dimensions);
+			shared.chunks.addAll(this.chunks);
+			shared.scales = Arrays.copyOf(this.scales, this.scales.length);
+			this.sharedChunks.set(0, this.chunks.size());
+			return shared;
+		}
+
+		private byte[] writableChunk(int slot) {
+			int chunk = chunk(slot);
+			if (this.sharedChunks.get(chunk)) {
+				this.chunks.set(chunk, this.chunks.get(chunk).clone());
+				this.sharedChunks.clear(chunk);
+			}
+			return this.chunks.get(chunk);
+		}
+
+		@Override
+		Scorer scorer(float[] normalizedQuery) {
+			byte[] query = new byte[this.dimensions];
+			float queryScale = quantize(normalizedQuery, query, 0);
+			return slot -> {
+				byte[] codes = this.chunks.get(chunk(slot));
+				int offset = offset(slot, this.dimensions);
+				int sum0 = 0;
+				int sum1 = 0;
+				int sum2 = 0;
+				int sum3 = 0;
+				int bound = this.dimensions & ~3;
+				int i = 0;
+				for (; i < bound; i += 4) {
+					sum0 += query[i] * codes[offset + i];
+					sum1 += query[i + 1] * codes[offset + i + 1];
+					sum2 += query[i + 2] * codes[offset + i + 2];
+					sum3 += query[i + 3] * codes[offset + i + 3];
+				}
+				for (; i < this.dimensions; i++) {
+					sum0 += query[i] * codes[offset + i];
+				}
+				return ((long) sum0 + sum1 + sum2 + sum3) * (double) queryScale * this.scales[slot];
+			};
+		}
+
+		/**
+		 * Quantizes the vector into the target and returns the scale that maps a code
+		 * back to its component.
+		 */
+		private static float quantize(float[] vector, byte[] target, int offset) {
+			float maxAbs = 0;
+			for (float component : vector) {
+				maxAbs = Math.max(maxAbs, Math.abs(component));
+			}
+			if (maxAbs == 0) {
+				for (int i = 0; i < vector.length; i++) {
+					target[offset + i] = 0;
+				}
+				return 0;
+			}
+			float factor = 127 / maxAbs;
+			for (int i = 0; i < vector.length; i++) {
+				target[offset + i] = (byte) Math.round(vector[i] * factor);
+			}
+			return maxAbs / 127;
+		}
+
+	}
+
+	/**
+	 * Keeps only the sign of every component, packed into 64-bit words. The fraction of
+	 * differing signs between two embeddings grows with the angle between them and is
+	 * mapped linearly onto the range of a cosine.
+	 */
+	private static final class Binary extends QuantizedVectors {
+
+		private final List<long[]> chunks = new ArrayList<>();
+
+		private final int words;
+
+		Binary(int dimensions) {
+			super(dimensions, ((dimensions + 63) >>> 6) * Long.BYTES);
+			this.words = (dimensions + 63) >>> 6;
+		}
+
+		@Override
+		QuantizationType type() {
+			return QuantizationType.BINARY;
+		}
+
+		@Override
+		void ensureCapacity(int slots) {
+			while (this.chunks.size() * chunkSlots() < slots) {
+				this.chunks.add(new long[chunkSlots() * this.words]);
+			}
+		}
+
+		@Override
+		void write(int slot, float[] embedding, float norm) {
+			quantize(embedding, writableChunk(slot), offset(slot, this.words));
+		}
+
+		@Override
+		void writeCode(int slot, DataOutput out) throws IOException {
+			long[] codes = this.chunks.get(chunk(slot));
+			int offset = offset(slot, this.words);
+			for (int i = 0; i < this.words; i++) {
+				out.writeLong(codes[offset + i]);
+			}
+		}
+
+		@Override
+		void readCode(int slot, DataInput in) throws IOException {
+			long[] codes = writableChunk(slot);
+			int offset = offset(slot, this.words);
+			for (int i = 0; i < this.words; i++) {
+				codes[offset + i] = in.readLong();
+			}
+		}
+
+		@Override
+		synchronized QuantizedVectors share() {
+			Binary shared = new Binary(this.dimensions);
+			shared.chunks.addAll(this.chunks);
+			this.sharedChunks.set(0, this.chunks.size());
+			return shared;
+		}
+
+		private long[] writableChunk(int slot) {
+			int chunk = chunk(slot);
+			if (this.sharedChunks.get(chunk)) {
+				this.chunks.set(chunk, this.chunks.get(chunk).clone());
+				this.sharedChunks.clear(chunk);
+			}
+			return this.chunks.get(chunk);
+		}
+
+		@Override
+		Scorer scorer(float[] normalizedQuery) {
+			long[] query = new long[this.words];
+			quantize(normalizedQuery, query, 0);
+			return slot -> {
+				long[] codes = this.chunks.get(chunk(slot));
+				int offset = offset(slot, this.words);
+				int differences = 0;
+				for (int i = 0; i < this.words; i++) {
+					differences += Long.bitCount(query[i] ^ codes[offset + i]);
+				}
+				return 1 - 2.0 * differences / this.dimensions;
+			};
+		}
+
+		private void quantize(float[] vector, long[] target, int offset) {
+			for (int word = 0; word < this.words; word++) {
+				long bits = 0;
+				int base = word << 6;
+				int length = Math.min(64, vector.length - base);
+				for (int bit = 0; bit < length; bit++) {
+					if (vector[base + bit] > 0) {
+						bits |= 1L << bit;
+					}
+				}
+				target[offset + word] = bits;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,1412 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.SimilarityKernel;
+import org.springframework.ai.vectorstore.SimpleVectorStore.QuantizationType;
+import org.springframework.ai.vectorstore.SimpleVectorStore.StorageType;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Slot-addressed storage backing {@link SimpleVectorStore}.
+ * <p>
+ * Every document occupies an int slot. Embeddings of all slots are kept row-major in
+ * large contiguous chunks, either {@code float[]} arrays on the heap or direct
+ * {@link FloatBuffer}s outside of it, so that a scan walks sequential memory instead of
+ * chasing one array per document. Ids are resolved to slots through an open-addressing
+ * map with primitive values, and the slots of deleted documents are recycled through a
+ * free-list. An optional {@link MetadataIndex} over chosen metadata fields and optional
+ * {@link QuantizedVectors} are kept in step with the slots. With quantized codes, the
+ * embeddings are kept in a memory-mapped scratch file instead, so that only the codes
+ * take up memory of the process. Mutations are serialized through a write lock while
+ * reads share a read lock.
+ */
+final class SimpleVectorStorage {
+
+	/**
+	 * Number of floats per arena chunk. Chunks are never copied when the storage grows.
+	 */
+	private static final int CHUNK_FLOATS = 1 << 20;
+
+	private static final int INITIAL_SLOTS = 16;
+
+	/**
+	 * Minimum number of slots per range of a parallel scan. Smaller ranges cost more to
+	 * schedule than to scan.
+	 */
+	private static final int MIN_PARTITION_SLOTS = 4096;
+
+	private static final int UNCLAIMED = 0;
+
+	private static final int CLAIMED_BY_EXECUTOR = 1;
+
+	private static final int CLAIMED_BY_CALLER = 2;
+
+	private final StorageType storageType;
+
+	private final QuantizationType quantizationType;
+
+	private final double oversampling;
+
+	private final Path vectorsDirectory;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final IdSlotMap slots = new IdSlotMap();
+
+	@Nullable
+	private final MetadataIndex metadataIndex;
+
+	@Nullable
+	private VectorArena arena;
+
+	@Nullable
+	private QuantizedVectors quantizedVectors;
+
+	private String[] ids = new String[INITIAL_SLOTS];
+
+	private String[] texts = new String[INITIAL_SLOTS];
+
+	private Map<String, Object>[] metadata = newMetadataArray(INITIAL_SLOTS);
+
+	private float[] squaredNorms = new float[INITIAL_SLOTS];
+
+	private int[] freeSlots = new int[INITIAL_SLOTS];
+
+	private int freeSlotCount;
+
+	private int slotCount;
+
+	SimpleVectorStorage(StorageType storageType) {
+		this(storageType, List.of());
+	}
+
+	SimpleVectorStorage(StorageType storageType, Collection<String> indexedMetadataFields) {
+		this(storageType, indexedMetadataFields, QuantizationType.NONE, 1);
+	}
+
+	SimpleVectorStorage(StorageType storageType, Collection<String> indexedMetadataFields,
+			QuantizationType quantizationType, double oversampling) {
+		this(storageType, indexedMetadataFields, quantizationType, oversampling, null);
+	}
+
+	/**
+	 * Creates a storage that additionally keeps quantized codes of the embeddings. Exact
+	 * searches then rank all candidates by their codes and re-rank the best
+	 * {@code topK * oversampling} of them with the float embeddings, which are kept in a
+	 * memory-mapped scratch file rather than in memory whatever the storage type.
+	 * @param vectorsDirectory the directory of the scratch file, or {@code null} for the
+	 * default temporary-file directory
+	 */
+	SimpleVectorStorage(StorageType storageType, Collection<String> indexedMetadataFields,
+			QuantizationType quantizationType, double oversampling, @Nullable Path vectorsDirectory) {
+		this.storageType = storageType;
+		this.quantizationType = quantizationType;
+		this.oversampling = oversampling;
+		this.vectorsDirectory = (vectorsDirectory != null) ? vectorsDirectory
+				: Paths.get(System.getProperty("java.io.tmpdir"));
+		this.metadataIndex = indexedMetadataFields.isEmpty() ? null : new MetadataIndex(indexedMetadataFields);
+	}
+
+	/**
+	 * Stores a document, overwriting the slot of a previously stored document with the
+	 * same id.
+	 * @return the slot of the document
+	 */
+	int put(String id, String text, Map<String, Object> metadata, float[] embedding) {
+		Map<String, Object> metadataCopy = metadataSnapshot(metadata);
+		this.lock.writeLock().lock();
+		try {
+			if (this.arena == null) {
+				this.arena = newArena(embedding.length, List.of());
+				if (this.quantizationType != QuantizationType.NONE) {
+					this.quantizedVectors = QuantizedVectors.create(this.quantizationType, embedding.length);
+				}
+			}
+			else if (this.arena.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Embedding dimensions " + embedding.length
+						+ " do not match the store dimensions " + this.arena.dimensions);
+			}
+			int slot = this.slots.get(id);
+			if (slot < 0) {
+				slot = allocateSlot();
+				this.slots.put(id, slot);
+			}
+			else if (this.metadataIndex != null) {
+				this.metadataIndex.remove(slot, this.metadata[slot]);
+			}
+			if (this.metadataIndex != null) {
+				this.metadataIndex.add(slot, metadataCopy);
+			}
+			this.ids[slot] = id;
+			this.texts[slot] = text;
+			this.metadata[slot] = metadataCopy;
+			this.squaredNorms[slot] = (float) SimilarityKernel.dotProduct().similarity(embedding, embedding);
+			this.arena.write(slot, embedding);
+			if (this.quantizedVectors != null) {
+				this.quantizedVectors.write(slot, embedding, (float) Math.sqrt(this.squaredNorms[slot]));
+			}
+			return slot;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document and recycles its slot.
+	 * @return the freed slot, or -1 if no document has the given id
+	 */
+	int remove(String id) {
+		return remove(id, true);
+	}
+
+	/**
+	 * Removes a document.
+	 * @param recycleSlot whether the slot may be reused right away. Otherwise it keeps
+	 * its embedding until it is handed to {@link #recycle(Collection)}, for readers that
+	 * still reference it.
+	 * @return the freed slot, or -1 if no document has the given id
+	 */
+	int remove(String id, boolean recycleSlot) {
+		this.lock.writeLock().lock();
+		try {
+			int slot = this.slots.remove(id);
+			if (slot >= 0) {
+				if (this.metadataIndex != null) {
+					this.metadataIndex.remove(slot, this.metadata[slot]);
+				}
+				this.ids[slot] = null;
+				this.texts[slot] = null;
+				this.metadata[slot] = null;
+				if (recycleSlot) {
+					addFreeSlot(slot);
+				}
+			}
+			return slot;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Recycles the slots of documents removed without recycling their slots.
+	 */
+	void recycle(Collection<Integer> slots) {
+		this.lock.writeLock().lock();
+		try {
+			for (int slot : slots) {
+				addFreeSlot(slot);
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void addFreeSlot(int slot) {
+		if (this.freeSlotCount == this.freeSlots.length) {
+			this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlots.length * 2);
+		}
+		this.freeSlots[this.freeSlotCount++] = slot;
+	}
+
+	void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.slots.clear();
+			if (this.arena != null) {
+				this.arena.close();
+			}
+			this.arena = null;
+			this.quantizedVectors = null;
+			this.ids = new String[INITIAL_SLOTS];
+			this.texts = new String[INITIAL_SLOTS];
+			this.metadata = newMetadataArray(INITIAL_SLOTS);
+			this.squaredNorms = new float[INITIAL_SLOTS];
+			this.freeSlotCount = 0;
+			this.slotCount = 0;
+			if (this.metadataIndex != null) {
+				this.metadataIndex.clear();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.slots.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Nullable
+	SimpleVectorStoreContent get(String id) {
+		this.lock.readLock().lock();
+		try {
+			int slot = this.slots.get(id);
+			return (slot < 0) ? null : content(slot);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Nullable
+	Map<String, Object> metadata(String id) {
+		this.lock.readLock().lock();
+		try {
+			int slot = this.slots.get(id);
+			return (slot < 0) ? null : this.metadata[slot];
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Nullable
+	Document toDocument(String id, double score) {
+		this.lock.readLock().lock();
+		try {
+			int slot = this.slots.get(id);
+			return (slot < 0) ? null : toDocument(slot, score);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Invokes the action for every occupied slot while holding the read lock. The slot
+	 * accessors below may only be used from within the action.
+	 */
+	void forEachSlot(IntConsumer action) {
+		this.lock.readLock().lock();
+		try {
+			for (int slot = 0; slot < this.slotCount; slot++) {
+				if (this.ids[slot] != null) {
+					action.accept(slot);
+				}
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Captures the current content for a reader that runs without holding the lock. Only
+	 * the slot table is copied while the read lock is held; the arena chunks are shared
+	 * with the capture and copied by the storage on their next write instead, and so are
+	 * the chunks of the quantized codes.
+	 */
+	SlotTable capture() {
+		this.lock.readLock().lock();
+		try {
+			if (this.arena == null) {
+				return new SlotTable(new String[0], new String[0], newMetadataArray(0), new float[0], null, null);
+			}
+			return new SlotTable(Arrays.copyOf(this.ids, this.slotCount), Arrays.copyOf(this.texts, this.slotCount),
+					Arrays.copyOf(this.metadata, this.slotCount), Arrays.copyOf(this.squaredNorms, this.slotCount),
+					this.arena.share(), (this.quantizedVectors != null) ? this.quantizedVectors.share() : null);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the content with documents restored from a snapshot, placing document
+	 * {@code i} into slot {@code i}. The embeddings are supplied as chunks of
+	 * {@link #slotsPerChunk(int)} rows each. Off-heap and quantized storages adopt the
+	 * chunks as they are, so memory-mapped chunks are served from the page cache without
+	 * being copied; heap storage copies them. Quantized codes of the storage's type are
+	 * adopted as well; without them, the codes are computed from the embeddings, which
+	 * reads every row.
+	 */
+	void restore(String[] ids, String[] texts, Map<String, Object>[] metadata, float[] squaredNorms, int dimensions,
+			List<FloatBuffer> chunks, @Nullable QuantizedVectors codes) {
+		int count = ids.length;
+		int capacity = Math.max(INITIAL_SLOTS, count);
+		this.lock.writeLock().lock();
+		try {
+			clear();
+			if (count == 0) {
+				return;
+			}
+			this.arena = newArena(dimensions, chunks);
+			this.ids = Arrays.copyOf(ids, capacity);
+			this.texts = Arrays.copyOf(texts, capacity);
+			this.metadata = Arrays.copyOf(metadata, capacity);
+			this.squaredNorms = Arrays.copyOf(squaredNorms, capacity);
+			this.slotCount = count;
+			for (int slot = 0; slot < count; slot++) {
+				this.slots.put(ids[slot], slot);
+				if (this.metadataIndex != null) {
+					this.metadataIndex.add(slot, metadata[slot]);
+				}
+			}
+			if (codes != null && codes.type() == this.quantizationType && codes.dimensions == dimensions) {
+				this.quantizedVectors = codes;
+			}
+			else if (this.quantizationType != QuantizationType.NONE) {
+				this.quantizedVectors = QuantizedVectors.create(this.quantizationType, dimensions);
+				this.quantizedVectors.ensureCapacity(count);
+				float[] embedding = new float[dimensions];
+				for (int slot = 0; slot < count; slot++) {
+					this.arena.read(slot, embedding);
+					this.quantizedVectors.write(slot, embedding, (float) Math.sqrt(squaredNorms[slot]));
+				}
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	QuantizationType quantizationType() {
+		return this.quantizationType;
+	}
+
+	/**
+	 * Returns the dimensions of the stored embeddings, or 0 if nothing was stored yet.
+	 */
+	int dimensions() {
+		this.lock.readLock().lock();
+		try {
+			return (this.arena != null) ? this.arena.dimensions : 0;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Narrows a filter expression down to candidate slots through the metadata index.
+	 * @return a superset of the slots matching the expression, or {@code null} if the
+	 * expression cannot be narrowed down and every slot is a candidate
+	 */
+	@Nullable
+	BitSet candidates(Filter.Expression expression) {
+		if (this.metadataIndex == null) {
+			return null;
+		}
+		this.lock.readLock().lock();
+		try {
+			return this.metadataIndex.candidates(expression);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Invokes the action for every occupied slot among the candidates while holding the
+	 * read lock, visiting all occupied slots if the candidates are {@code null}.
+	 */
+	void forEachSlot(@Nullable BitSet candidates, IntConsumer action) {
+		if (candidates == null) {
+			forEachSlot(action);
+			return;
+		}
+		this.lock.readLock().lock();
+		try {
+			for (int slot = candidates.nextSetBit(0); slot >= 0
+					&& slot < this.slotCount; slot = candidates.nextSetBit(slot + 1)) {
+				if (this.ids[slot] != null) {
+					action.accept(slot);
+				}
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Scores the candidate slots accepted by the metadata filter against the query and
+	 * returns the {@code topK} best scoring documents at or above the similarity
+	 * threshold, best first. Only the winning slots are turned into {@link Document}s,
+	 * within the same read lock as the scan.
+	 * <p>
+	 * With quantized codes, the scan ranks the candidates by their approximate
+	 * similarity, and only the shortlist of the best {@code topK * oversampling} is
+	 * scored exactly, reading just those float rows.
+	 * <p>
+	 * With an executor, large storages are split into up to {@code parallelism}
+	 * contiguous slot ranges, each scanned into its own {@link TopKSelector} by whichever
+	 * thread claims it first: an executor thread once its task runs, or the calling
+	 * thread, which scans the first range and then every range no executor thread has
+	 * started. The calling thread therefore only waits for ranges that are being scanned,
+	 * so the search completes even when the executor is saturated, rejects the tasks or
+	 * runs the calling thread itself. The calling thread holds the read lock until every
+	 * range is scanned, which keeps writers out while the executor threads read the
+	 * slots. If any range fails, the calling thread claims the ranges not yet started and
+	 * waits for the running ones before it releases the lock.
+	 */
+	List<Document> search(@Nullable BitSet candidates, Predicate<Map<String, Object>> metadataFilter, float[] query,
+			int topK, double similarityThreshold, @Nullable Executor executor, int parallelism) {
+		double querySquaredNorm = SimilarityKernel.dotProduct().similarity(query, query);
+		if (querySquaredNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		this.lock.readLock().lock();
+		try {
+			TopKSelector selector;
+			if (this.quantizedVectors == null || this.arena == null) {
+				selector = scan(candidates, metadataFilter, slot -> cosineSimilarity(slot, query, querySquaredNorm),
+						topK, similarityThreshold, executor, parallelism);
+			}
+			else {
+				if (this.arena.dimensions != query.length) {
+					throw new IllegalArgumentException("Vectors lengths must be equal");
+				}
+				QuantizedVectors.Scorer scorer = this.quantizedVectors.scorer(SimilarityKernel.normalize(query));
+				int shortlistSize = (int) Math.min(Integer.MAX_VALUE, Math.ceil(topK * this.oversampling));
+				TopKSelector shortlist = scan(candidates, metadataFilter,
+						slot -> approximateCosineSimilarity(scorer, slot), shortlistSize, Double.NEGATIVE_INFINITY,
+						executor, parallelism);
+				TopKSelector exact = new TopKSelector(topK, similarityThreshold);
+				shortlist.drainDescending(
+						(slot, score) -> exact.offer(slot, cosineSimilarity(slot, query, querySquaredNorm)));
+				selector = exact;
+			}
+			List<Document> documents = new ArrayList<>(selector.size());
+			selector.drainDescending((slot, score) -> documents.add(toDocument(slot, score)));
+			return documents;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private TopKSelector scan(@Nullable BitSet candidates, Predicate<Map<String, Object>> metadataFilter,
+			IntToDoubleFunction similarity, int topK, double similarityThreshold, @Nullable Executor executor,
+			int parallelism) {
+		int partitions = (executor != null) ? Math.min(parallelism, this.slotCount / MIN_PARTITION_SLOTS) : 1;
+		if (partitions <= 1) {
+			return scan(0, this.slotCount, candidates, metadataFilter, similarity, topK, similarityThreshold);
+		}
+		int partitionSlots = (this.slotCount + partitions - 1) / partitions;
+		AtomicIntegerArray claims = new AtomicIntegerArray(partitions);
+		List<CompletableFuture<TopKSelector>> partitionSelectors = new ArrayList<>(partitions);
+		for (int partition = 0; partition < partitions; partition++) {
+			partitionSelectors.add(new CompletableFuture<>());
+		}
+		try {
+			for (int partition = 1; partition < partitions; partition++) {
+				int partitionFrom = partition * partitionSlots;
+				int partitionTo = Math.min(partitionFrom + partitionSlots, this.slotCount);
+				int claimed = partition;
+				CompletableFuture<TopKSelector> partitionSelector = partitionSelectors.get(partition);
+				try {
+					executor.execute(() -> {
+						if (claims.compareAndSet(claimed, UNCLAIMED, CLAIMED_BY_EXECUTOR)) {
+							try {
+								partitionSelector.complete(scan(partitionFrom, partitionTo, candidates, metadataFilter,
+										similarity, topK, similarityThreshold));
+							}
+							catch (Throwable ex) {
+								partitionSelector.completeExceptionally(ex);
+							}
+						}
+					});
+				}
+				catch (RejectedExecutionException ex) {
+					// the calling thread scans the remaining ranges
+					break;
+				}
+			}
+			TopKSelector selector = scan(0, partitionSlots, candidates, metadataFilter, similarity, topK,
+					similarityThreshold);
+			for (int partition = 1; partition < partitions; partition++) {
+				if (claims.compareAndSet(partition, UNCLAIMED, CLAIMED_BY_CALLER)) {
+					int partitionFrom = partition * partitionSlots;
+					selector.addAll(scan(partitionFrom, Math.min(partitionFrom + partitionSlots, this.slotCount),
+							candidates, metadataFilter, similarity, topK, similarityThreshold));
+				}
+				else {
+					selector.addAll(join(partitionSelectors.get(partition)));
+				}
+			}
+			return selector;
+		}
+		finally {
+			// The caller releases the read lock once this returns, so keep the ranges
+			// not started yet from being scanned and wait for the running ones.
+			for (int partition = 1; partition < partitions; partition++) {
+				if (!claims.compareAndSet(partition, UNCLAIMED, CLAIMED_BY_CALLER)
+						&& claims.get(partition) == CLAIMED_BY_EXECUTOR) {
+					partitionSelectors.get(partition).exceptionally(ex -> null).join();
+				}
+			}
+		}
+	}
+
+	private TopKSelector scan(int from, int to, @Nullable BitSet candidates,
+			Predicate<Map<String, Object>> metadataFilter, IntToDoubleFunction similarity, int topK,
+			double similarityThreshold) {
+		TopKSelector selector = new TopKSelector(topK, similarityThreshold);
+		int slot = (candidates != null) ? candidates.nextSetBit(from) : from;
+		while (slot >= 0 && slot < to) {
+			if (this.ids[slot] != null && metadataFilter.test(this.metadata[slot])) {
+				selector.offer(slot, similarity.applyAsDouble(slot));
+			}
+			slot = (candidates != null) ? candidates.nextSetBit(slot + 1) : slot + 1;
+		}
+		return selector;
+	}
+
+	private double approximateCosineSimilarity(QuantizedVectors.Scorer scorer, int slot) {
+		if (this.squaredNorms[slot] == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return scorer.score(slot);
+	}
+
+	private static TopKSelector join(CompletableFuture<TopKSelector> partitionSelector) {
+		try {
+			return partitionSelector.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Runs the action while holding the read lock, so that it may use the slot accessors
+	 * below.
+	 */
+	<T> T read(Supplier<T> action) {
+		this.lock.readLock().lock();
+		try {
+			return action.get();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the slot of the document with the given id, or -1 if there is none.
+	 */
+	int slot(String id) {
+		return this.slots.get(id);
+	}
+
+	String id(int slot) {
+		return this.ids[slot];
+	}
+
+	Map<String, Object> metadata(int slot) {
+		return this.metadata[slot];
+	}
+
+	String text(int slot) {
+		return this.texts[slot];
+	}
+
+	float squaredNorm(int slot) {
+		return this.squaredNorms[slot];
+	}
+
+	void vector(int slot, float[] target) {
+		this.arena.read(slot, target);
+	}
+
+	double dotProduct(int slot, float[] query) {
+		return this.arena.dotProduct(slot, query);
+	}
+
+	double cosineSimilarity(int slot, float[] query) {
+		return cosineSimilarity(slot, query, SimilarityKernel.dotProduct().similarity(query, query));
+	}
+
+	/**
+	 * Computes the cosine similarity between the query and the embedding of the slot. The
+	 * squared norm of every stored embedding is computed once on insertion, so a
+	 * comparison is a single dot product pass over the stored row. The query is not
+	 * normalized up front, which keeps the result identical to
+	 * {@link SimpleVectorStore.EmbeddingMath#cosineSimilarity} up to the summation order
+	 * of the kernel.
+	 */
+	double cosineSimilarity(int slot, float[] query, double querySquaredNorm) {
+		if (this.arena.dimensions != query.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		float squaredNorm = this.squaredNorms[slot];
+		if (squaredNorm == 0 || querySquaredNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return this.arena.dotProduct(slot, query) / (Math.sqrt(querySquaredNorm) * Math.sqrt(squaredNorm));
+	}
+
+	Document toDocument(int slot, double score) {
+		return SimpleVectorStoreContent.toDocument(this.ids[slot], this.texts[slot], this.metadata[slot], score);
+	}
+
+	SimpleVectorStoreContent content(int slot) {
+		float[] embedding = new float[this.arena.dimensions];
+		this.arena.read(slot, embedding);
+		return new SimpleVectorStoreContent(this.ids[slot], this.texts[slot], this.metadata[slot], embedding);
+	}
+
+	/**
+	 * Returns a live, read-only {@link Map} view keyed by document id. Reads materialize
+	 * a {@link SimpleVectorStoreContent} per entry.
+	 */
+	Map<String, SimpleVectorStoreContent> asMap() {
+		return Collections.unmodifiableMap(new StorageMap());
+	}
+
+	/**
+	 * Releases the scratch file of the embeddings of a quantized storage. The storage
+	 * must not be used afterwards.
+	 */
+	void close() {
+		this.lock.writeLock().lock();
+		try {
+			if (this.arena != null) {
+				this.arena.close();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private VectorArena newArena(int dimensions, List<FloatBuffer> chunks) {
+		if (this.quantizationType != QuantizationType.NONE) {
+			return new MappedArena(dimensions, this.vectorsDirectory, chunks);
+		}
+		return (this.storageType == StorageType.OFF_HEAP) ? new OffHeapArena(dimensions, chunks)
+				: new HeapArena(dimensions, chunks);
+	}
+
+	private int allocateSlot() {
+		if (this.freeSlotCount > 0) {
+			return this.freeSlots[--this.freeSlotCount];
+		}
+		int slot = this.slotCount++;
+		if (slot == this.ids.length) {
+			int capacity = this.ids.length + (this.ids.length >> 1);
+			this.ids = Arrays.copyOf(this.ids, capacity);
+			this.texts = Arrays.copyOf(this.texts, capacity);
+			this.metadata = Arrays.copyOf(this.metadata, capacity);
+			this.squaredNorms = Arrays.copyOf(this.squaredNorms, capacity);
+		}
+		this.arena.ensureCapacity(this.slotCount);
+		if (this.quantizedVectors != null) {
+			this.quantizedVectors.ensureCapacity(this.slotCount);
+		}
+		return slot;
+	}
+
+	/**
+	 * Returns the number of embedding rows of the given dimensions held by each arena
+	 * chunk.
+	 */
+	static int slotsPerChunk(int dimensions) {
+		return Math.max(1, CHUNK_FLOATS / dimensions);
+	}
+
+	/**
+	 * Returns an unmodifiable copy of the metadata without {@code null} keys and values,
+	 * which a {@link Document} would reject when the entry is returned from a search.
+	 */
+	static Map<String, Object> metadataSnapshot(Map<String, Object> metadata) {
+		Map<String, Object> snapshot = new HashMap<>(metadata.size());
+		metadata.forEach((key, value) -> {
+			if (key != null && value != null) {
+				snapshot.put(key, value);
+			}
+		});
+		return Collections.unmodifiableMap(snapshot);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Map<String, Object>[] newMetadataArray(int length) {
+		return new Map[length];
+	}
+
+	private List<String> idSnapshot() {
+		List<String> snapshot = new ArrayList<>(size());
+		forEachSlot(slot -> snapshot.add(this.ids[slot]));
+		return snapshot;
+	}
+
+	private final class StorageMap extends AbstractMap<String, SimpleVectorStoreContent> {
+
+		@Override
+		public int size() {
+			return SimpleVectorStorage.this.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String id && SimpleVectorStorage.this.get(id) != null;
+		}
+
+		@Override
+		public SimpleVectorStoreContent get(Object key) {
+			return (key instanceof String id) ? SimpleVectorStorage.this.get(id) : null;
+		}
+
+		@Override
+		public Set<Entry<String, SimpleVectorStoreContent>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public int size() {
+					return SimpleVectorStorage.this.size();
+				}
+
+				@Override
+				public Iterator<Entry<String, SimpleVectorStoreContent>> iterator() {
+					List<Entry<String, SimpleVectorStoreContent>> entries = new ArrayList<>();
+					for (String id : idSnapshot()) {
+						SimpleVectorStoreContent content = SimpleVectorStorage.this.get(id);
+						if (content != null) {
+							entries.add(new SimpleImmutableEntry<>(id, content));
+						}
+					}
+					return entries.iterator();
+				}
+
+			};
+		}
+
+	}
+
+	/**
+	 * Point-in-time copy of the slots of a storage, taken by {@link #capture()}. Slots
+	 * without a document have a {@code null} id.
+	 */
+	static final class SlotTable {
+
+		private final String[] ids;
+
+		private final String[] texts;
+
+		private final Map<String, Object>[] metadata;
+
+		private final float[] squaredNorms;
+
+		@Nullable
+		private final VectorArena arena;
+
+		@Nullable
+		private final QuantizedVectors codes;
+
+		private SlotTable(String[] ids, String[] texts, Map<String, Object>[] metadata, float[] squaredNorms,
+				@Nullable VectorArena arena, @Nullable QuantizedVectors codes) {
+			this.ids = ids;
+			this.texts = texts;
+			this.metadata = metadata;
+			this.squaredNorms = squaredNorms;
+			this.arena = arena;
+			this.codes = codes;
+		}
+
+		int dimensions() {
+			return (this.arena != null) ? this.arena.dimensions : 0;
+		}
+
+		/**
+		 * Invokes the action for every slot holding a document.
+		 */
+		void forEachSlot(IntConsumer action) {
+			for (int slot = 0; slot < this.ids.length; slot++) {
+				if (this.ids[slot] != null) {
+					action.accept(slot);
+				}
+			}
+		}
+
+		String id(int slot) {
+			return this.ids[slot];
+		}
+
+		String text(int slot) {
+			return this.texts[slot];
+		}
+
+		Map<String, Object> metadata(int slot) {
+			return this.metadata[slot];
+		}
+
+		float squaredNorm(int slot) {
+			return this.squaredNorms[slot];
+		}
+
+		void vector(int slot, float[] target) {
+			this.arena.read(slot, target);
+		}
+
+		/**
+		 * Returns the quantized codes, or {@code null} if the storage keeps none.
+		 */
+		@Nullable
+		QuantizedVectors codes() {
+			return this.codes;
+		}
+
+		/**
+		 * Releases the capture once it is no longer read, so that the storage may reuse
+		 * the parts of its scratch file the capture still reads.
+		 */
+		void release() {
+			if (this.arena != null) {
+				this.arena.release();
+			}
+		}
+
+	}
+
+	/**
+	 * Fixed-width rows of embeddings, grown chunk by chunk. Chunks handed out by
+	 * {@link #share()} are copied on their next write, so that the shared rows never
+	 * change.
+	 */
+	private abstract static class VectorArena {
+
+		final int dimensions;
+
+		final int slotsPerChunk;
+
+		final BitSet sharedChunks = new BitSet();
+
+		VectorArena(int dimensions) {
+			this.dimensions = dimensions;
+			this.slotsPerChunk = slotsPerChunk(dimensions);
+		}
+
+		abstract void ensureCapacity(int slots);
+
+		abstract void write(int slot, float[] vector);
+
+		abstract void read(int slot, float[] target);
+
+		abstract double dotProduct(int slot, float[] query);
+
+		/**
+		 * Returns an arena over the current chunks, which is only ever read. Concurrent
+		 * callers holding the storage read lock are serialized by the arena monitor.
+		 */
+		abstract VectorArena share();
+
+		/**
+		 * Releases an arena returned by {@link #share()} once it is no longer read.
+		 */
+		void release() {
+		}
+
+		/**
+		 * Releases the resources of the arena, which is not written afterwards.
+		 */
+		void close() {
+		}
+
+		int chunk(int slot) {
+			return slot / this.slotsPerChunk;
+		}
+
+		int offset(int slot) {
+			return (slot % this.slotsPerChunk) * this.dimensions;
+		}
+
+	}
+
+	private static final class HeapArena extends VectorArena {
+
+		private final List<float[]> chunks = new ArrayList<>();
+
+		HeapArena(int dimensions) {
+			super(dimensions);
+		}
+
+		HeapArena(int dimensions, List<FloatBuffer> chunks) {
+			super(dimensions);
+			for (FloatBuffer chunk : chunks) {
+				float[] copy = new float[this.slotsPerChunk * this.dimensions];
+				chunk.get(0, copy);
+				this.chunks.add(copy);
+			}
+		}
+
+		@Override
+		void ensureCapacity(int slots) {
+			while (this.chunks.size() * this.slotsPerChunk < slots) {
+				this.chunks.add(new float[this.slotsPerChunk * this.dimensions]);
+			}
+		}
+
+		@Override
+		void write(int slot, float[] vector) {
+			int chunk = chunk(slot);
+			if (this.sharedChunks.get(chunk)) {
+				this.chunks.set(chunk, this.chunks.get(chunk).clone());
+				this.sharedChunks.clear(chunk);
+			}
+			System.arraycopy(vector, 0, this.chunks.get(chunk), offset(slot), this.dimensions);
+		}
+
+		@Override
+		void read(int slot, float[] target) {
+			System.arraycopy(this.chunks.get(chunk(slot)), offset(slot), target, 0, this.dimensions);
+		}
+
+		@Override
+		double dotProduct(int slot, float[] query) {
+			return SimilarityKernel.dotProduct().similarity(query, this.chunks.get(chunk(slot)), offset(slot));
+		}
+
+		@Override
+		synchronized VectorArena share() {
+			HeapArena shared = new HeapArena(this.dimensions);
+			shared.chunks.addAll(this.chunks);
+			this.sharedChunks.set(0, this.chunks.size());
+			return shared;
+		}
+
+	}
+
+	private static final class OffHeapArena extends VectorArena {
+
+		private final List<FloatBuffer> chunks = new ArrayList<>();
+
+		OffHeapArena(int dimensions) {
+			super(dimensions);
+		}
+
+		/**
+		 * Creates an arena that adopts the given chunks, which may be read-only views of
+		 * a memory-mapped file. A read-only chunk is copied on its first write.
+		 */
+		OffHeapArena(int dimensions, List<FloatBuffer> chunks) {
+			super(dimensions);
+			this.chunks.addAll(chunks);
+		}
+
+		@Override
+		void ensureCapacity(int slots) {
+			while (this.chunks.size() * this.slotsPerChunk < slots) {
+				this.chunks.add(allocateChunk());
+			}
+		}
+
+		@Override
+		void write(int slot, float[] vector) {
+			FloatBuffer chunk = this.chunks.get(chunk(slot));
+			if (chunk.isReadOnly() || this.sharedChunks.get(chunk(slot))) {
+				FloatBuffer copy = allocateChunk();
+				copy.put(0, chunk, 0, chunk.capacity());
+				this.chunks.set(chunk(slot), copy);
+				this.sharedChunks.clear(chunk(slot));
+				chunk = copy;
+			}
+			chunk.put(offset(slot), vector);
+		}
+
+		private FloatBuffer allocateChunk() {
+			return ByteBuffer.allocateDirect(this.slotsPerChunk * this.dimensions * Float.BYTES)
+				.order(ByteOrder.nativeOrder())
+				.asFloatBuffer();
+		}
+
+		@Override
+		void read(int slot, float[] target) {
+			this.chunks.get(chunk(slot)).get(offset(slot), target);
+		}
+
+		@Override
+		double dotProduct(int slot, float[] query) {
+			return SimilarityKernel.dotProduct().similarity(query, this.chunks.get(chunk(slot)), offset(slot));
+		}
+
+		@Override
+		synchronized VectorArena share() {
+			OffHeapArena shared = new OffHeapArena(this.dimensions);
+			shared.chunks.addAll(this.chunks);
+			this.sharedChunks.set(0, this.chunks.size());
+			return shared;
+		}
+
+	}
+
+	/**
+	 * Keeps the rows in a scratch file that is mapped into memory chunk by chunk, so that
+	 * they take up neither heap nor native memory of the process and the operating system
+	 * pages in just the rows that are read. Used by quantized storages, whose scans read
+	 * the codes and only the rows of the shortlist. Chunks adopted from a loaded snapshot
+	 * stay mapped from the snapshot file until they are first written.
+	 * <p>
+	 * A region of the file shared through {@link #share()} is not written again until the
+	 * share is released; a write to its chunk in the meantime moves the chunk to another
+	 * region. The file is opened to be deleted on close, which Unix-like systems do right
+	 * away, and else when the JVM exits.
+	 */
+	private static final class MappedArena extends VectorArena {
+
+		private final FileChannel channel;
+
+		private final long chunkBytes;
+
+		private final List<FloatBuffer> chunks = new ArrayList<>();
+
+		/**
+		 * Region of the file of every chunk, {@code null} for a chunk adopted from a
+		 * snapshot.
+		 */
+		private final List<Region> regions = new ArrayList<>();
+
+		private final Deque<Region> freeRegions = new ArrayDeque<>();
+
+		private long regionCount;
+
+		MappedArena(int dimensions, Path directory, List<FloatBuffer> chunks) {
+			super(dimensions);
+			this.chunkBytes = (long) this.slotsPerChunk * dimensions * Float.BYTES;
+			try {
+				Path file = Files.createTempFile(directory, "vectors", ".tmp");
+				this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+						StandardOpenOption.DELETE_ON_CLOSE);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to create the vectors file in " + directory, ex);
+			}
+			this.chunks.addAll(chunks);
+			for (int i = 0; i < chunks.size(); i++) {
+				this.regions.add(null);
+			}
+		}
+
+		@Override
+		synchronized void ensureCapacity(int slots) {
+			while (this.chunks.size() * this.slotsPerChunk < slots) {
+				Region region = allocateRegion();
+				this.chunks.add(map(region));
+				this.regions.add(region);
+			}
+		}
+
+		@Override
+		void write(int slot, float[] vector) {
+			int chunk = chunk(slot);
+			synchronized (this) {
+				Region region = this.regions.get(chunk);
+				if (region == null || region.shares > 0) {
+					Region moved = allocateRegion();
+					FloatBuffer copy = map(moved);
+					copy.put(0, this.chunks.get(chunk), 0, copy.capacity());
+					this.chunks.set(chunk, copy);
+					this.regions.set(chunk, moved);
+					if (region != null) {
+						region.live = false;
+						recycle(region);
+					}
+				}
+			}
+			this.chunks.get(chunk).put(offset(slot), vector);
+		}
+
+		@Override
+		void read(int slot, float[] target) {
+			this.chunks.get(chunk(slot)).get(offset(slot), target);
+		}
+
+		@Override
+		double dotProduct(int slot, float[] query) {
+			return SimilarityKernel.dotProduct().similarity(query, this.chunks.get(chunk(slot)), offset(slot));
+		}
+
+		@Override
+		synchronized VectorArena share() {
+			List<Region> shared = new ArrayList<>(this.regions.size());
+			for (Region region : this.regions) {
+				if (region != null) {
+					region.shares++;
+					shared.add(region);
+				}
+			}
+			return new SharedArena(this.dimensions, this.chunks, () -> release(shared));
+		}
+
+		@Override
+		void close() {
+			try {
+				this.channel.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to close the vectors file", ex);
+			}
+		}
+
+		private synchronized void release(List<Region> shared) {
+			for (Region region : shared) {
+				region.shares--;
+				recycle(region);
+			}
+		}
+
+		private void recycle(Region region) {
+			if (!region.live && region.shares == 0) {
+				region.live = true;
+				this.freeRegions.push(region);
+			}
+		}
+
+		private Region allocateRegion() {
+			Region region = this.freeRegions.poll();
+			return (region != null) ? region : new Region(this.regionCount++ * this.chunkBytes);
+		}
+
+		private FloatBuffer map(Region region) {
+			try {
+				return this.channel.map(FileChannel.MapMode.READ_WRITE, region.position, this.chunkBytes)
+					.order(ByteOrder.nativeOrder())
+					.asFloatBuffer();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to map the vectors file", ex);
+			}
+		}
+
+		/**
+		 * A chunk sized region of the file. A region taken off the free-list is in use by
+		 * a chunk until that chunk moves, and it is only recycled once no share reads it
+		 * anymore.
+		 */
+		private static final class Region {
+
+			private final long position;
+
+			private int shares;
+
+			private boolean live = true;
+
+			Region(long position) {
+				this.position = position;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Read-only arena over the chunks of a {@link MappedArena} at the time of a share,
+	 * which returns the regions to the arena when released.
+	 */
+	private static final class SharedArena extends VectorArena {
+
+		private final List<FloatBuffer> chunks;
+
+		private final Runnable onRelease;
+
+		private boolean released;
+
+		SharedArena(int dimensions, List<FloatBuffer> chunks, Runnable onRelease) {
+			super(dimensions);
+			this.chunks = List.copyOf(chunks);
+			this.onRelease = onRelease;
+		}
+
+		@Override
+		void ensureCapacity(int slots) {
+			throw new UnsupportedOperationException("Shared arenas are read-only");
+		}
+
+		@Override
+		void write(int slot, float[] vector) {
+			throw new UnsupportedOperationException("Shared arenas are read-only");
+		}
+
+		@Override
+		void read(int slot, float[] target) {
+			this.chunks.get(chunk(slot)).get(offset(slot), target);
+		}
+
+		@Override
+		double dotProduct(int slot, float[] query) {
+			return SimilarityKernel.dotProduct().similarity(query, this.chunks.get(chunk(slot)), offset(slot));
+		}
+
+		@Override
+		VectorArena share() {
+			throw new UnsupportedOperationException("Shared arenas cannot be shared again");
+		}
+
+		@Override
+		synchronized void release() {
+			if (!this.released) {
+				this.released = true;
+				this.onRelease.run();
+			}
+		}
+
+	}
+
+	/**
+	 * Open-addressing hash map from document id to slot with linear probing and
+	 * backward-shift deletion, avoiding a boxed {@link Integer} and an entry object per
+	 * document.
+	 */
+	private static final class IdSlotMap {
+
+		private String[] keys = new String[INITIAL_SLOTS];
+
+		private int[] values = new int[INITIAL_SLOTS];
+
+		private int size;
+
+		int size() {
+			return this.size;
+		}
+
+		int get(String key) {
+			int mask = this.keys.length - 1;
+			for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+				String candidate = this.keys[i];
+				if (candidate == null) {
+					return -1;
+				}
+				if (candidate.equals(key)) {
+					return this.values[i];
+				}
+			}
+		}
+
+		void put(String key, int value) {
+			if ((this.size + 1) * 2 > this.keys.length) {
+				resize(this.keys.length * 2);
+			}
+			int mask = this.keys.length - 1;
+			for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+				String candidate = this.keys[i];
+				if (candidate == null) {
+					this.keys[i] = key;
+					this.values[i] = value;
+					this.size++;
+					return;
+				}
+				if (candidate.equals(key)) {
+					this.values[i] = value;
+					return;
+				}
+			}
+		}
+
+		int remove(String key) {
+			int mask = this.keys.length - 1;
+			int i = hash(key) & mask;
+			while (this.keys[i] != null && !this.keys[i].equals(key)) {
+				i = (i + 1) & mask;
+			}
+			if (this.keys[i] == null) {
+				return -1;
+			}
+			int removed = this.values[i];
+			this.keys[i] = null;
+			this.size--;
+			// Shift the following entries of the probe sequence back into the gap.
+			for (int j = (i + 1) & mask; this.keys[j] != null; j = (j + 1) & mask) {
+				int home = hash(this.keys[j]) & mask;
+				boolean movable = (i <= j) ? (home <= i || home > j) : (home <= i && home > j);
+				if (movable) {
+					this.keys[i] = this.keys[j];
+					this.values[i] = this.values[j];
+					this.keys[j] = null;
+					i = j;
+				}
+			}
+			return removed;
+		}
+
+		void clear() {
+			this.keys = new String[INITIAL_SLOTS];
+			this.values = new int[INITIAL_SLOTS];
+			this.size = 0;
+		}
+
+		private void resize(int capacity) {
+			String[] oldKeys = this.keys;
+			int[] oldValues = this.values;
+			this.keys = new String[capacity];
+			this.values = new int[capacity];
+			this.size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+
+		private static int hash(String key) {
+			int h = key.hashCode();
+			return h ^ (h >>> 16);
+		}
+
+	}
+
+}
@@ -25,12 +25,13 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -43,17 +44,16 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.SimilarityKernel;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
 import org.springframework.ai.util.JacksonUtils;
-import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
-import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
 import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.core.io.Resource;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * SimpleVectorStore is a simple implementation of the VectorStore interface.
@@ -74,23 +74,77 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  * @author Thomas Vitale
  * @author Jemin Huh
  */
-public class SimpleVectorStore extends AbstractObservationVectorStore {
+public class SimpleVectorStore extends AbstractObservationVectorStore implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStore.class);
 
+	public static final int DEFAULT_HNSW_M = 16;
+
+	public static final int DEFAULT_HNSW_EF_CONSTRUCTION = 64;
+
+	public static final int DEFAULT_HNSW_EF_SEARCH = 40;
+
+	public static final long DEFAULT_COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+
+	public static final double DEFAULT_OVERSAMPLING = 4.0;
+
+	/**
+	 * Fraction of the stored documents below which a filtered search scores the
+	 * candidates of the metadata index exactly instead of traversing the HNSW graph,
+	 * which would have to skip most of the nodes it visits.
+	 */
+	private static final double EXACT_FILTERED_SEARCH_RATIO = 0.1;
+
 	private final ObjectMapper objectMapper;
 
-	private final ExpressionParser expressionParser;
+	private final FilterExpressionPredicateCompiler filterPredicateCompiler;
+
+	private final SimpleVectorStorage storage;
+
+	@Nullable
+	private final HnswIndex index;
 
-	private final FilterExpressionConverter filterExpressionConverter;
+	@Nullable
+	private final SimpleVectorStoreWriteAheadLog writeAheadLog;
 
-	protected Map<String, SimpleVectorStoreContent> store = new ConcurrentHashMap<>();
+	@Nullable
+	private final Executor searchExecutor;
+
+	private final int searchParallelism;
+
+	/**
+	 * Live, read-only view of the stored documents keyed by id. Documents are added and
+	 * deleted through {@link #doAdd(List)} and {@link #doDelete(List)}, which keep the
+	 * index and the write-ahead log in step with the storage.
+	 */
+	protected final Map<String, SimpleVectorStoreContent> store;
 
 	protected SimpleVectorStore(SimpleVectorStoreBuilder builder) {
 		super(builder);
 		this.objectMapper = JsonMapper.builder().addModules(JacksonUtils.instantiateAvailableModules()).build();
-		this.expressionParser = new SpelExpressionParser();
-		this.filterExpressionConverter = new SimpleVectorStoreFilterExpressionConverter();
+		this.filterPredicateCompiler = new FilterExpressionPredicateCompiler();
+		this.storage = new SimpleVectorStorage(builder.storageType, builder.indexedMetadataFields,
+				builder.quantizationType, builder.oversampling,
+				(builder.persistenceDirectory != null) ? builder.persistenceDirectory.toPath() : null);
+		this.store = this.storage.asMap();
+		this.index = (builder.indexType == IndexType.HNSW)
+				? new HnswIndex(this.storage, builder.hnswM, builder.hnswEfConstruction, builder.hnswEfSearch) : null;
+		this.searchExecutor = builder.searchExecutor;
+		this.searchParallelism = builder.searchParallelism;
+		if (builder.persistenceDirectory != null) {
+			this.writeAheadLog = new SimpleVectorStoreWriteAheadLog(builder.persistenceDirectory.toPath(),
+					new SimpleVectorStoreSnapshot(this.objectMapper), this.storage, builder.compactionThreshold);
+			try {
+				this.writeAheadLog.recover();
+			}
+			catch (IOException ex) {
+				throw new RuntimeException("Failed to recover vector store from " + builder.persistenceDirectory, ex);
+			}
+			rebuildIndex();
+		}
+		else {
+			this.writeAheadLog = null;
+		}
 	}
 
 	/**
@@ -108,45 +162,111 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 			throw new IllegalArgumentException("Documents list cannot be empty");
 		}
 
+		List<float[]> embeddings = new ArrayList<>(documents.size());
 		for (Document document : documents) {
 			logger.info("Calling EmbeddingModel for document id = {}", document.getId());
-			float[] embedding = this.embeddingModel.embed(document);
-			SimpleVectorStoreContent storeContent = new SimpleVectorStoreContent(document.getId(), document.getText(),
-					document.getMetadata(), embedding);
-			this.store.put(document.getId(), storeContent);
+			embeddings.add(this.embeddingModel.embed(document));
+		}
+		Runnable apply = () -> {
+			for (int i = 0; i < documents.size(); i++) {
+				Document document = documents.get(i);
+				this.storage.put(document.getId(), document.getText(), document.getMetadata(), embeddings.get(i));
+				if (this.index != null) {
+					this.index.add(document.getId());
+				}
+			}
+		};
+		if (this.writeAheadLog == null) {
+			apply.run();
+			return;
+		}
+		try {
+			this.writeAheadLog.add(documents, embeddings, apply);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to log the addition of documents", ex);
 		}
 	}
 
 	@Override
 	public void doDelete(List<String> idList) {
-		for (String id : idList) {
-			this.store.remove(id);
+		Runnable apply = () -> {
+			for (String id : idList) {
+				if (this.index != null) {
+					this.index.remove(id);
+				}
+				else {
+					this.storage.remove(id);
+				}
+			}
+		};
+		if (this.writeAheadLog == null) {
+			apply.run();
+			return;
+		}
+		try {
+			this.writeAheadLog.delete(idList, apply);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException("Failed to log the deletion of documents", ex);
+		}
+	}
+
+	/**
+	 * Closes the write-ahead log when a persistence directory is configured, and deletes
+	 * the scratch file of the embeddings of a quantized store. Mutations are rejected
+	 * afterwards.
+	 * @throws IOException if the log cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (this.writeAheadLog != null) {
+				this.writeAheadLog.close();
+			}
+		}
+		finally {
+			this.storage.close();
 		}
 	}
 
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
-		Predicate<SimpleVectorStoreContent> documentFilterPredicate = doFilterPredicate(request);
+		Predicate<Map<String, Object>> metadataFilterPredicate = doFilterPredicate(request);
+		BitSet candidates = request.hasFilterExpression() ? this.storage.candidates(request.getFilterExpression())
+				: null;
 		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
-		return this.store.values()
-			.stream()
-			.filter(documentFilterPredicate)
-			.map(content -> content
-				.toDocument(EmbeddingMath.cosineSimilarity(userQueryEmbedding, content.getEmbedding())))
-			.filter(document -> document.getScore() >= request.getSimilarityThreshold())
-			.sorted(Comparator.comparing(Document::getScore).reversed())
-			.limit(request.getTopK())
-			.toList();
+		if (this.index != null && (candidates == null
+				|| candidates.cardinality() > this.storage.size() * EXACT_FILTERED_SEARCH_RATIO)) {
+			return doIndexSearch(request, userQueryEmbedding, metadataFilterPredicate);
+		}
+		if (this.storage.size() == 0) {
+			return List.of();
+		}
+		return this.storage.search(candidates, metadataFilterPredicate, userQueryEmbedding, request.getTopK(),
+				request.getSimilarityThreshold(), this.searchExecutor, this.searchParallelism);
 	}
 
-	private Predicate<SimpleVectorStoreContent> doFilterPredicate(SearchRequest request) {
-		return request.hasFilterExpression() ? document -> {
-			StandardEvaluationContext context = new StandardEvaluationContext();
-			context.setVariable("metadata", document.getMetadata());
-			return this.expressionParser
-				.parseExpression(this.filterExpressionConverter.convertExpression(request.getFilterExpression()))
-				.getValue(context, Boolean.class);
-		} : document -> true;
+	private List<Document> doIndexSearch(SearchRequest request, float[] userQueryEmbedding,
+			Predicate<Map<String, Object>> metadataFilterPredicate) {
+		List<Document> documents = new ArrayList<>();
+		for (HnswIndex.ScoredId result : this.index.search(userQueryEmbedding, request.getTopK(), id -> {
+			Map<String, Object> metadata = this.storage.metadata(id);
+			return metadata != null && metadataFilterPredicate.test(metadata);
+		})) {
+			if (result.score() >= request.getSimilarityThreshold()) {
+				Document document = this.storage.toDocument(result.id(), result.score());
+				if (document != null) {
+					documents.add(document);
+				}
+			}
+		}
+		return documents;
+	}
+
+	private Predicate<Map<String, Object>> doFilterPredicate(SearchRequest request) {
+		return request.hasFilterExpression() ? this.filterPredicateCompiler.compile(request.getFilterExpression())
+				: metadata -> true;
 	}
 
 	/**
@@ -192,7 +312,49 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Deserialize the vector store content from a file in JSON format into memory.
+	 * Write the vector store content into a file in the binary snapshot format. The
+	 * snapshot is streamed to a temporary file next to the target, which then atomically
+	 * replaces it. Unlike {@link #save(File)} this never holds the serialized store in
+	 * memory.
+	 * @param file the file to save the vector store content
+	 */
+	public void saveSnapshot(File file) {
+		try {
+			logger.info("Writing vector store snapshot: {}", file);
+			new SimpleVectorStoreSnapshot(this.objectMapper).write(this.storage, file.toPath());
+		}
+		catch (IOException ex) {
+			logger.error("IOException occurred while saving vector store snapshot.", ex);
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Load the vector store content from a file in the binary snapshot format written by
+	 * {@link #saveSnapshot(File)}. The embeddings are memory-mapped rather than read:
+	 * with {@link StorageType#OFF_HEAP} storage or a {@link QuantizationType} they are
+	 * served straight from the page cache, and otherwise they are bulk-copied onto the
+	 * heap.
+	 * @param file the file to load the vector store content
+	 */
+	public void loadSnapshot(File file) {
+		if (this.index != null) {
+			this.index.clear();
+		}
+		try {
+			new SimpleVectorStoreSnapshot(this.objectMapper).read(file.toPath(), this.storage);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		rebuildIndex();
+		compactWriteAheadLog();
+	}
+
+	/**
+	 * Deserialize the vector store content from a file in JSON format into memory. Files
+	 * in the binary snapshot format are detected and loaded through
+	 * {@link #loadSnapshot(File)}.
 	 * @param file the file to load the vector store content
 	 */
 	public void load(File file) {
@@ -200,7 +362,11 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 		};
 		try {
-			this.store = this.objectMapper.readValue(file, typeRef);
+			if (SimpleVectorStoreSnapshot.isSnapshot(file.toPath())) {
+				loadSnapshot(file);
+				return;
+			}
+			replaceContent(this.objectMapper.readValue(file, typeRef));
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -216,13 +382,49 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 		};
 		try {
-			this.store = this.objectMapper.readValue(resource.getInputStream(), typeRef);
+			replaceContent(this.objectMapper.readValue(resource.getInputStream(), typeRef));
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	private void replaceContent(Map<String, SimpleVectorStoreContent> content) {
+		if (this.index != null) {
+			this.index.clear();
+		}
+		this.storage.clear();
+		content.forEach((id, storeContent) -> {
+			float[] embedding = storeContent.getEmbedding();
+			this.storage.put(id, storeContent.getText(), storeContent.getMetadata(), embedding);
+			if (this.index != null) {
+				this.index.add(id);
+			}
+		});
+		compactWriteAheadLog();
+	}
+
+	/**
+	 * Content replaced wholesale bypasses the write-ahead log, so it is made durable
+	 * through a snapshot that supersedes all logged mutations.
+	 */
+	private void compactWriteAheadLog() {
+		if (this.writeAheadLog != null) {
+			try {
+				this.writeAheadLog.compact();
+			}
+			catch (IOException ex) {
+				throw new RuntimeException("Failed to write a vector store snapshot", ex);
+			}
+		}
+	}
+
+	private void rebuildIndex() {
+		if (this.index != null) {
+			this.index.rebuild();
+		}
+	}
+
 	private String getVectorDbAsJson() {
 		ObjectWriter objectWriter = this.objectMapper.writerWithDefaultPrettyPrinter();
 		try {
@@ -253,35 +455,14 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 		}
 
 		public static double cosineSimilarity(float[] vectorX, float[] vectorY) {
-			if (vectorX == null || vectorY == null) {
-				throw new RuntimeException("Vectors must not be null");
-			}
-			if (vectorX.length != vectorY.length) {
-				throw new IllegalArgumentException("Vectors lengths must be equal");
-			}
-
-			float dotProduct = dotProduct(vectorX, vectorY);
-			float normX = norm(vectorX);
-			float normY = norm(vectorY);
-
-			if (normX == 0 || normY == 0) {
-				throw new IllegalArgumentException("Vectors cannot have zero norm");
-			}
-
-			return dotProduct / (Math.sqrt(normX) * Math.sqrt(normY));
+			return SimilarityKernel.cosine().similarity(vectorX, vectorY);
 		}
 
 		public static float dotProduct(float[] vectorX, float[] vectorY) {
 			if (vectorX.length != vectorY.length) {
 				throw new IllegalArgumentException("Vectors lengths must be equal");
 			}
-
-			float result = 0;
-			for (int i = 0; i < vectorX.length; ++i) {
-				result += vectorX[i] * vectorY[i];
-			}
-
-			return result;
+			return (float) SimilarityKernel.dotProduct().similarity(vectorX, vectorY, 0);
 		}
 
 		public static float norm(float[] vector) {
@@ -290,12 +471,276 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 	}
 
+	/**
+	 * By default, the SimpleVectorStore performs an exact nearest neighbor search by
+	 * scanning every stored vector, which provides perfect recall. An approximate index
+	 * trades some recall for a search cost that grows sub-linearly with the store size.
+	 */
+	public enum IndexType {
+
+		/**
+		 * Performs exact nearest neighbor search, which provides perfect recall.
+		 */
+		NONE,
+		/**
+		 * An in-memory HNSW index creates a multilayer graph that is updated
+		 * incrementally on every add and delete. It uses more memory and slows down
+		 * inserts, but queries only visit a small fraction of the stored vectors.
+		 */
+		HNSW
+
+	}
+
+	/**
+	 * Where the SimpleVectorStore keeps the embedding vectors. In both cases the vectors
+	 * of all documents are packed row-major into large contiguous chunks addressed by
+	 * slot, so that searches scan sequential memory. A store with a
+	 * {@link QuantizationType} keeps the vectors in a memory-mapped file instead.
+	 */
+	public enum StorageType {
+
+		/**
+		 * Keeps the vectors in {@code float[]} chunks on the Java heap.
+		 */
+		HEAP,
+		/**
+		 * Keeps the vectors in direct buffers outside of the Java heap, which reduces
+		 * garbage collection pressure for large stores. The memory is released once the
+		 * store becomes unreachable.
+		 */
+		OFF_HEAP
+
+	}
+
+	/**
+	 * Compact codes the SimpleVectorStore can keep in memory in place of the float
+	 * embeddings. An exact search without an index then ranks every candidate by its code
+	 * and re-scores only a shortlist of {@code topK} times the oversampling factor with
+	 * the float embeddings, so that most of the scan reads a fraction of the memory. The
+	 * float embeddings are kept in a scratch file in the persistence directory, or in the
+	 * temporary-file directory without one, which is mapped into memory so that the
+	 * operating system pages in only the rows that are read. The embeddings of a loaded
+	 * snapshot are served from the snapshot file the same way. Snapshots persist the
+	 * codes, so that loading does not recompute them.
+	 */
+	public enum QuantizationType {
+
+		/**
+		 * Scores the float embeddings of every candidate.
+		 */
+		NONE,
+		/**
+		 * Keeps one signed byte per dimension, a quarter of the size of the float
+		 * embedding. Coarse scores closely follow the exact ones, so a small oversampling
+		 * factor preserves recall.
+		 */
+		INT8,
+		/**
+		 * Keeps one bit per dimension holding the sign of the component, a 32nd of the
+		 * size of the float embedding. Coarse scores are rough and call for a larger
+		 * oversampling factor.
+		 */
+		BINARY
+
+	}
+
 	public static final class SimpleVectorStoreBuilder extends AbstractVectorStoreBuilder<SimpleVectorStoreBuilder> {
 
+		private StorageType storageType = StorageType.HEAP;
+
+		private IndexType indexType = IndexType.NONE;
+
+		private int hnswM = DEFAULT_HNSW_M;
+
+		private int hnswEfConstruction = DEFAULT_HNSW_EF_CONSTRUCTION;
+
+		private int hnswEfSearch = DEFAULT_HNSW_EF_SEARCH;
+
+		private List<String> indexedMetadataFields = List.of();
+
+		@Nullable
+		private File persistenceDirectory;
+
+		private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+		@Nullable
+		private Executor searchExecutor;
+
+		private int searchParallelism = Runtime.getRuntime().availableProcessors();
+
+		private QuantizationType quantizationType = QuantizationType.NONE;
+
+		private double oversampling = DEFAULT_OVERSAMPLING;
+
 		private SimpleVectorStoreBuilder(EmbeddingModel embeddingModel) {
 			super(embeddingModel);
 		}
 
+		/**
+		 * Sets where the embedding vectors are stored. Defaults to
+		 * {@link StorageType#HEAP}.
+		 * @param storageType the storage type
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder storageType(StorageType storageType) {
+			Assert.notNull(storageType, "StorageType must not be null");
+			this.storageType = storageType;
+			return this;
+		}
+
+		/**
+		 * Sets the index used for similarity searches. Defaults to
+		 * {@link IndexType#NONE}.
+		 * @param indexType the index type
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder indexType(IndexType indexType) {
+			Assert.notNull(indexType, "IndexType must not be null");
+			this.indexType = indexType;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of connections per node in the HNSW graph. Layer 0
+		 * allows twice as many.
+		 * @param m the maximum number of connections
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder hnswM(int m) {
+			Assert.isTrue(m > 1, "M must be greater than 1");
+			this.hnswM = m;
+			return this;
+		}
+
+		/**
+		 * Sets the size of the dynamic candidate list used while inserting into the HNSW
+		 * graph. Higher values build a better graph at the cost of slower inserts.
+		 * @param efConstruction the candidate list size
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder hnswEfConstruction(int efConstruction) {
+			Assert.isTrue(efConstruction > 0, "efConstruction must be positive");
+			this.hnswEfConstruction = efConstruction;
+			return this;
+		}
+
+		/**
+		 * Sets the size of the dynamic candidate list used while searching the HNSW
+		 * graph. Higher values improve recall at the cost of slower queries. The top-k of
+		 * a request is used instead when it is larger.
+		 * @param efSearch the candidate list size
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder hnswEfSearch(int efSearch) {
+			Assert.isTrue(efSearch > 0, "efSearch must be positive");
+			this.hnswEfSearch = efSearch;
+			return this;
+		}
+
+		/**
+		 * Sets the metadata fields to keep an inverted index for. Filtered searches
+		 * narrow {@code EQ}, {@code IN} and range comparisons on these fields down to the
+		 * matching documents before scoring any embedding. Defaults to none.
+		 * @param fields the metadata field names
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder indexedMetadataFields(String... fields) {
+			Assert.notNull(fields, "Indexed metadata fields must not be null");
+			Assert.noNullElements(fields, "Indexed metadata fields must not contain null elements");
+			this.indexedMetadataFields = List.of(fields);
+			return this;
+		}
+
+		/**
+		 * Makes the store durable in the given directory. The store is recovered from the
+		 * directory when it is built, and every add and delete is forced to a write-ahead
+		 * log in the directory before it is applied. The log is periodically compacted
+		 * into a binary snapshot. Writes through {@link SimpleVectorStore#store} are not
+		 * logged. Defaults to none, keeping the store in memory only.
+		 * @param persistenceDirectory the directory holding the snapshot and the log
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder persistenceDirectory(File persistenceDirectory) {
+			Assert.notNull(persistenceDirectory, "Persistence directory must not be null");
+			this.persistenceDirectory = persistenceDirectory;
+			return this;
+		}
+
+		/**
+		 * Sets the size in bytes that the current write-ahead log segment may reach
+		 * before it is compacted into a snapshot in the background. Defaults to
+		 * {@link SimpleVectorStore#DEFAULT_COMPACTION_THRESHOLD}.
+		 * @param compactionThreshold the segment size triggering a compaction
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder compactionThreshold(long compactionThreshold) {
+			Assert.isTrue(compactionThreshold > 0, "Compaction threshold must be positive");
+			this.compactionThreshold = compactionThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the executor that exact searches over large stores are scanned on in
+		 * parallel, for example a {@link java.util.concurrent.ForkJoinPool} or an
+		 * executor starting a virtual thread per task. The stored embeddings are split
+		 * into contiguous ranges that are scored concurrently and whose best matches are
+		 * merged, so results are the same as those of a sequential scan. The calling
+		 * thread scans the ranges whose tasks have not started by the time it has scanned
+		 * its own, so a bounded executor may also run the searches themselves, and a
+		 * saturated or rejecting one degrades to a sequential scan. Defaults to none,
+		 * scanning on the calling thread only.
+		 * @param searchExecutor the executor to scan on
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder searchExecutor(Executor searchExecutor) {
+			Assert.notNull(searchExecutor, "Search executor must not be null");
+			this.searchExecutor = searchExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of ranges a parallel exact search is split into,
+		 * including the one scanned on the calling thread. Only used together with a
+		 * {@link #searchExecutor(Executor) search executor}. Defaults to the number of
+		 * available processors.
+		 * @param searchParallelism the maximum number of concurrently scanned ranges
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder searchParallelism(int searchParallelism) {
+			Assert.isTrue(searchParallelism > 0, "Search parallelism must be positive");
+			this.searchParallelism = searchParallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the codes kept in memory for coarse scoring of exact searches. The float
+		 * embeddings are then moved to a memory-mapped file, which makes the store take a
+		 * quarter or a 32nd of the memory for its embeddings, at the cost of paging in
+		 * the rows of the shortlist. Defaults to {@link QuantizationType#NONE}.
+		 * @param quantizationType the quantization type
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder quantizationType(QuantizationType quantizationType) {
+			Assert.notNull(quantizationType, "QuantizationType must not be null");
+			this.quantizationType = quantizationType;
+			return this;
+		}
+
+		/**
+		 * Sets how many times the top-k of a request are shortlisted by their quantized
+		 * codes and re-scored with the float embeddings. Higher values improve recall at
+		 * the cost of more exact comparisons. Only used together with a
+		 * {@link #quantizationType(QuantizationType) quantization type}. Defaults to
+		 * {@link SimpleVectorStore#DEFAULT_OVERSAMPLING}.
+		 * @param oversampling the factor of at least 1
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder oversampling(double oversampling) {
+			Assert.isTrue(oversampling >= 1, "Oversampling must be at least 1");
+			this.oversampling = oversampling;
+			return this;
+		}
+
 		@Override
 		public SimpleVectorStore build() {
 			return new SimpleVectorStore(this);
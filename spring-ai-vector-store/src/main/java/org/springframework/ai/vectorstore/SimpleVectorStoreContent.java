@@ -126,9 +126,13 @@ public final class SimpleVectorStoreContent implements Content {
 	}
 
 	public Document toDocument(Double score) {
-		var metadata = new HashMap<>(this.metadata);
-		metadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
-		return Document.builder().id(this.id).text(this.text).metadata(metadata).score(score).build();
+		return toDocument(this.id, this.text, this.metadata, score);
+	}
+
+	static Document toDocument(String id, String text, Map<String, Object> metadata, double score) {
+		var documentMetadata = new HashMap<>(metadata);
+		documentMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
+		return Document.builder().id(id).text(text).metadata(documentMetadata).score(score).build();
 	}
 
 	@Override
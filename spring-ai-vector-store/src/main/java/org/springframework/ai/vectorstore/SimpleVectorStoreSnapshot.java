@@ -0,0 +1,526 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Binary snapshot format of a {@link SimpleVectorStore}.
+ * <p>
+ * A snapshot consists of the following blocks, where all offsets are absolute file
+ * positions:
+ * <ol>
+ * <li>a 64 byte header: magic, format version, dimensions and document count as ints,
+ * followed by the offsets of the vector, record, squared norm and code blocks as longs
+ * and the ordinal of the {@link SimpleVectorStore.QuantizationType} of the codes as an
+ * int;
+ * <li>the embeddings as little-endian float32 rows, one per document;
+ * <li>the records, one per document, each holding id, text and metadata in
+ * {@link java.io.DataOutput} encoding;
+ * <li>the squared norms of the embeddings as little-endian float32 values;
+ * <li>the quantized codes of the embeddings, one per document, if the storage keeps any.
+ * The code offset is 0 otherwise.
+ * </ol>
+ * Loading adopts codes of the quantization type of the storage, so that the embeddings
+ * are not read to compute them. Snapshots are written in a single streaming pass over a
+ * {@link SimpleVectorStorage#capture() capture} of the storage, so that the storage lock
+ * is not held while the file is written. The records are spooled to a temporary file, and
+ * the snapshot replaces the target file atomically. Loading maps the vector block through
+ * {@link FileChannel#map} instead of reading it, so that the embeddings are served from
+ * the page cache.
+ */
+final class SimpleVectorStoreSnapshot {
+
+	static final int MAGIC = 0x53565354;
+
+	static final int VERSION = 2;
+
+	private static final int HEADER_BYTES = 64;
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+	private static final byte TYPE_NULL = 0;
+
+	private static final byte TYPE_STRING = 1;
+
+	private static final byte TYPE_INTEGER = 2;
+
+	private static final byte TYPE_LONG = 3;
+
+	private static final byte TYPE_DOUBLE = 4;
+
+	private static final byte TYPE_FLOAT = 5;
+
+	private static final byte TYPE_BOOLEAN = 6;
+
+	private static final byte TYPE_LIST = 7;
+
+	private static final byte TYPE_MAP = 8;
+
+	private static final byte TYPE_JSON = 9;
+
+	private final ObjectMapper objectMapper;
+
+	SimpleVectorStoreSnapshot(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Returns whether the file starts with the snapshot magic.
+	 */
+	static boolean isSnapshot(Path path) throws IOException {
+		if (Files.size(path) < HEADER_BYTES) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			channel.read(magic, 0);
+			return magic.getInt(0) == MAGIC;
+		}
+	}
+
+	void write(SimpleVectorStorage storage, Path path) throws IOException {
+		Path target = path.toAbsolutePath();
+		Path vectorsFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		Path recordsFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".records.tmp");
+		Path codesFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".codes.tmp");
+		try (FileChannel channel = FileChannel.open(vectorsFile, StandardOpenOption.WRITE);
+				CountingOutputStream records = new CountingOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(recordsFile), BUFFER_BYTES));
+				DataOutputStream codes = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(codesFile), BUFFER_BYTES))) {
+			SimpleVectorStorage.SlotTable slots = storage.capture();
+			try {
+				SnapshotWriter writer = new SnapshotWriter(channel, records, codes, slots);
+				slots.forEachSlot(writer::write);
+				writer.finish(recordsFile, codesFile);
+			}
+			finally {
+				slots.release();
+			}
+			channel.force(true);
+			Files.move(vectorsFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			forceDirectory(target.getParent());
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		finally {
+			Files.deleteIfExists(vectorsFile);
+			Files.deleteIfExists(recordsFile);
+			Files.deleteIfExists(codesFile);
+		}
+	}
+
+	/**
+	 * Forces the entries of the directory to disk, so that a file created in or renamed
+	 * into it survives a crash. Windows cannot open a directory as a channel, and its
+	 * renames need no separate flush, so this does nothing there.
+	 */
+	static void forceDirectory(Path directory) throws IOException {
+		if (WINDOWS) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+	}
+
+	void read(Path path, SimpleVectorStorage storage) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) < 0) {
+					throw new IOException("Truncated vector store snapshot: " + path);
+				}
+			}
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a vector store snapshot: " + path);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException("Unsupported vector store snapshot version " + header.getInt(4) + ": " + path);
+			}
+			int dimensions = header.getInt(8);
+			int count = header.getInt(12);
+			long vectorsOffset = header.getLong(16);
+			long recordsOffset = header.getLong(24);
+			long squaredNormsOffset = header.getLong(32);
+			long codesOffset = header.getLong(40);
+			int codesType = header.getInt(48);
+
+			String[] ids = new String[count];
+			String[] texts = new String[count];
+			Map<String, Object>[] metadata = SimpleVectorStorage.newMetadataArray(count);
+			channel.position(recordsOffset);
+			DataInputStream records = new DataInputStream(
+					new BufferedInputStream(Channels.newInputStream(channel), BUFFER_BYTES));
+			for (int i = 0; i < count; i++) {
+				ids[i] = readString(records);
+				texts[i] = readString(records);
+				metadata[i] = SimpleVectorStorage.metadataSnapshot(readMap(records));
+			}
+
+			float[] squaredNorms = new float[count];
+			if (count > 0) {
+				channel.map(FileChannel.MapMode.READ_ONLY, squaredNormsOffset, (long) count * Float.BYTES)
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asFloatBuffer()
+					.get(squaredNorms);
+			}
+			QuantizedVectors codes = null;
+			if (count > 0 && codesOffset != 0 && codesType == storage.quantizationType().ordinal()) {
+				codes = QuantizedVectors.create(storage.quantizationType(), dimensions);
+				codes.ensureCapacity(count);
+				channel.position(codesOffset);
+				DataInputStream codesInput = new DataInputStream(
+						new BufferedInputStream(Channels.newInputStream(channel), BUFFER_BYTES));
+				for (int i = 0; i < count; i++) {
+					codes.readCode(i, codesInput);
+				}
+			}
+			List<FloatBuffer> vectors = mapVectors(channel, vectorsOffset, dimensions, count);
+			storage.restore(ids, texts, metadata, squaredNorms, dimensions, vectors, codes);
+		}
+	}
+
+	/**
+	 * Maps the vector block as chunks of {@link SimpleVectorStorage#slotsPerChunk(int)}
+	 * rows. The last chunk is usually partial; it is copied into a full size buffer so
+	 * that the storage can keep appending rows to it.
+	 */
+	private static List<FloatBuffer> mapVectors(FileChannel channel, long vectorsOffset, int dimensions, int count)
+			throws IOException {
+		List<FloatBuffer> chunks = new ArrayList<>();
+		if (count == 0) {
+			return chunks;
+		}
+		int slotsPerChunk = SimpleVectorStorage.slotsPerChunk(dimensions);
+		long chunkBytes = (long) slotsPerChunk * dimensions * Float.BYTES;
+		for (int first = 0; first < count; first += slotsPerChunk) {
+			int rows = Math.min(slotsPerChunk, count - first);
+			FloatBuffer mapped = channel
+				.map(FileChannel.MapMode.READ_ONLY, vectorsOffset + (long) first * dimensions * Float.BYTES,
+						(long) rows * dimensions * Float.BYTES)
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.asFloatBuffer();
+			if (rows < slotsPerChunk) {
+				FloatBuffer copy = ByteBuffer.allocateDirect((int) chunkBytes)
+					.order(ByteOrder.nativeOrder())
+					.asFloatBuffer();
+				copy.put(0, mapped, 0, mapped.capacity());
+				mapped = copy;
+			}
+			chunks.add(mapped);
+		}
+		return chunks;
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			writeString(out, String.valueOf(entry.getKey()));
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	Map<String, Object> readMap(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 2));
+		for (int i = 0; i < size; i++) {
+			map.put(readString(in), readValue(in));
+		}
+		return map;
+	}
+
+	private void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TYPE_NULL);
+		}
+		else if (value instanceof String string) {
+			out.writeByte(TYPE_STRING);
+			writeString(out, string);
+		}
+		else if (value instanceof Integer integer) {
+			out.writeByte(TYPE_INTEGER);
+			out.writeInt(integer);
+		}
+		else if (value instanceof Long longValue) {
+			out.writeByte(TYPE_LONG);
+			out.writeLong(longValue);
+		}
+		else if (value instanceof Double doubleValue) {
+			out.writeByte(TYPE_DOUBLE);
+			out.writeDouble(doubleValue);
+		}
+		else if (value instanceof Float floatValue) {
+			out.writeByte(TYPE_FLOAT);
+			out.writeFloat(floatValue);
+		}
+		else if (value instanceof Boolean bool) {
+			out.writeByte(TYPE_BOOLEAN);
+			out.writeBoolean(bool);
+		}
+		else if (value instanceof List<?> list) {
+			out.writeByte(TYPE_LIST);
+			out.writeInt(list.size());
+			for (Object element : list) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			out.writeByte(TYPE_MAP);
+			writeMap(out, map);
+		}
+		else {
+			// Other types are stored the way the JSON format stores them.
+			out.writeByte(TYPE_JSON);
+			writeString(out, this.objectMapper.writeValueAsString(value));
+		}
+	}
+
+	private Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case TYPE_NULL:
+				return null;
+			case TYPE_STRING:
+				return readString(in);
+			case TYPE_INTEGER:
+				return in.readInt();
+			case TYPE_LONG:
+				return in.readLong();
+			case TYPE_DOUBLE:
+				return in.readDouble();
+			case TYPE_FLOAT:
+				return in.readFloat();
+			case TYPE_BOOLEAN:
+				return in.readBoolean();
+			case TYPE_LIST: {
+				int size = in.readInt();
+				List<Object> list = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(in));
+				}
+				return list;
+			}
+			case TYPE_MAP:
+				return readMap(in);
+			case TYPE_JSON:
+				return this.objectMapper.readValue(readString(in), Object.class);
+			default:
+				throw new IOException("Unknown metadata value type " + type);
+		}
+	}
+
+	/**
+	 * Streams the vector rows of visited slots into the snapshot file and their records
+	 * and codes into spool files, then assembles the remaining blocks.
+	 */
+	private final class SnapshotWriter {
+
+		private final FileChannel channel;
+
+		private final CountingOutputStream records;
+
+		private final DataOutputStream recordsOutput;
+
+		private final DataOutputStream codesOutput;
+
+		private final SimpleVectorStorage.SlotTable slots;
+
+		private final int dimensions;
+
+		private final float[] row;
+
+		private final ByteBuffer buffer;
+
+		private float[] squaredNorms = new float[1024];
+
+		private int count;
+
+		SnapshotWriter(FileChannel channel, CountingOutputStream records, DataOutputStream codesOutput,
+				SimpleVectorStorage.SlotTable slots) throws IOException {
+			int dimensions = slots.dimensions();
+			this.channel = channel;
+			this.records = records;
+			this.recordsOutput = new DataOutputStream(records);
+			this.codesOutput = codesOutput;
+			this.slots = slots;
+			this.dimensions = dimensions;
+			this.row = new float[dimensions];
+			this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, dimensions * Float.BYTES))
+				.order(ByteOrder.LITTLE_ENDIAN);
+			channel.position(HEADER_BYTES);
+		}
+
+		void write(int slot) {
+			SimpleVectorStorage.SlotTable slots = this.slots;
+			try {
+				if (this.count == this.squaredNorms.length) {
+					this.squaredNorms = Arrays.copyOf(this.squaredNorms, this.count * 2);
+				}
+				slots.vector(slot, this.row);
+				if (this.buffer.remaining() < this.row.length * Float.BYTES) {
+					flush();
+				}
+				for (float value : this.row) {
+					this.buffer.putFloat(value);
+				}
+				this.squaredNorms[this.count] = slots.squaredNorm(slot);
+				this.count++;
+				writeString(this.recordsOutput, slots.id(slot));
+				writeString(this.recordsOutput, slots.text(slot));
+				writeMap(this.recordsOutput, slots.metadata(slot));
+				if (slots.codes() != null) {
+					slots.codes().writeCode(slot, this.codesOutput);
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		void finish(Path recordsFile, Path codesFile) throws IOException {
+			flush();
+			this.recordsOutput.flush();
+			this.codesOutput.flush();
+			long recordsOffset = this.channel.position();
+			transfer(recordsFile);
+			long squaredNormsOffset = recordsOffset + this.records.count;
+			this.channel.position(squaredNormsOffset);
+			for (int i = 0; i < this.count; i++) {
+				if (!this.buffer.hasRemaining()) {
+					flush();
+				}
+				this.buffer.putFloat(this.squaredNorms[i]);
+			}
+			flush();
+			QuantizedVectors codes = this.slots.codes();
+			long codesOffset = 0;
+			if (codes != null) {
+				codesOffset = this.channel.position();
+				transfer(codesFile);
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC)
+				.putInt(VERSION)
+				.putInt(this.dimensions)
+				.putInt(this.count)
+				.putLong(HEADER_BYTES)
+				.putLong(recordsOffset)
+				.putLong(squaredNormsOffset)
+				.putLong(codesOffset)
+				.putInt((codes != null) ? codes.type().ordinal() : 0);
+			header.clear();
+			this.channel.write(header, 0);
+		}
+
+		private void transfer(Path spoolFile) throws IOException {
+			try (FileChannel spool = FileChannel.open(spoolFile, StandardOpenOption.READ)) {
+				long size = spool.size();
+				long position = this.channel.position();
+				for (long transferred = 0; transferred < size;) {
+					transferred += spool.transferTo(transferred, size - transferred, this.channel);
+				}
+				this.channel.position(position + size);
+			}
+		}
+
+		private void flush() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+	}
+
+	/**
+	 * Counts the bytes written to the records spool, which may exceed the int range of
+	 * {@link DataOutputStream#size()}.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+			this.count += len;
+		}
+
+	}
+
+}
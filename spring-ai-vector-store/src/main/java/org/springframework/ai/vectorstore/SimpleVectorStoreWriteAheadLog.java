@@ -0,0 +1,530 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+
+/**
+ * Write-ahead log that makes the mutations of a {@link SimpleVectorStore} durable.
+ * <p>
+ * The persistence directory holds a binary snapshot (see
+ * {@link SimpleVectorStoreSnapshot}) and a sequence of numbered log segments. Every add
+ * or delete is validated, appended to the current segment as a checksummed record and
+ * forced to disk before it is applied to the storage. Concurrent writers share fsyncs
+ * through group commit: the first writer to wait for durability flushes and forces the
+ * records of all writers queued behind it in one go. Records are applied in the order of
+ * the log, so that the live storage always matches a replay of the log.
+ * <p>
+ * Once the current segment grows beyond the compaction threshold, a background thread
+ * rotates to a new segment, writes a fresh snapshot and deletes the segments it covers.
+ * Records are idempotent upserts and deletes, so replaying a segment over a snapshot that
+ * already contains its effects yields the same state. On startup the snapshot is loaded
+ * and all remaining segments are replayed in order, each up to its first torn or corrupt
+ * record.
+ */
+final class SimpleVectorStoreWriteAheadLog implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStoreWriteAheadLog.class);
+
+	static final String SNAPSHOT_FILE_NAME = "snapshot.bin";
+
+	private static final String SEGMENT_PREFIX = "wal-";
+
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("wal-\\d{20}\\.log");
+
+	private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+	private static final byte ADD = 1;
+
+	private static final byte DELETE = 2;
+
+	private final Path directory;
+
+	private final SimpleVectorStoreSnapshot codec;
+
+	private final SimpleVectorStorage storage;
+
+	private final long compactionThreshold;
+
+	/**
+	 * Mutations hold the read lock while they are logged and applied; rotation takes the
+	 * write lock so that a snapshot never misses a record of a covered segment.
+	 */
+	private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+	private final Object commitMonitor = new Object();
+
+	private final Object applyMonitor = new Object();
+
+	private final Object compactionMonitor = new Object();
+
+	private final ExecutorService compactionExecutor;
+
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+	@Nullable
+	private FileChannel segment;
+
+	private long segmentNumber;
+
+	private long segmentBytes;
+
+	private long appendedSequence;
+
+	private long durableSequence;
+
+	/**
+	 * Sequence of the last record whose mutation was applied or abandoned, guarded by the
+	 * apply monitor.
+	 */
+	private long appliedSequence;
+
+	private boolean flushing;
+
+	private boolean compactionScheduled;
+
+	@Nullable
+	private IOException failure;
+
+	SimpleVectorStoreWriteAheadLog(Path directory, SimpleVectorStoreSnapshot codec, SimpleVectorStorage storage,
+			long compactionThreshold) {
+		this.directory = directory;
+		this.codec = codec;
+		this.storage = storage;
+		this.compactionThreshold = compactionThreshold;
+		this.compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "simple-vector-store-compaction");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Restores the storage from the snapshot and the log segments, and opens a new
+	 * segment for subsequent mutations.
+	 */
+	void recover() throws IOException {
+		Files.createDirectories(this.directory);
+		Path snapshot = this.directory.resolve(SNAPSHOT_FILE_NAME);
+		if (Files.exists(snapshot)) {
+			this.codec.read(snapshot, this.storage);
+		}
+		long lastSegment = 0;
+		int records = 0;
+		for (Path segmentFile : segments()) {
+			records += replay(segmentFile);
+			lastSegment = segmentNumber(segmentFile);
+		}
+		logger.info("Recovered {} documents from {} with {} log records replayed", this.storage.size(), this.directory,
+				records);
+		synchronized (this.commitMonitor) {
+			openSegment(lastSegment + 1);
+		}
+	}
+
+	/**
+	 * Logs the documents with their embeddings and, once the record is durable, applies
+	 * the mutation.
+	 */
+	void add(List<Document> documents, List<float[]> embeddings, Runnable apply) throws IOException {
+		validateDimensions(embeddings);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(ADD);
+		out.writeInt(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			float[] embedding = embeddings.get(i);
+			SimpleVectorStoreSnapshot.writeString(out, document.getId());
+			SimpleVectorStoreSnapshot.writeString(out, document.getText());
+			this.codec.writeMap(out, document.getMetadata());
+			out.writeInt(embedding.length);
+			for (float value : embedding) {
+				out.writeFloat(value);
+			}
+		}
+		log(bytes.toByteArray(), apply);
+	}
+
+	/**
+	 * Logs the deletion of the documents and, once the record is durable, applies the
+	 * mutation.
+	 */
+	void delete(List<String> ids, Runnable apply) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(DELETE);
+		out.writeInt(ids.size());
+		for (String id : ids) {
+			SimpleVectorStoreSnapshot.writeString(out, id);
+		}
+		log(bytes.toByteArray(), apply);
+	}
+
+	/**
+	 * Writes a snapshot of the storage and deletes the log segments it covers.
+	 */
+	void compact() throws IOException {
+		synchronized (this.compactionMonitor) {
+			long coveredSegment;
+			this.mutationLock.writeLock().lock();
+			try {
+				synchronized (this.commitMonitor) {
+					coveredSegment = this.segmentNumber;
+					closeSegment();
+					openSegment(coveredSegment + 1);
+				}
+			}
+			finally {
+				this.mutationLock.writeLock().unlock();
+			}
+			this.codec.write(this.storage, this.directory.resolve(SNAPSHOT_FILE_NAME));
+			SimpleVectorStoreSnapshot.forceDirectory(this.directory);
+			for (Path segmentFile : segments()) {
+				if (segmentNumber(segmentFile) <= coveredSegment) {
+					Files.delete(segmentFile);
+				}
+			}
+			logger.debug("Compacted vector store log segments up to {} into a snapshot", coveredSegment);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.compactionExecutor.shutdown();
+		try {
+			this.compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this.commitMonitor) {
+			closeSegment();
+			this.segment = null;
+		}
+	}
+
+	private void log(byte[] payload, Runnable apply) throws IOException {
+		CRC32 checksum = new CRC32();
+		checksum.update(payload);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+		record.putInt(payload.length).putInt((int) checksum.getValue()).put(payload);
+
+		this.mutationLock.readLock().lock();
+		try {
+			long sequence;
+			synchronized (this.commitMonitor) {
+				ensureWritable();
+				this.pending.writeBytes(record.array());
+				sequence = ++this.appendedSequence;
+			}
+			try {
+				awaitDurable(sequence);
+			}
+			catch (IOException | RuntimeException ex) {
+				applyInOrder(sequence, () -> {
+				});
+				throw ex;
+			}
+			applyInOrder(sequence, apply);
+		}
+		finally {
+			this.mutationLock.readLock().unlock();
+		}
+		scheduleCompactionIfNeeded();
+	}
+
+	/**
+	 * Rejects embeddings that the storage would reject when the record is applied. A
+	 * record is durable before it is applied, so a record failing to apply would
+	 * otherwise fail every recovery.
+	 */
+	private void validateDimensions(List<float[]> embeddings) {
+		int dimensions = this.storage.dimensions();
+		for (float[] embedding : embeddings) {
+			if (dimensions == 0) {
+				dimensions = embedding.length;
+			}
+			else if (embedding.length != dimensions) {
+				throw new IllegalArgumentException("Embedding dimensions " + embedding.length
+						+ " do not match the store dimensions " + dimensions);
+			}
+		}
+	}
+
+	/**
+	 * Runs the mutation of the record with the given sequence once the mutations of all
+	 * earlier records have run. A writer whose record could not be made durable passes an
+	 * empty mutation so that later writers are not held up.
+	 */
+	private void applyInOrder(long sequence, Runnable apply) {
+		boolean interrupted = false;
+		synchronized (this.applyMonitor) {
+			while (this.appliedSequence < sequence - 1) {
+				try {
+					this.applyMonitor.wait();
+				}
+				catch (InterruptedException ex) {
+					// Giving up the turn would stall every later writer.
+					interrupted = true;
+				}
+			}
+		}
+		try {
+			apply.run();
+		}
+		finally {
+			synchronized (this.applyMonitor) {
+				this.appliedSequence = sequence;
+				this.applyMonitor.notifyAll();
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Waits until the record with the given sequence is durable. If no flush is in
+	 * progress, the caller becomes the leader and flushes every pending record.
+	 */
+	private void awaitDurable(long sequence) throws IOException {
+		byte[] batch;
+		long batchSequence;
+		FileChannel channel;
+		synchronized (this.commitMonitor) {
+			while (this.durableSequence < sequence && this.flushing) {
+				try {
+					this.commitMonitor.wait();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for the write-ahead log");
+				}
+			}
+			if (this.durableSequence >= sequence) {
+				return;
+			}
+			ensureWritable();
+			this.flushing = true;
+			batch = this.pending.toByteArray();
+			this.pending.reset();
+			batchSequence = this.appendedSequence;
+			channel = this.segment;
+		}
+		IOException flushFailure = null;
+		try {
+			write(channel, batch);
+		}
+		catch (IOException ex) {
+			flushFailure = ex;
+		}
+		synchronized (this.commitMonitor) {
+			this.flushing = false;
+			if (flushFailure == null) {
+				this.durableSequence = batchSequence;
+				this.segmentBytes += batch.length;
+			}
+			else {
+				// The fate of the batch on disk is unknown, so stop accepting writes.
+				this.failure = flushFailure;
+			}
+			this.commitMonitor.notifyAll();
+		}
+		if (flushFailure != null) {
+			throw flushFailure;
+		}
+	}
+
+	private void scheduleCompactionIfNeeded() {
+		synchronized (this.commitMonitor) {
+			if (this.compactionScheduled || this.segmentBytes < this.compactionThreshold) {
+				return;
+			}
+			this.compactionScheduled = true;
+		}
+		this.compactionExecutor.execute(() -> {
+			try {
+				compact();
+			}
+			catch (IOException | RuntimeException ex) {
+				logger.error("Failed to compact the vector store write-ahead log", ex);
+			}
+			finally {
+				synchronized (this.commitMonitor) {
+					this.compactionScheduled = false;
+				}
+			}
+		});
+	}
+
+	private void ensureWritable() throws IOException {
+		if (this.failure != null) {
+			throw new IOException("The write-ahead log failed earlier and no longer accepts writes", this.failure);
+		}
+		if (this.segment == null) {
+			throw new IOException("The write-ahead log is closed");
+		}
+	}
+
+	/**
+	 * Must be called while holding the commit monitor.
+	 */
+	private void openSegment(long number) throws IOException {
+		this.segment = FileChannel.open(segmentFile(number), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		SimpleVectorStoreSnapshot.forceDirectory(this.directory);
+		this.segmentNumber = number;
+		this.segmentBytes = 0;
+	}
+
+	/**
+	 * Flushes the records still pending and closes the current segment. Must be called
+	 * while holding the commit monitor.
+	 */
+	private void closeSegment() throws IOException {
+		while (this.flushing) {
+			try {
+				this.commitMonitor.wait();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the write-ahead log");
+			}
+		}
+		if (this.segment == null) {
+			return;
+		}
+		if (this.pending.size() > 0 && this.failure == null) {
+			write(this.segment, this.pending.toByteArray());
+			this.pending.reset();
+			this.durableSequence = this.appendedSequence;
+			this.commitMonitor.notifyAll();
+		}
+		this.segment.close();
+	}
+
+	private int replay(Path segmentFile) throws IOException {
+		byte[] bytes = Files.readAllBytes(segmentFile);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int records = 0;
+		while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+			int length = buffer.getInt();
+			int expectedChecksum = buffer.getInt();
+			if (length < 0 || length > buffer.remaining()) {
+				break;
+			}
+			CRC32 checksum = new CRC32();
+			checksum.update(bytes, buffer.position(), length);
+			if ((int) checksum.getValue() != expectedChecksum) {
+				break;
+			}
+			try {
+				apply(new DataInputStream(new ByteArrayInputStream(bytes, buffer.position(), length)));
+			}
+			catch (IllegalArgumentException ex) {
+				// The mutation failed the same way when it was first applied.
+				logger.warn("Skipping the rest of a write-ahead log record of {} that cannot be applied: {}",
+						segmentFile, ex.getMessage());
+			}
+			buffer.position(buffer.position() + length);
+			records++;
+		}
+		if (buffer.hasRemaining()) {
+			logger.warn("Ignoring {} bytes after the last intact record of {}", buffer.remaining(), segmentFile);
+		}
+		return records;
+	}
+
+	private void apply(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String id = SimpleVectorStoreSnapshot.readString(in);
+			if (type == DELETE) {
+				this.storage.remove(id);
+				continue;
+			}
+			if (type != ADD) {
+				throw new IOException("Unknown write-ahead log record type " + type);
+			}
+			String text = SimpleVectorStoreSnapshot.readString(in);
+			Map<String, Object> metadata = this.codec.readMap(in);
+			float[] embedding = new float[in.readInt()];
+			for (int j = 0; j < embedding.length; j++) {
+				embedding[j] = in.readFloat();
+			}
+			this.storage.put(id, text, metadata, embedding);
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(this.directory)) {
+			List<Path> segments = new ArrayList<>(
+					files.filter(file -> SEGMENT_FILE_NAME.matcher(file.getFileName().toString()).matches()).toList());
+			segments.sort((x, y) -> Long.compare(segmentNumber(x), segmentNumber(y)));
+			return segments;
+		}
+	}
+
+	private Path segmentFile(long number) {
+		return this.directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+	}
+
+	private static long segmentNumber(Path segmentFile) {
+		String name = segmentFile.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static void write(FileChannel channel, byte[] bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		channel.force(false);
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * Selects the {@code k} best scored slots out of a stream of (slot, score) pairs.
+ * <p>
+ * The selection is a bounded min-heap over primitive arrays with the worst retained pair
+ * at its root, so offering a pair costs no allocation and {@code O(log k)} time at most.
+ * Pairs scoring below the similarity threshold, or below the worst retained pair once
+ * {@code k} pairs are retained, are rejected with a single comparison. Pairs with equal
+ * scores are ranked by ascending slot, which makes the selection independent of the order
+ * in which pairs are offered.
+ */
+final class TopKSelector {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int k;
+
+	private final double threshold;
+
+	private double[] scores;
+
+	private int[] slots;
+
+	private int size;
+
+	TopKSelector(int k, double threshold) {
+		Assert.isTrue(k >= 0, "k must not be negative");
+		this.k = k;
+		this.threshold = threshold;
+		this.scores = new double[Math.min(k, INITIAL_CAPACITY)];
+		this.slots = new int[this.scores.length];
+	}
+
+	/**
+	 * Offers a scored slot.
+	 * @return whether the slot is retained, for now
+	 */
+	boolean offer(int slot, double score) {
+		if (score < this.threshold || this.k == 0) {
+			return false;
+		}
+		if (this.size < this.k) {
+			if (this.size == this.scores.length) {
+				int capacity = (int) Math.min(this.k, this.scores.length * 2L);
+				this.scores = Arrays.copyOf(this.scores, capacity);
+				this.slots = Arrays.copyOf(this.slots, capacity);
+			}
+			this.scores[this.size] = score;
+			this.slots[this.size] = slot;
+			siftUp(this.size++);
+			return true;
+		}
+		if (!worse(this.scores[0], this.slots[0], score, slot)) {
+			return false;
+		}
+		this.scores[0] = score;
+		this.slots[0] = slot;
+		siftDown(0);
+		return true;
+	}
+
+	/**
+	 * Offers every pair retained by another selector.
+	 */
+	void addAll(TopKSelector other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.slots[i], other.scores[i]);
+		}
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Passes the retained pairs to the consumer from best to worst and empties the
+	 * selector.
+	 */
+	void drainDescending(ScoredSlotConsumer consumer) {
+		int count = this.size;
+		double[] rankedScores = new double[count];
+		int[] rankedSlots = new int[count];
+		for (int rank = count - 1; rank >= 0; rank--) {
+			rankedScores[rank] = this.scores[0];
+			rankedSlots[rank] = this.slots[0];
+			this.size--;
+			this.scores[0] = this.scores[this.size];
+			this.slots[0] = this.slots[this.size];
+			siftDown(0);
+		}
+		for (int rank = 0; rank < count; rank++) {
+			consumer.accept(rankedSlots[rank], rankedScores[rank]);
+		}
+	}
+
+	private void siftUp(int index) {
+		double score = this.scores[index];
+		int slot = this.slots[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!worse(score, slot, this.scores[parent], this.slots[parent])) {
+				break;
+			}
+			this.scores[index] = this.scores[parent];
+			this.slots[index] = this.slots[parent];
+			index = parent;
+		}
+		this.scores[index] = score;
+		this.slots[index] = slot;
+	}
+
+	private void siftDown(int index) {
+		if (index >= this.size) {
+			return;
+		}
+		double score = this.scores[index];
+		int slot = this.slots[index];
+		int half = this.size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if (right < this.size
+					&& worse(this.scores[right], this.slots[right], this.scores[child], this.slots[child])) {
+				child = right;
+			}
+			if (!worse(this.scores[child], this.slots[child], score, slot)) {
+				break;
+			}
+			this.scores[index] = this.scores[child];
+			this.slots[index] = this.slots[child];
+			index = child;
+		}
+		this.scores[index] = score;
+		this.slots[index] = slot;
+	}
+
+	private static boolean worse(double score, int slot, double otherScore, int otherSlot) {
+		return (score < otherScore) || (score == otherScore && slot > otherSlot);
+	}
+
+	@FunctionalInterface
+	interface ScoredSlotConsumer {
+
+		void accept(int slot, double score);
+
+	}
+
+}
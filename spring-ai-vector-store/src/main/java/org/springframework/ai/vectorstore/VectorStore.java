@@ -16,6 +16,8 @@
 
 package org.springframework.ai.vectorstore;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +53,24 @@ public interface VectorStore extends DocumentWriter {
 	 */
 	void add(List<Document> documents);
 
+	/**
+	 * Adds the {@link Document}s of a source that may be too large to hold in memory,
+	 * such as {@code Stream#iterator()} or {@code Flux#toIterable()}. Documents are read
+	 * and added one batch at a time. The default implementation adds consecutive windows
+	 * of {@link BatchingStrategy#DEFAULT_WINDOW_SIZE} documents.
+	 * @param documents the source of documents to store.
+	 */
+	default void addAll(Iterator<Document> documents) {
+		Assert.notNull(documents, "Documents must not be null");
+		while (documents.hasNext()) {
+			List<Document> window = new ArrayList<>();
+			while (window.size() < BatchingStrategy.DEFAULT_WINDOW_SIZE && documents.hasNext()) {
+				window.add(documents.next());
+			}
+			add(window);
+		}
+	}
+
 	@Override
 	default void accept(List<Document> documents) {
 		add(documents);
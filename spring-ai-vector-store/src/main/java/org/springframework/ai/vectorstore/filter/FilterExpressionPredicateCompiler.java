@@ -0,0 +1,280 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.vectorstore.filter.Filter.ExpressionType;
+import org.springframework.util.Assert;
+
+/**
+ * Compiles a {@link Filter.Expression} into a {@link Predicate} over a document metadata
+ * map, for vector stores that evaluate filters in memory.
+ * <p>
+ * The expression tree is translated once into a tree of plain Java predicates, so that
+ * evaluating a document neither parses nor interprets the expression. Numbers are
+ * compared by value regardless of their boxed type, {@link Date} values and ISO-8601 date
+ * strings are compared in their {@code yyyy-MM-dd'T'HH:mm:ss'Z'} UTC form, and
+ * {@code IN}/{@code NIN} lists are looked up in a {@link HashSet}. As with the SpEL
+ * expressions of
+ * {@link org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter},
+ * a missing key orders before any value, so {@code LT} and {@code LTE} match documents
+ * without the key, while {@code GT} and {@code GTE} do not. An ordering comparison
+ * against a value of an incompatible type, which SpEL fails to evaluate, does not match.
+ * Compiled predicates are cached per expression.
+ *
+ * @since 1.0.0
+ */
+public class FilterExpressionPredicateCompiler {
+
+	private static final int DEFAULT_CACHE_SIZE = 256;
+
+	private static final Pattern DATE_FORMAT_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z");
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+		.withZone(ZoneOffset.UTC);
+
+	private final Map<Filter.Expression, Predicate<Map<String, Object>>> cache;
+
+	public FilterExpressionPredicateCompiler() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a compiler that caches the predicates of the given number of most recently
+	 * used expressions.
+	 * @param cacheSize the maximum number of cached predicates
+	 */
+	public FilterExpressionPredicateCompiler(int cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "Cache size must not be negative");
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Filter.Expression, Predicate<Map<String, Object>>> eldest) {
+				return size() > cacheSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the predicate for the given expression, compiling it on first use.
+	 * @param expression the filter expression
+	 * @return a predicate testing a document metadata map against the expression
+	 */
+	public Predicate<Map<String, Object>> compile(Filter.Expression expression) {
+		Assert.notNull(expression, "Filter expression must not be null");
+		synchronized (this.cache) {
+			Predicate<Map<String, Object>> predicate = this.cache.get(expression);
+			if (predicate != null) {
+				return predicate;
+			}
+		}
+		Predicate<Map<String, Object>> predicate = compileOperand(expression);
+		synchronized (this.cache) {
+			this.cache.put(expression, predicate);
+		}
+		return predicate;
+	}
+
+	/**
+	 * Returns the representation under which compiled predicates match a metadata value
+	 * for equality: numbers equal by value map to the same boxed instance type and
+	 * {@link Date} values map to their formatted UTC string. In-memory indexes can key
+	 * their postings by this value to agree with the predicates.
+	 * @param value the metadata value
+	 * @return the canonical value
+	 */
+	public static Object canonicalValue(Object value) {
+		return canonical(normalizeMetadataValue(value));
+	}
+
+	private Predicate<Map<String, Object>> compileOperand(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return compileOperand(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			throw new IllegalArgumentException("Unsupported filter operand: " + operand);
+		}
+		if (expression.type() == ExpressionType.NOT) {
+			return compileOperand(FilterHelper.negate(expression));
+		}
+		if (expression.type() == ExpressionType.AND || expression.type() == ExpressionType.OR) {
+			Predicate<Map<String, Object>> left = compileOperand(expression.left());
+			Predicate<Map<String, Object>> right = compileOperand(expression.right());
+			return (expression.type() == ExpressionType.AND) ? metadata -> left.test(metadata) && right.test(metadata)
+					: metadata -> left.test(metadata) || right.test(metadata);
+		}
+		if (!(expression.left() instanceof Filter.Key key)) {
+			throw new RuntimeException("Non AND/OR expression must have Key left argument!");
+		}
+		if (!(expression.right() instanceof Filter.Value value)) {
+			throw new RuntimeException("Non AND/OR expression must have Value right argument!");
+		}
+		return compileComparison(expression.type(), identifier(key), value.value());
+	}
+
+	private Predicate<Map<String, Object>> compileComparison(ExpressionType type, String key, Object value) {
+		return switch (type) {
+			case EQ -> {
+				Object expected = normalizeFilterValue(value);
+				yield metadata -> valueEquals(normalizeMetadataValue(metadata.get(key)), expected);
+			}
+			case NE -> {
+				Object expected = normalizeFilterValue(value);
+				yield metadata -> !valueEquals(normalizeMetadataValue(metadata.get(key)), expected);
+			}
+			case GT -> compileOrdering(key, value, order -> order > 0);
+			case GTE -> compileOrdering(key, value, order -> order >= 0);
+			case LT -> compileOrdering(key, value, order -> order < 0);
+			case LTE -> compileOrdering(key, value, order -> order <= 0);
+			case IN -> {
+				Set<Object> values = valueSet(value);
+				yield metadata -> values.contains(canonical(normalizeMetadataValue(metadata.get(key))));
+			}
+			case NIN -> {
+				Set<Object> values = valueSet(value);
+				yield metadata -> !values.contains(canonical(normalizeMetadataValue(metadata.get(key))));
+			}
+			default -> throw new RuntimeException("Not supported expression type: " + type);
+		};
+	}
+
+	private Predicate<Map<String, Object>> compileOrdering(String key, Object value, OrderTest test) {
+		Object bound = normalizeFilterValue(value);
+		return metadata -> {
+			Object actual = normalizeMetadataValue(metadata.get(key));
+			if (actual == null || bound == null) {
+				// null orders before any value, as in SpEL
+				return test.matches((actual == bound) ? 0 : (actual == null) ? -1 : 1);
+			}
+			Integer order = compare(actual, bound);
+			return order != null && test.matches(order);
+		};
+	}
+
+	private Set<Object> valueSet(Object value) {
+		List<?> list = (value instanceof List<?> values) ? values : List.of(value);
+		Set<Object> set = new HashSet<>(list.size() * 2);
+		for (Object element : list) {
+			set.add(canonical(normalizeFilterValue(element)));
+		}
+		return set;
+	}
+
+	private String identifier(Filter.Key key) {
+		String identifier = key.key().trim();
+		boolean quoted = identifier.length() > 1 && ((identifier.startsWith("\"") && identifier.endsWith("\""))
+				|| (identifier.startsWith("'") && identifier.endsWith("'")));
+		return quoted ? identifier.substring(1, identifier.length() - 1) : key.key();
+	}
+
+	private static Object normalizeFilterValue(Object value) {
+		if (value instanceof String text && DATE_FORMAT_PATTERN.matcher(text).matches()) {
+			try {
+				return DATE_FORMATTER.format(Instant.parse(text));
+			}
+			catch (DateTimeParseException e) {
+				throw new IllegalArgumentException("Invalid date type:" + text, e);
+			}
+		}
+		return normalizeMetadataValue(value);
+	}
+
+	private static Object normalizeMetadataValue(Object value) {
+		if (value instanceof Date date) {
+			return DATE_FORMATTER.format(date.toInstant());
+		}
+		return value;
+	}
+
+	private static boolean valueEquals(Object actual, Object expected) {
+		if (actual == null || expected == null) {
+			return actual == expected;
+		}
+		if (actual instanceof Number actualNumber && expected instanceof Number expectedNumber) {
+			return compareNumbers(actualNumber, expectedNumber) == 0;
+		}
+		return actual.equals(expected);
+	}
+
+	private static Integer compare(Object actual, Object bound) {
+		if (actual instanceof Number actualNumber && bound instanceof Number boundNumber) {
+			return compareNumbers(actualNumber, boundNumber);
+		}
+		if (actual instanceof String actualText && bound instanceof String boundText) {
+			return actualText.compareTo(boundText);
+		}
+		if (actual instanceof Boolean actualBoolean && bound instanceof Boolean boundBoolean) {
+			return actualBoolean.compareTo(boundBoolean);
+		}
+		return null;
+	}
+
+	private static int compareNumbers(Number x, Number y) {
+		if (isIntegral(x) && isIntegral(y)) {
+			return Long.compare(x.longValue(), y.longValue());
+		}
+		if (x instanceof BigDecimal || y instanceof BigDecimal || x instanceof BigInteger || y instanceof BigInteger) {
+			return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+		}
+		return Double.compare(x.doubleValue(), y.doubleValue());
+	}
+
+	/**
+	 * Maps numbers that are equal by value onto the same boxed representation, so that
+	 * they hash identically in value sets.
+	 */
+	private static Object canonical(Object value) {
+		if (!(value instanceof Number number)) {
+			return value;
+		}
+		if (isIntegral(number)) {
+			return number.longValue();
+		}
+		double doubleValue = number.doubleValue();
+		if (doubleValue == Math.rint(doubleValue) && Math.abs(doubleValue) < 0x1p63) {
+			return (long) doubleValue;
+		}
+		return doubleValue;
+	}
+
+	private static boolean isIntegral(Number number) {
+		return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+	}
+
+	@FunctionalInterface
+	private interface OrderTest {
+
+		boolean matches(int order);
+
+	}
+
+}
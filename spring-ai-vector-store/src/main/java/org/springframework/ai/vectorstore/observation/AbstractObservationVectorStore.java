@@ -16,7 +16,10 @@
 
 package org.springframework.ai.vectorstore.observation;
 
+import java.util.AbstractList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import io.micrometer.observation.ObservationRegistry;
 
@@ -48,6 +51,10 @@ public abstract class AbstractObservationVectorStore implements VectorStore {
 
 	protected final EmbeddingModel embeddingModel;
 
+	/**
+	 * The configured {@link BatchingStrategy}. It keeps the batches of
+	 * {@link #addAll(Iterator)} as they are, as they were already sized by the strategy.
+	 */
 	protected final BatchingStrategy batchingStrategy;
 
 	private AbstractObservationVectorStore(EmbeddingModel embeddingModel, ObservationRegistry observationRegistry,
@@ -55,7 +62,7 @@ public abstract class AbstractObservationVectorStore implements VectorStore {
 		this.embeddingModel = embeddingModel;
 		this.observationRegistry = observationRegistry;
 		this.customObservationConvention = customObservationConvention;
-		this.batchingStrategy = batchingStrategy;
+		this.batchingStrategy = new PresizedBatchingStrategy(batchingStrategy);
 	}
 
 	/**
@@ -85,6 +92,21 @@ public abstract class AbstractObservationVectorStore implements VectorStore {
 			.observe(() -> this.doAdd(documents));
 	}
 
+	/**
+	 * Adds the documents one batch of the {@link BatchingStrategy} at a time, so at most
+	 * one batch of the source is held in memory. The batches are passed on to
+	 * {@link #doAdd(List)} such that the {@link #batchingStrategy} does not split them
+	 * again.
+	 * @param documents the source of documents to add
+	 */
+	@Override
+	public void addAll(Iterator<Document> documents) {
+		Iterator<List<Document>> batches = this.batchingStrategy.batch(documents);
+		while (batches.hasNext()) {
+			add(new PresizedBatch(batches.next()));
+		}
+	}
+
 	@Override
 	public void delete(List<String> deleteDocIds) {
 
@@ -167,4 +189,51 @@ public abstract class AbstractObservationVectorStore implements VectorStore {
 	 */
 	public abstract VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName);
 
+	/**
+	 * A batch already sized by the {@link BatchingStrategy}.
+	 */
+	private static final class PresizedBatch extends AbstractList<Document> implements RandomAccess {
+
+		private final List<Document> documents;
+
+		PresizedBatch(List<Document> documents) {
+			this.documents = documents;
+		}
+
+		@Override
+		public Document get(int index) {
+			return this.documents.get(index);
+		}
+
+		@Override
+		public int size() {
+			return this.documents.size();
+		}
+
+	}
+
+	/**
+	 * Batches documents with the configured strategy, except for batches it has already
+	 * sized, which are embedded as they are instead of being estimated again.
+	 */
+	private static final class PresizedBatchingStrategy implements BatchingStrategy {
+
+		private final BatchingStrategy delegate;
+
+		PresizedBatchingStrategy(BatchingStrategy delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public List<List<Document>> batch(List<Document> documents) {
+			return (documents instanceof PresizedBatch) ? List.of(documents) : this.delegate.batch(documents);
+		}
+
+		@Override
+		public Iterator<List<Document>> batch(Iterator<Document> documents) {
+			return this.delegate.batch(documents);
+		}
+
+	}
+
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTests {
+
+	private static final int DIMENSIONS = 32;
+
+	private final Random random = new Random(1);
+
+	private SimpleVectorStorage storage;
+
+	private HnswIndex index;
+
+	@BeforeEach
+	void setUp() {
+		this.storage = new SimpleVectorStorage(SimpleVectorStore.StorageType.HEAP);
+		this.index = new HnswIndex(this.storage, 16, 64, 40);
+	}
+
+	@Test
+	void shouldReturnEmptyResultsForEmptyIndex() {
+		assertThat(this.index.search(randomVector(), 10, id -> true)).isEmpty();
+	}
+
+	@Test
+	void shouldFindExactMatchFirst() {
+		float[][] vectors = addRandomVectors(500);
+
+		List<HnswIndex.ScoredId> results = this.index.search(vectors[42], 5, id -> true);
+
+		assertThat(results).hasSize(5);
+		assertThat(results.get(0).id()).isEqualTo("42");
+		assertThat(results.get(0).score()).isCloseTo(1.0, within(1e-5));
+		assertThat(results).isSortedAccordingTo(Comparator.comparingDouble(HnswIndex.ScoredId::score).reversed());
+	}
+
+	@Test
+	void shouldApproximateExactSearch() {
+		float[][] vectors = addRandomVectors(2000);
+
+		int hits = 0;
+		int queries = 50;
+		for (int q = 0; q < queries; q++) {
+			float[] query = randomVector();
+			Set<String> expected = exactTopK(vectors, query, 10);
+			hits += (int) this.index.search(query, 10, id -> true)
+				.stream()
+				.filter(result -> expected.contains(result.id()))
+				.count();
+		}
+
+		assertThat(hits / (double) (queries * 10)).isGreaterThan(0.9);
+	}
+
+	@Test
+	void shouldNotReturnRemovedVectors() {
+		float[][] vectors = addRandomVectors(200);
+
+		remove("7");
+
+		assertThat(this.index.size()).isEqualTo(199);
+		assertThat(this.index.search(vectors[7], 10, id -> true)).extracting(HnswIndex.ScoredId::id)
+			.doesNotContain("7");
+	}
+
+	@Test
+	void shouldRebuildAfterRemovingMostVectors() {
+		float[][] vectors = addRandomVectors(300);
+
+		for (int i = 0; i < 250; i++) {
+			remove(String.valueOf(i));
+		}
+
+		assertThat(this.index.size()).isEqualTo(50);
+		assertThat(this.index.search(vectors[260], 1, id -> true)).extracting(HnswIndex.ScoredId::id)
+			.containsExactly("260");
+	}
+
+	@Test
+	void shouldReplaceVectorWithSameId() {
+		float[] first = randomVector();
+		float[] second = randomVector();
+		add("1", first);
+		add("1", second);
+
+		List<HnswIndex.ScoredId> results = this.index.search(second, 10, id -> true);
+
+		assertThat(this.index.size()).isEqualTo(1);
+		assertThat(results).hasSize(1);
+		assertThat(results.get(0).score()).isCloseTo(1.0, within(1e-5));
+	}
+
+	@Test
+	void shouldSearchLiveEntriesWhileRebuilding() {
+		float[][] vectors = addRandomVectors(1000);
+
+		// the 501st removal starts a rebuild that moves only a batch of live entries
+		for (int i = 0; i < 501; i++) {
+			remove(String.valueOf(i));
+		}
+
+		assertThat(this.index.size()).isEqualTo(499);
+		for (int i = 501; i < 1000; i += 50) {
+			assertThat(this.index.search(vectors[i], 1, id -> true)).extracting(HnswIndex.ScoredId::id)
+				.containsExactly(String.valueOf(i));
+		}
+		assertThat(this.index.search(vectors[3], 10, id -> true)).extracting(HnswIndex.ScoredId::id)
+			.allSatisfy(id -> assertThat(Integer.parseInt(id)).isGreaterThan(500));
+	}
+
+	@Test
+	void shouldNotIndexDocumentsMissingFromStorage() {
+		this.index.add("missing");
+
+		assertThat(this.index.size()).isZero();
+	}
+
+	@Test
+	void shouldRecycleSlotsOnlyOnceTheirTombstonesAreDropped() {
+		addRandomVectors(100);
+		Set<Integer> removedSlots = new HashSet<>();
+		for (int i = 0; i < 10; i++) {
+			removedSlots.add(this.storage.slot(String.valueOf(i)));
+			remove(String.valueOf(i));
+		}
+
+		for (int i = 0; i < 10; i++) {
+			add("new-" + i, randomVector());
+			assertThat(this.storage.slot("new-" + i)).isNotIn(removedSlots);
+		}
+		assertThat(this.index.search(randomVector(), 110, id -> true)).extracting(HnswIndex.ScoredId::id)
+			.doesNotContain("0", "1", "2");
+
+		for (int i = 10; i < 100; i++) {
+			remove(String.valueOf(i));
+		}
+		for (int i = 0; i < 10; i++) {
+			remove("new-" + i);
+		}
+		add("again", randomVector());
+
+		assertThat(this.storage.slot("again")).isLessThan(110);
+		assertThat(this.index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRebuildFromStorage() {
+		float[][] vectors = addRandomVectors(100);
+
+		this.index.clear();
+		this.index.rebuild();
+
+		assertThat(this.index.size()).isEqualTo(100);
+		assertThat(this.index.search(vectors[17], 1, id -> true)).extracting(HnswIndex.ScoredId::id)
+			.containsExactly("17");
+	}
+
+	@Test
+	void shouldOnlyReturnAcceptedIds() {
+		addRandomVectors(500);
+
+		List<HnswIndex.ScoredId> results = this.index.search(randomVector(), 10, id -> Integer.parseInt(id) % 50 == 0);
+
+		assertThat(results).hasSize(10).allSatisfy(result -> assertThat(Integer.parseInt(result.id()) % 50).isZero());
+	}
+
+	@Test
+	void shouldRejectInvalidParameters() {
+		assertThatThrownBy(() -> new HnswIndex(this.storage, 1, 64, 40)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("M must be greater than 1");
+		assertThatThrownBy(() -> new HnswIndex(this.storage, 16, 0, 40)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("efConstruction must be positive");
+		assertThatThrownBy(() -> new HnswIndex(this.storage, 16, 64, 0)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("efSearch must be positive");
+	}
+
+	private float[][] addRandomVectors(int count) {
+		float[][] vectors = new float[count][];
+		for (int i = 0; i < count; i++) {
+			vectors[i] = randomVector();
+			add(String.valueOf(i), vectors[i]);
+		}
+		return vectors;
+	}
+
+	private void add(String id, float[] vector) {
+		this.storage.put(id, "", Map.of(), vector);
+		this.index.add(id);
+	}
+
+	private void remove(String id) {
+		this.index.remove(id);
+	}
+
+	private float[] randomVector() {
+		float[] vector = new float[DIMENSIONS];
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = (float) this.random.nextGaussian();
+		}
+		return vector;
+	}
+
+	private static Set<String> exactTopK(float[][] vectors, float[] query, int k) {
+		return IntStream.range(0, vectors.length)
+			.boxed()
+			.sorted(Comparator
+				.comparingDouble((Integer i) -> SimpleVectorStore.EmbeddingMath.cosineSimilarity(query, vectors[i]))
+				.reversed())
+			.limit(k)
+			.map(String::valueOf)
+			.collect(Collectors.toCollection(HashSet::new));
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class IncrementalDocumentWriterTests {
+
+	@TempDir
+	Path tempDir;
+
+	private VectorStore vectorStore;
+
+	private Path manifestFile;
+
+	@BeforeEach
+	void setUp() {
+		this.vectorStore = mock(VectorStore.class);
+		this.manifestFile = this.tempDir.resolve("ingestion").resolve("manifest.json");
+	}
+
+	@Test
+	void shouldSkipUnchangedChunksAcrossRuns() {
+		List<Document> chunks = chunks("a.txt", "first", "second");
+
+		var firstRun = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile).build().sync(chunks);
+		var secondRun = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build()
+			.sync(chunks("a.txt", "first", "second"));
+
+		assertThat(firstRun).isEqualTo(new IncrementalDocumentWriter.Result(2, 0, 0));
+		assertThat(secondRun).isEqualTo(new IncrementalDocumentWriter.Result(0, 2, 0));
+		verify(this.vectorStore, times(1)).add(anyList());
+		verify(this.vectorStore, never()).delete(anyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldAddModifiedAndDeleteRemovedChunks() {
+		IncrementalDocumentWriter writer = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build();
+		writer.sync(chunks("a.txt", "first", "second", "third"));
+		writer.sync(chunks("b.txt", "other"));
+
+		var result = writer.sync(chunks("a.txt", "first", "second, revised"));
+
+		assertThat(result).isEqualTo(new IncrementalDocumentWriter.Result(1, 1, 2));
+		ArgumentCaptor<List<Document>> added = ArgumentCaptor.forClass(List.class);
+		verify(this.vectorStore, times(3)).add(added.capture());
+		assertThat(added.getValue()).extracting(Document::getText).containsExactly("second, revised");
+		ArgumentCaptor<List<String>> deleted = ArgumentCaptor.forClass(List.class);
+		verify(this.vectorStore).delete(deleted.capture());
+		assertThat(deleted.getValue()).hasSize(2).doesNotContain(added.getValue().get(0).getId());
+		assertThat(writer.getSources()).containsExactlyInAnyOrder("a.txt", "b.txt");
+	}
+
+	@Test
+	void shouldStoreChunksUnderContentHashIds() {
+		IncrementalDocumentWriter writer = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build();
+		writer.sync(chunks("a.txt", "first"));
+		writer.sync(chunks("b.txt", "first"));
+
+		ArgumentCaptor<List<Document>> added = captureAdded(2);
+		String firstId = added.getAllValues().get(0).get(0).getId();
+		String secondId = added.getAllValues().get(1).get(0).getId();
+		assertThat(firstId).isNotEqualTo(secondId);
+
+		writer.deleteSource("a.txt");
+		verify(this.vectorStore).delete(List.of(firstId));
+		assertThat(writer.getSources()).containsExactly("b.txt");
+		assertThat(writer.deleteSource("a.txt")).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldCollectChunksOfSourceWrittenOverSeveralCallsInRun() {
+		IncrementalDocumentWriter writer = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build();
+		writer.sync(chunks("a.txt", "first", "second", "third"));
+
+		writer.begin();
+		writer.accept(chunks("a.txt", "first"));
+		writer.accept(chunks("a.txt", "second, revised"));
+		assertThat(this.manifestFile).content().doesNotContain(added(2).get(0).getId());
+		var result = writer.commit();
+
+		assertThat(result).isEqualTo(new IncrementalDocumentWriter.Result(1, 1, 2));
+		ArgumentCaptor<List<String>> deleted = ArgumentCaptor.forClass(List.class);
+		verify(this.vectorStore).delete(deleted.capture());
+		assertThat(deleted.getValue()).hasSize(2);
+		assertThat(IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build()
+			.sync(chunks("a.txt", "first", "second, revised")))
+			.isEqualTo(new IncrementalDocumentWriter.Result(0, 2, 0));
+	}
+
+	@Test
+	void shouldNotDeleteChunksOfAbortedRun() {
+		IncrementalDocumentWriter writer = IncrementalDocumentWriter.builder(this.vectorStore, this.manifestFile)
+			.build();
+		writer.sync(chunks("a.txt", "first", "second"));
+
+		writer.begin();
+		writer.accept(chunks("a.txt", "first"));
+		writer.abort();
+
+		verify(this.vectorStore, never()).delete(anyList());
+		assertThatIllegalStateException().isThrownBy(writer::commit);
+		assertThat(writer.sync(chunks("a.txt", "first", "second")))
+			.isEqualTo(new IncrementalDocumentWriter.Result(0, 2, 0));
+	}
+
+	private List<Document> added(int times) {
+		return captureAdded(times).getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private ArgumentCaptor<List<Document>> captureAdded(int times) {
+		ArgumentCaptor<List<Document>> added = ArgumentCaptor.forClass(List.class);
+		verify(this.vectorStore, times(times)).add(added.capture());
+		return added;
+	}
+
+	private static List<Document> chunks(String source, String... texts) {
+		List<Document> chunks = new ArrayList<>();
+		for (String text : texts) {
+			chunks.add(new Document(text, Map.of("source", source)));
+		}
+		return chunks;
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataIndexTests {
+
+	private final FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+	@Test
+	void shouldResolveEqualityAndRanges() {
+		MetadataIndex index = new MetadataIndex(List.of("tenant", "year"));
+		index.add(0, Map.of("tenant", "a", "year", 2020));
+		index.add(1, Map.of("tenant", "b", "year", 2021L));
+		index.add(2, Map.of("tenant", "a", "year", 2022.0));
+
+		assertThat(index.candidates(this.b.eq("tenant", "a").build())).isEqualTo(bits(0, 2));
+		assertThat(index.candidates(this.b.in("year", 2021, 2022).build())).isEqualTo(bits(1, 2));
+		assertThat(index.candidates(this.b.gt("year", 2020).build())).isEqualTo(bits(1, 2));
+		assertThat(index.candidates(this.b.gte("year", 2021.5).build())).isEqualTo(bits(2));
+		assertThat(index.candidates(this.b.and(this.b.eq("tenant", "a"), this.b.gte("year", 2021)).build()))
+			.isEqualTo(bits(2));
+	}
+
+	@Test
+	void shouldLeaveUnindexedComparisonsUnconstrained() {
+		MetadataIndex index = new MetadataIndex(List.of("tenant"));
+		index.add(0, Map.of("tenant", "a", "year", 2020));
+
+		assertThat(index.candidates(this.b.eq("year", 2020).build())).isNull();
+		assertThat(index.candidates(this.b.ne("tenant", "a").build())).isNull();
+		assertThat(index.candidates(this.b.lte("tenant", "b").build())).isNull();
+		assertThat(index.candidates(this.b.or(this.b.eq("tenant", "a"), this.b.eq("year", 2020)).build())).isNull();
+		assertThat(index.candidates(this.b.and(this.b.eq("tenant", "a"), this.b.eq("year", 2020)).build()))
+			.isEqualTo(bits(0));
+	}
+
+	@Test
+	void shouldDropRemovedSlots() {
+		MetadataIndex index = new MetadataIndex(List.of("tenant"));
+		index.add(0, Map.of("tenant", "a"));
+		index.add(1, Map.of("tenant", "a"));
+
+		index.remove(0, Map.of("tenant", "a"));
+
+		assertThat(index.candidates(this.b.eq("tenant", "a").build())).isEqualTo(bits(1));
+		assertThat(index.candidates(this.b.gte("tenant", "a").build())).isEqualTo(bits(1));
+	}
+
+	@Test
+	void shouldReturnSupersetOfPredicateMatches() {
+		MetadataIndex index = new MetadataIndex(List.of("tenant", "year"));
+		Random random = new Random(11);
+		List<Map<String, Object>> documents = new ArrayList<>();
+		for (int slot = 0; slot < 500; slot++) {
+			Map<String, Object> metadata = (random.nextInt(10) == 0) ? Map.of("tenant", "t" + random.nextInt(5))
+					: Map.of("tenant", "t" + random.nextInt(5), "year", 2000 + random.nextInt(20));
+			documents.add(metadata);
+			index.add(slot, metadata);
+		}
+		List<Filter.Expression> expressions = List.of(this.b.eq("tenant", "t1").build(),
+				this.b.and(this.b.in("tenant", "t2", "t3"), this.b.lt("year", 2010)).build(),
+				this.b.or(this.b.gte("year", 2015.5), this.b.eq("tenant", "t0")).build(),
+				this.b.not(this.b.lte("year", 2005)).build(), this.b.nin("tenant", "t4").build());
+		FilterExpressionPredicateCompiler compiler = new FilterExpressionPredicateCompiler();
+
+		for (Filter.Expression expression : expressions) {
+			Predicate<Map<String, Object>> predicate = compiler.compile(expression);
+			BitSet candidates = index.candidates(expression);
+			for (int slot = 0; slot < documents.size(); slot++) {
+				if (predicate.test(documents.get(slot))) {
+					assertThat(candidates == null || candidates.get(slot)).as(expression + " slot " + slot).isTrue();
+				}
+			}
+		}
+	}
+
+	private static BitSet bits(int... slots) {
+		BitSet bits = new BitSet();
+		for (int slot : slots) {
+			bits.set(slot);
+		}
+		return bits;
+	}
+
+}
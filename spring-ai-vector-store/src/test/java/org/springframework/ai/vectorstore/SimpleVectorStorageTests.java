@@ -0,0 +1,359 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.SimilarityKernel;
+import org.springframework.ai.vectorstore.SimpleVectorStore.QuantizationType;
+import org.springframework.ai.vectorstore.SimpleVectorStore.StorageType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class SimpleVectorStorageTests {
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldStoreAndMaterializeContent(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+
+		storage.put("1", "text", Map.of("key", "value"), new float[] { 1f, 2f, 3f });
+
+		SimpleVectorStoreContent content = storage.get("1");
+		assertThat(content).isNotNull();
+		assertThat(content.getText()).isEqualTo("text");
+		assertThat(content.getMetadata()).containsEntry("key", "value");
+		assertThat(content.getEmbedding()).containsExactly(1f, 2f, 3f);
+		assertThat(storage.get("2")).isNull();
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldDropNullMetadataValues(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		Map<String, Object> metadata = new HashMap<>();
+		metadata.put("key", "value");
+		metadata.put("missing", null);
+
+		storage.put("1", "text", metadata, new float[] { 1f, 2f, 3f });
+
+		assertThat(storage.metadata("1")).containsOnlyKeys("key");
+		assertThat(storage.search(null, m -> true, new float[] { 1f, 2f, 3f }, 1, 0.0, null, 1)).singleElement()
+			.satisfies(document -> assertThat(document.getMetadata()).containsEntry("key", "value")
+				.doesNotContainKey("missing"));
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldKeepCaptureUnchangedByLaterWrites(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		storage.put("1", "first", Map.of(), new float[] { 1f, 2f, 3f });
+
+		SimpleVectorStorage.SlotTable slots = storage.capture();
+		storage.put("1", "updated", Map.of(), new float[] { 4f, 5f, 6f });
+		storage.put("2", "second", Map.of(), new float[] { 7f, 8f, 9f });
+
+		float[] vector = new float[3];
+		slots.vector(0, vector);
+		assertThat(slots.id(0)).isEqualTo("1");
+		assertThat(slots.text(0)).isEqualTo("first");
+		assertThat(vector).containsExactly(1f, 2f, 3f);
+		assertThat(slots.squaredNorm(0)).isEqualTo(14f);
+		assertThat(storage.get("1").getEmbedding()).containsExactly(4f, 5f, 6f);
+		List<String> captured = new ArrayList<>();
+		slots.forEachSlot(slot -> captured.add(slots.id(slot)));
+		assertThat(captured).containsExactly("1");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldOverwriteExistingIdInPlace(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+
+		int slot = storage.put("1", "first", Map.of(), new float[] { 1f, 0f });
+		int overwritten = storage.put("1", "second", Map.of(), new float[] { 0f, 1f });
+
+		assertThat(overwritten).isEqualTo(slot);
+		assertThat(storage.size()).isEqualTo(1);
+		assertThat(storage.get("1").getText()).isEqualTo("second");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldRecycleSlotsOfRemovedDocuments(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		storage.put("1", "first", Map.of(), new float[] { 1f, 0f });
+		int slot = storage.put("2", "second", Map.of(), new float[] { 0f, 1f });
+
+		assertThat(storage.remove("2")).isEqualTo(slot);
+		assertThat(storage.remove("2")).isEqualTo(-1);
+		assertThat(storage.put("3", "third", Map.of(), new float[] { 1f, 1f })).isEqualTo(slot);
+		assertThat(storage.get("2")).isNull();
+		assertThat(storage.get("3").getEmbedding()).containsExactly(1f, 1f);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldComputeCosineSimilarityAgainstStoredRows(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		Random random = new Random(7);
+		List<float[]> vectors = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			float[] vector = new float[] { random.nextFloat(), random.nextFloat(), random.nextFloat() };
+			vectors.add(vector);
+			storage.put(String.valueOf(i), "text", Map.of(), vector);
+		}
+		float[] query = new float[] { 0.3f, 0.2f, 0.1f };
+		float[] normalizedQuery = SimilarityKernel.normalize(query);
+
+		storage.forEachSlot(slot -> {
+			float[] stored = vectors.get(Integer.parseInt(storage.id(slot)));
+			assertThat(storage.cosineSimilarity(slot, normalizedQuery))
+				.isCloseTo(SimpleVectorStore.EmbeddingMath.cosineSimilarity(query, stored), within(1e-6));
+		});
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldKeepIdsConsistentUnderChurn(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		Map<String, Float> expected = new HashMap<>();
+		Random random = new Random(3);
+		for (int i = 0; i < 20_000; i++) {
+			String id = "id-" + random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				storage.remove(id);
+				expected.remove(id);
+			}
+			else {
+				float value = random.nextFloat() + 0.1f;
+				storage.put(id, "text", Map.of(), new float[] { value, 1f });
+				expected.put(id, value);
+			}
+		}
+
+		assertThat(storage.size()).isEqualTo(expected.size());
+		assertThat(storage.asMap().keySet()).containsExactlyInAnyOrderElementsOf(expected.keySet());
+		expected.forEach((id, value) -> assertThat(storage.get(id).getEmbedding()[0]).isEqualTo(value));
+	}
+
+	@Test
+	void shouldExposeReadOnlyMapView() {
+		SimpleVectorStorage storage = new SimpleVectorStorage(StorageType.HEAP);
+		storage.put("1", "text", Map.of(), new float[] { 1f, 0f });
+		Map<String, SimpleVectorStoreContent> view = storage.asMap();
+
+		assertThatThrownBy(() -> view.remove("1")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(view::clear).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> view.keySet().removeIf(id -> true)).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(view).containsOnlyKeys("1");
+
+		storage.put("2", "text", Map.of(), new float[] { 0f, 1f });
+		assertThat(view).containsOnlyKeys("1", "2");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldRejectZeroNormEmbeddingOnSearch(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		storage.put("1", "text", Map.of(), new float[] { 0f, 0f });
+
+		storage.forEachSlot(slot -> assertThatThrownBy(() -> storage.cosineSimilarity(slot, new float[] { 1f, 0f }))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors cannot have zero norm"));
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldRejectMismatchedDimensions(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		storage.put("1", "text", Map.of(), new float[] { 1f, 2f, 3f });
+
+		assertThatThrownBy(() -> storage.put("2", "text", Map.of(), new float[] { 1f, 2f }))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Embedding dimensions 2 do not match the store dimensions 3");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldReturnSameResultsFromParallelScan(StorageType storageType) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(storageType);
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			float[] embedding = new float[8];
+			for (int d = 0; d < embedding.length; d++) {
+				embedding[d] = random.nextInt(5) - 2;
+			}
+			embedding[0] += 3;
+			storage.put("id-" + i, "text", Map.of("even", i % 2 == 0), embedding);
+		}
+		float[] query = SimilarityKernel.normalize(new float[] { 1f, 1f, 0f, 0f, 0f, 0f, 0f, 0f });
+		Predicate<Map<String, Object>> filter = metadata -> Boolean.TRUE.equals(metadata.get("even"));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<Document> sequential = storage.search(null, filter, query, 50, 0.1, null, 1);
+			List<Document> parallel = storage.search(null, filter, query, 50, 0.1, pool, 4);
+
+			assertThat(parallel).hasSize(50);
+			assertThat(parallel).extracting(Document::getId)
+				.containsExactlyElementsOf(sequential.stream().map(Document::getId).toList());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void shouldWaitForRunningPartitionsWhenScanFails() throws InterruptedException {
+		SimpleVectorStorage storage = new SimpleVectorStorage(StorageType.HEAP);
+		for (int i = 0; i < 20_000; i++) {
+			storage.put("id-" + i, "text", Map.of("index", i), new float[] { 1f, i });
+		}
+		Thread caller = Thread.currentThread();
+		AtomicBoolean returned = new AtomicBoolean();
+		AtomicBoolean readAfterReturn = new AtomicBoolean();
+		Predicate<Map<String, Object>> filter = metadata -> {
+			if (Thread.currentThread() == caller) {
+				throw new IllegalStateException("Filter failed");
+			}
+			if ((int) metadata.get("index") % 5000 == 0) {
+				try {
+					Thread.sleep(100);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (returned.get()) {
+				readAfterReturn.set(true);
+			}
+			return true;
+		};
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			assertThatThrownBy(() -> storage.search(null, filter, new float[] { 1f, 1f }, 10, 0.0, pool, 4))
+				.isInstanceOf(IllegalStateException.class);
+			returned.set(true);
+			pool.shutdown();
+			assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(readAfterReturn).isFalse();
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldScanUnstartedPartitionsOnCallingThread() throws Exception {
+		SimpleVectorStorage storage = new SimpleVectorStorage(StorageType.HEAP);
+		for (int i = 0; i < 20_000; i++) {
+			storage.put("id-" + i, "text", Map.of(), new float[] { 1f, i % 100 });
+		}
+		float[] query = new float[] { 1f, 1f };
+		List<String> expected = storage.search(null, metadata -> true, query, 10, 0.0, null, 1)
+			.stream()
+			.map(Document::getId)
+			.toList();
+		Executor rejecting = command -> {
+			throw new RejectedExecutionException();
+		};
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			assertThat(storage.search(null, metadata -> true, query, 10, 0.0, rejecting, 4)).extracting(Document::getId)
+				.containsExactlyElementsOf(expected);
+			// the search occupies the only thread of the executor it scans on
+			assertThat(pool.submit(() -> storage.search(null, metadata -> true, query, 10, 0.0, pool, 4))
+				.get(10, TimeUnit.SECONDS)).extracting(Document::getId).containsExactlyElementsOf(expected);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(QuantizationType.class)
+	void shouldReRankQuantizedShortlistExactly(QuantizationType quantizationType) {
+		SimpleVectorStorage exact = new SimpleVectorStorage(StorageType.HEAP);
+		SimpleVectorStorage quantized = new SimpleVectorStorage(StorageType.HEAP, List.of(), quantizationType, 100);
+		Random random = new Random(11);
+		for (int i = 0; i < 1000; i++) {
+			float[] embedding = new float[16];
+			for (int d = 0; d < embedding.length; d++) {
+				embedding[d] = (float) random.nextGaussian();
+			}
+			exact.put("id-" + i, "text", Map.of(), embedding);
+			quantized.put("id-" + i, "text", Map.of(), embedding);
+		}
+		float[] query = SimilarityKernel
+			.normalize(new float[] { 1f, -1f, 1f, -1f, 1f, -1f, 1f, -1f, 1f, -1f, 1f, -1f, 1f, -1f, 1f, -1f });
+
+		List<Document> expected = exact.search(null, metadata -> true, query, 10, 0.0, null, 1);
+		List<Document> results = quantized.search(null, metadata -> true, query, 10, 0.0, null, 1);
+
+		assertThat(results).extracting(Document::getId)
+			.containsExactlyElementsOf(expected.stream().map(Document::getId).toList());
+		assertThat(results).extracting(Document::getScore)
+			.containsExactlyElementsOf(expected.stream().map(Document::getScore).toList());
+	}
+
+	@Test
+	void shouldKeepQuantizedCapturesUnchangedUntilReleased(@TempDir Path directory) {
+		SimpleVectorStorage storage = new SimpleVectorStorage(StorageType.HEAP, List.of(), QuantizationType.INT8, 4,
+				directory);
+		storage.put("1", "first", Map.of(), new float[] { 1f, 2f, 3f });
+		SimpleVectorStorage.SlotTable retained = storage.capture();
+
+		for (int i = 0; i < 10; i++) {
+			SimpleVectorStorage.SlotTable slots = storage.capture();
+			storage.put("1", "updated", Map.of(), new float[] { i + 2f, 2f, 3f });
+			float[] vector = new float[3];
+			slots.vector(0, vector);
+			assertThat(vector).containsExactly(i + 1f, 2f, 3f);
+			slots.release();
+		}
+
+		float[] vector = new float[3];
+		retained.vector(0, vector);
+		assertThat(vector).containsExactly(1f, 2f, 3f);
+		assertThat(storage.get("1").getEmbedding()).containsExactly(11f, 2f, 3f);
+		retained.release();
+		storage.close();
+		assertThat(directory).isEmptyDirectory();
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore.QuantizationType;
+import org.springframework.ai.vectorstore.SimpleVectorStore.StorageType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimpleVectorStoreSnapshotTests {
+
+	@TempDir(cleanup = CleanupMode.ON_SUCCESS)
+	Path tempDir;
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldRoundTripThroughSnapshot(StorageType storageType) {
+		EmbeddingModel embeddingModel = embeddingModel();
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel).storageType(storageType).build();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			documents.add(new Document("id-" + i, "text " + i,
+					Map.of("index", i, "tags", List.of("a", 1L), "nested", Map.of("flag", true), "score", 0.5)));
+		}
+		vectorStore.add(documents);
+		vectorStore.delete(List.of("id-7"));
+		File file = this.tempDir.resolve("store.bin").toFile();
+
+		vectorStore.saveSnapshot(file);
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel).storageType(storageType).build();
+		loaded.loadSnapshot(file);
+
+		assertThat(loaded.store).hasSize(99).doesNotContainKey("id-7");
+		SimpleVectorStoreContent content = loaded.store.get("id-42");
+		assertThat(content.getText()).isEqualTo("text 42");
+		assertThat(content.getEmbedding()).containsExactly(vectorStore.store.get("id-42").getEmbedding());
+		assertThat(content.getMetadata()).containsEntry("index", 42)
+			.containsEntry("tags", List.of("a", 1L))
+			.containsEntry("nested", Map.of("flag", true))
+			.containsEntry("score", 0.5);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageType.class)
+	void shouldAcceptWritesAfterLoadingSnapshot(StorageType storageType) {
+		EmbeddingModel embeddingModel = embeddingModel();
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel).storageType(storageType).build();
+		vectorStore.add(List.of(new Document("1", "first", Map.of()), new Document("2", "second", Map.of())));
+		File file = this.tempDir.resolve("store.bin").toFile();
+		vectorStore.saveSnapshot(file);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel).storageType(storageType).build();
+		loaded.load(file);
+		loaded.add(List.of(new Document("1", "updated", Map.of()), new Document("3", "third", Map.of())));
+		loaded.saveSnapshot(file);
+
+		SimpleVectorStore reloaded = SimpleVectorStore.builder(embeddingModel).build();
+		reloaded.load(file);
+		assertThat(reloaded.store).containsOnlyKeys("1", "2", "3");
+		assertThat(reloaded.store.get("1").getText()).isEqualTo("updated");
+	}
+
+	@ParameterizedTest
+	@EnumSource(QuantizationType.class)
+	void shouldRoundTripQuantizedCodes(QuantizationType quantizationType) {
+		EmbeddingModel embeddingModel = embeddingModel();
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel)
+			.quantizationType(quantizationType)
+			.oversampling(1)
+			.build();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			documents.add(new Document("id-" + i, "text " + i, Map.of()));
+		}
+		vectorStore.add(documents);
+		File file = this.tempDir.resolve("quantized.bin").toFile();
+		SearchRequest request = SearchRequest.builder().query("query").topK(5).build();
+
+		vectorStore.saveSnapshot(file);
+		for (StorageType storageType : StorageType.values()) {
+			SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel)
+				.storageType(storageType)
+				.quantizationType(quantizationType)
+				.oversampling(1)
+				.build();
+			loaded.loadSnapshot(file);
+
+			assertThat(loaded.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(
+						vectorStore.similaritySearch(request).stream().map(Document::getId).toList());
+		}
+		vectorStore.add(List.of(new Document("id-200", "text 200", Map.of())));
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel)
+			.quantizationType(quantizationType)
+			.oversampling(1)
+			.build();
+		loaded.loadSnapshot(file);
+		loaded.add(List.of(new Document("id-200", "text 200", Map.of())));
+		SearchRequest added = SearchRequest.builder().query("text 200").topK(5).build();
+		assertThat(loaded.similaritySearch(added)).extracting(Document::getId)
+			.containsExactlyElementsOf(vectorStore.similaritySearch(added).stream().map(Document::getId).toList());
+	}
+
+	@Test
+	void shouldLoadSnapshotIntoStoreWithOtherQuantizationType() {
+		EmbeddingModel embeddingModel = embeddingModel();
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel)
+			.quantizationType(QuantizationType.BINARY)
+			.build();
+		vectorStore.add(List.of(new Document("1", "first", Map.of()), new Document("2", "second", Map.of())));
+		File file = this.tempDir.resolve("binary.bin").toFile();
+		vectorStore.saveSnapshot(file);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel)
+			.quantizationType(QuantizationType.INT8)
+			.build();
+		loaded.loadSnapshot(file);
+
+		assertThat(loaded.similaritySearch(SearchRequest.builder().query("first").topK(1).build()))
+			.extracting(Document::getId)
+			.containsExactly("1");
+	}
+
+	@Test
+	void shouldRoundTripNullMetadataValues() {
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel()).build();
+		Map<String, Object> nested = new HashMap<>();
+		nested.put("missing", null);
+		Document document = new Document("1", "first", Map.of("nested", nested));
+		document.getMetadata().put("dropped", null);
+		vectorStore.add(List.of(document));
+		File file = this.tempDir.resolve("nulls.bin").toFile();
+
+		vectorStore.saveSnapshot(file);
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel()).build();
+		loaded.loadSnapshot(file);
+
+		assertThat(loaded.store.get("1").getMetadata()).containsOnlyKeys("nested").containsEntry("nested", nested);
+	}
+
+	@Test
+	void shouldRoundTripEmptyStore() {
+		SimpleVectorStore vectorStore = SimpleVectorStore.builder(embeddingModel()).build();
+		File file = this.tempDir.resolve("empty.bin").toFile();
+
+		vectorStore.saveSnapshot(file);
+		SimpleVectorStore loaded = SimpleVectorStore.builder(embeddingModel()).build();
+		loaded.loadSnapshot(file);
+
+		assertThat(loaded.store).isEmpty();
+	}
+
+	@Test
+	void shouldRejectFileThatIsNotASnapshot() throws Exception {
+		Path file = Files.writeString(this.tempDir.resolve("store.json"), "{}".repeat(64));
+
+		assertThatThrownBy(() -> SimpleVectorStore.builder(embeddingModel()).build().loadSnapshot(file.toFile()))
+			.isInstanceOf(RuntimeException.class)
+			.hasMessageContaining("Not a vector store snapshot");
+	}
+
+	private static EmbeddingModel embeddingModel() {
+		EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+		when(embeddingModel.embed(any(Document.class)))
+			.thenAnswer(invocation -> embedding(((Document) invocation.getArgument(0)).getText()));
+		when(embeddingModel.embed(any(String.class))).thenAnswer(invocation -> embedding(invocation.getArgument(0)));
+		return embeddingModel;
+	}
+
+	private static float[] embedding(String text) {
+		int hash = text.hashCode();
+		return new float[] { 1f + (hash & 0xff), 1f + ((hash >> 8) & 0xff), 1f + ((hash >> 16) & 0xff) };
+	}
+
+}
@@ -22,10 +22,12 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -86,6 +88,19 @@ class SimpleVectorStoreTests {
 		assertThat(results).hasSize(2).extracting(Document::getId).containsExactlyInAnyOrder("1", "2");
 	}
 
+	@Test
+	void shouldAddDocumentsFromSourceInBatches() {
+		Iterator<Document> documents = IntStream.range(0, 2500)
+			.mapToObj(i -> Document.builder().id(String.valueOf(i)).text("content " + i).build())
+			.iterator();
+
+		this.vectorStore.addAll(documents);
+
+		List<Document> results = this.vectorStore
+			.similaritySearch(SearchRequest.builder().query("content").topK(3000).build());
+		assertThat(results).hasSize(2500);
+	}
+
 	@Test
 	void shouldHandleEmptyDocumentList() {
 		assertThatThrownBy(() -> this.vectorStore.add(Collections.emptyList()))
@@ -156,6 +171,31 @@ class SimpleVectorStoreTests {
 		});
 	}
 
+	@Test
+	void shouldSearchAndDeleteWithHnswIndex() throws IOException {
+		SimpleVectorStore hnswStore = SimpleVectorStore.builder(this.mockEmbeddingModel)
+			.indexType(SimpleVectorStore.IndexType.HNSW)
+			.hnswM(8)
+			.hnswEfConstruction(32)
+			.hnswEfSearch(16)
+			.build();
+		hnswStore.add(List.of(Document.builder().id("1").text("first").build(),
+				Document.builder().id("2").text("second").build()));
+
+		assertThat(hnswStore.similaritySearch("first")).extracting(Document::getId).containsExactlyInAnyOrder("1", "2");
+
+		hnswStore.delete(List.of("1"));
+		assertThat(hnswStore.similaritySearch("first")).extracting(Document::getId).containsExactly("2");
+
+		File saveFile = this.tempDir.resolve("hnsw-vector-store.json").toFile();
+		hnswStore.save(saveFile);
+		SimpleVectorStore loadedStore = SimpleVectorStore.builder(this.mockEmbeddingModel)
+			.indexType(SimpleVectorStore.IndexType.HNSW)
+			.build();
+		loadedStore.load(saveFile);
+		assertThat(loadedStore.similaritySearch("second")).extracting(Document::getId).containsExactly("2");
+	}
+
 	@Test
 	void shouldHandleLoadFromInvalidResource() throws IOException {
 		Resource mockResource = mock(Resource.class);
@@ -237,4 +237,29 @@ class SimpleVectorStoreWithFilterTests {
 		assertThat(results).hasSize(1);
 	}
 
+	@Test
+	void shouldFilterThroughIndexedMetadataFields() {
+		SimpleVectorStore indexedStore = SimpleVectorStore.builder(this.mockEmbeddingModel)
+			.indexedMetadataFields("country", "year")
+			.build();
+		indexedStore.add(List.of(new Document("1", "first", Map.of("country", "BG", "year", 2020)),
+				new Document("2", "second", Map.of("country", "KR", "year", 2022)),
+				new Document("3", "third", Map.of("country", "BG", "year", 2024))));
+
+		List<Document> results = indexedStore.similaritySearch(
+				SearchRequest.builder().query("first").filterExpression("country == 'BG' && year >= 2021").build());
+		assertThat(results).extracting(Document::getId).containsExactly("3");
+
+		indexedStore.add(List.of(new Document("3", "third", Map.of("country", "KR", "year", 2024))));
+		indexedStore.delete(List.of("2"));
+
+		results = indexedStore.similaritySearch(
+				SearchRequest.builder().query("first").filterExpression("country in ['KR', 'NL']").build());
+		assertThat(results).extracting(Document::getId).containsExactly("3");
+
+		results = indexedStore.similaritySearch(
+				SearchRequest.builder().query("first").filterExpression("country != 'KR' || year < 2021").build());
+		assertThat(results).extracting(Document::getId).containsExactly("1");
+	}
+
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimpleVectorStoreWriteAheadLogTests {
+
+	@TempDir(cleanup = CleanupMode.ON_SUCCESS)
+	Path tempDir;
+
+	private EmbeddingModel embeddingModel;
+
+	@BeforeEach
+	void setUp() {
+		this.embeddingModel = mock(EmbeddingModel.class);
+		when(this.embeddingModel.embed(any(String.class))).thenReturn(new float[] { 0.1f, 0.2f, 0.3f });
+		when(this.embeddingModel.embed(any(Document.class))).thenReturn(new float[] { 0.1f, 0.2f, 0.3f });
+	}
+
+	@Test
+	void shouldRecoverLoggedMutationsWithoutClose() {
+		SimpleVectorStore vectorStore = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+		vectorStore
+			.add(List.of(new Document("1", "first", Map.of("key", "value")), new Document("2", "second", Map.of())));
+		vectorStore.add(List.of(new Document("1", "updated", Map.of())));
+		vectorStore.delete(List.of("2"));
+
+		SimpleVectorStore recovered = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+
+		assertThat(recovered.store).containsOnlyKeys("1");
+		assertThat(recovered.store.get("1").getText()).isEqualTo("updated");
+	}
+
+	@Test
+	void shouldCompactConcurrentWritesIntoSnapshot() throws IOException {
+		SimpleVectorStore vectorStore = store(1024);
+		List<CompletableFuture<Void>> writers = new ArrayList<>();
+		for (int writer = 0; writer < 8; writer++) {
+			int prefix = writer;
+			writers.add(CompletableFuture.runAsync(() -> IntStream.range(0, 50)
+				.forEach(i -> vectorStore.add(List.of(new Document(prefix + "-" + i, "text", Map.of()))))));
+		}
+		writers.forEach(CompletableFuture::join);
+		vectorStore.close();
+
+		assertThat(this.tempDir.resolve("snapshot.bin")).exists();
+		SimpleVectorStore recovered = store(1024);
+
+		assertThat(recovered.store).hasSize(400);
+	}
+
+	@Test
+	void shouldApplyConcurrentWritesInLogOrder() throws IOException {
+		SimpleVectorStore vectorStore = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+		List<CompletableFuture<Void>> writers = new ArrayList<>();
+		for (int writer = 0; writer < 8; writer++) {
+			int prefix = writer;
+			writers.add(CompletableFuture.runAsync(() -> IntStream.range(0, 25)
+				.forEach(i -> vectorStore.add(List.of(new Document("shared", prefix + "-" + i, Map.of()))))));
+		}
+		writers.forEach(CompletableFuture::join);
+		String liveText = vectorStore.store.get("shared").getText();
+		vectorStore.close();
+
+		SimpleVectorStore recovered = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+
+		assertThat(recovered.store.get("shared").getText()).isEqualTo(liveText);
+	}
+
+	@Test
+	void shouldRejectMismatchedDimensionsBeforeLogging() {
+		SimpleVectorStore vectorStore = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+		vectorStore.add(List.of(new Document("1", "first", Map.of())));
+		when(this.embeddingModel.embed(any(Document.class))).thenReturn(new float[] { 0.1f, 0.2f });
+
+		assertThatThrownBy(() -> vectorStore.add(List.of(new Document("2", "second", Map.of()))))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("do not match the store dimensions");
+
+		SimpleVectorStore recovered = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+
+		assertThat(recovered.store).containsOnlyKeys("1");
+	}
+
+	@Test
+	void shouldIgnoreTornRecordAtTheEndOfTheLog() throws IOException {
+		SimpleVectorStore vectorStore = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+		vectorStore.add(List.of(new Document("1", "first", Map.of())));
+		vectorStore.close();
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			Path segment = files.filter(file -> file.getFileName().toString().startsWith("wal-")).findFirst().get();
+			Files.write(segment, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+		}
+
+		SimpleVectorStore recovered = store(SimpleVectorStore.DEFAULT_COMPACTION_THRESHOLD);
+
+		assertThat(recovered.store).containsOnlyKeys("1");
+	}
+
+	private SimpleVectorStore store(long compactionThreshold) {
+		return SimpleVectorStore.builder(this.embeddingModel)
+			.persistenceDirectory(this.tempDir.toFile())
+			.compactionThreshold(compactionThreshold)
+			.build();
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTests {
+
+	@Test
+	void shouldSelectBestScoresInDescendingOrder() {
+		TopKSelector selector = new TopKSelector(3, 0.0);
+		double[] scores = { 0.1, 0.9, 0.5, 0.7, 0.3 };
+		for (int slot = 0; slot < scores.length; slot++) {
+			selector.offer(slot, scores[slot]);
+		}
+
+		assertThat(drain(selector)).containsExactly(1, 3, 2);
+		assertThat(selector.size()).isZero();
+	}
+
+	@Test
+	void shouldRejectScoresBelowThreshold() {
+		TopKSelector selector = new TopKSelector(10, 0.5);
+
+		assertThat(selector.offer(0, 0.49)).isFalse();
+		assertThat(selector.offer(1, 0.5)).isTrue();
+		assertThat(drain(selector)).containsExactly(1);
+	}
+
+	@Test
+	void shouldRankEqualScoresByAscendingSlot() {
+		TopKSelector selector = new TopKSelector(2, 0.0);
+		selector.offer(7, 0.5);
+		selector.offer(3, 0.5);
+		selector.offer(5, 0.5);
+
+		assertThat(drain(selector)).containsExactly(3, 5);
+	}
+
+	@Test
+	void shouldMergeSelectionsLikeASingleSelection() {
+		Random random = new Random(42);
+		double[] scores = IntStream.range(0, 1000).mapToDouble(slot -> random.nextInt(100) / 100.0).toArray();
+		TopKSelector even = new TopKSelector(25, 0.2);
+		TopKSelector odd = new TopKSelector(25, 0.2);
+		for (int slot = 0; slot < scores.length; slot++) {
+			((slot % 2 == 0) ? even : odd).offer(slot, scores[slot]);
+		}
+
+		TopKSelector merged = new TopKSelector(25, 0.2);
+		merged.addAll(even);
+		merged.addAll(odd);
+
+		List<Integer> expected = IntStream.range(0, scores.length)
+			.boxed()
+			.filter(slot -> scores[slot] >= 0.2)
+			.sorted(Comparator.comparingDouble((Integer slot) -> scores[slot]).reversed())
+			.limit(25)
+			.toList();
+		assertThat(drain(merged)).isEqualTo(expected);
+	}
+
+	@Test
+	void shouldSelectNothingForZeroK() {
+		TopKSelector selector = new TopKSelector(0, 0.0);
+
+		assertThat(selector.offer(0, 1.0)).isFalse();
+		assertThat(drain(selector)).isEmpty();
+	}
+
+	private static List<Integer> drain(TopKSelector selector) {
+		List<Integer> slots = new ArrayList<>();
+		selector.drainDescending((slot, score) -> slots.add(slot));
+		return slots;
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.AND;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.EQ;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.GT;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.GTE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.IN;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.LT;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.LTE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NIN;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NOT;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.OR;
+
+class FilterExpressionPredicateCompilerTests {
+
+	final FilterExpressionPredicateCompiler compiler = new FilterExpressionPredicateCompiler();
+
+	@Test
+	void testEqAndNe() {
+		Predicate<Map<String, Object>> eq = this.compiler
+			.compile(new Filter.Expression(EQ, new Filter.Key("country"), new Filter.Value("BG")));
+		Predicate<Map<String, Object>> ne = this.compiler
+			.compile(new Filter.Expression(NE, new Filter.Key("country"), new Filter.Value("BG")));
+
+		assertThat(eq.test(Map.of("country", "BG"))).isTrue();
+		assertThat(eq.test(Map.of("country", "NL"))).isFalse();
+		assertThat(eq.test(Map.of())).isFalse();
+		assertThat(ne.test(Map.of("country", "NL"))).isTrue();
+		assertThat(ne.test(Map.of())).isTrue();
+	}
+
+	@Test
+	void testNumbersAreComparedByValue() {
+		Predicate<Map<String, Object>> eq = this.compiler
+			.compile(new Filter.Expression(EQ, new Filter.Key("year"), new Filter.Value(2020)));
+		Predicate<Map<String, Object>> gte = this.compiler
+			.compile(new Filter.Expression(GTE, new Filter.Key("year"), new Filter.Value(2020)));
+
+		assertThat(eq.test(Map.of("year", 2020L))).isTrue();
+		assertThat(eq.test(Map.of("year", 2020.0))).isTrue();
+		assertThat(eq.test(Map.of("year", "2020"))).isFalse();
+		assertThat(gte.test(Map.of("year", 2020.5f))).isTrue();
+		assertThat(gte.test(Map.of("year", 2019L))).isFalse();
+	}
+
+	@Test
+	void testRangesOnDates() {
+		Predicate<Map<String, Object>> range = this.compiler.compile(new Filter.Expression(AND,
+				new Filter.Expression(GT, new Filter.Key("activationDate"), new Filter.Value(new Date(1000))),
+				new Filter.Expression(LT, new Filter.Key("activationDate"), new Filter.Value("1970-01-01T00:00:03Z"))));
+
+		assertThat(range.test(Map.of("activationDate", "1970-01-01T00:00:02Z"))).isTrue();
+		assertThat(range.test(Map.of("activationDate", new Date(2000)))).isTrue();
+		assertThat(range.test(Map.of("activationDate", "1970-01-01T00:00:03Z"))).isFalse();
+		assertThat(range.test(Map.of("activationDate", 2000))).isFalse();
+		assertThat(range.test(Map.of())).isFalse();
+	}
+
+	@Test
+	void testInAndNin() {
+		Predicate<Map<String, Object>> in = this.compiler
+			.compile(new Filter.Expression(IN, new Filter.Key("year"), new Filter.Value(List.of(2020, 2021.0))));
+		Predicate<Map<String, Object>> nin = this.compiler
+			.compile(new Filter.Expression(NIN, new Filter.Key("genre"), new Filter.Value(List.of("drama", "tv"))));
+
+		assertThat(in.test(Map.of("year", 2020L))).isTrue();
+		assertThat(in.test(Map.of("year", 2021))).isTrue();
+		assertThat(in.test(Map.of("year", 2022))).isFalse();
+		assertThat(in.test(Map.of())).isFalse();
+		assertThat(nin.test(Map.of("genre", "comedy"))).isTrue();
+		assertThat(nin.test(Map.of("genre", "drama"))).isFalse();
+		assertThat(nin.test(Map.of())).isTrue();
+	}
+
+	@Test
+	void testGroupsOrAndNot() {
+		Filter.Expression expression = new Filter.Expression(NOT,
+				new Filter.Group(new Filter.Expression(OR,
+						new Filter.Expression(EQ, new Filter.Key("'country'"), new Filter.Value("BG")),
+						new Filter.Expression(LTE, new Filter.Key("year"), new Filter.Value(2019)))));
+		Predicate<Map<String, Object>> predicate = this.compiler.compile(expression);
+
+		assertThat(predicate.test(Map.of("country", "NL", "year", 2020))).isTrue();
+		assertThat(predicate.test(Map.of("country", "BG", "year", 2020))).isFalse();
+		assertThat(predicate.test(Map.of("country", "NL", "year", 2019))).isFalse();
+	}
+
+	@Test
+	void testCompiledPredicatesAreCached() {
+		Predicate<Map<String, Object>> first = this.compiler
+			.compile(new Filter.Expression(EQ, new Filter.Key("country"), new Filter.Value("BG")));
+		Predicate<Map<String, Object>> second = this.compiler
+			.compile(new Filter.Expression(EQ, new Filter.Key("country"), new Filter.Value("BG")));
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void testOrderingOnMissingKeys() {
+		Predicate<Map<String, Object>> lt = this.compiler
+			.compile(new Filter.Expression(LT, new Filter.Key("year"), new Filter.Value(2020)));
+		Predicate<Map<String, Object>> gte = this.compiler
+			.compile(new Filter.Expression(GTE, new Filter.Key("year"), new Filter.Value(2020)));
+
+		assertThat(lt.test(Map.of())).isTrue();
+		assertThat(gte.test(Map.of())).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "year < 2020", "year <= 2019", "year > 2019", "year >= 2021", "year == 2021",
+			"year != 2021", "country == 'BG'", "country != 'BG'", "country < 'C'", "country >= 'C'",
+			"activationDate < '2020-01-01T00:00:00Z'", "activationDate >= '2020-01-01T00:00:00Z'",
+			"genre in ['drama', 'tv']", "genre nin ['drama']", "year in [2019, 2022]", "active == true",
+			"year < 2020 && country == 'BG'", "year > 2020 || country < 'C'", "NOT(year <= 2019 || genre == 'tv')" })
+	void testMatchesSpelEvaluation(String textExpression) {
+		List<Map<String, Object>> documents = List.of(
+				Map.of("year", 2019, "country", "BG", "genre", "drama", "active", true, "activationDate",
+						"2019-06-01T00:00:00Z"),
+				Map.of("year", 2021, "country", "NL", "genre", "tv", "active", false, "activationDate",
+						"2021-06-01T00:00:00Z"),
+				Map.of("year", 2022, "country", "AT"), Map.of("genre", "comedy"), Map.of());
+		Filter.Expression expression = new FilterExpressionTextParser().parse(textExpression);
+		Expression spelExpression = new SpelExpressionParser()
+			.parseExpression(new SimpleVectorStoreFilterExpressionConverter().convertExpression(expression));
+		Predicate<Map<String, Object>> predicate = this.compiler.compile(expression);
+
+		for (Map<String, Object> metadata : documents) {
+			StandardEvaluationContext context = new StandardEvaluationContext();
+			context.setVariable("metadata", metadata);
+			assertThat(predicate.test(metadata)).as("%s on %s", textExpression, metadata)
+				.isEqualTo(spelExpression.getValue(context, Boolean.class));
+		}
+	}
+
+	@Test
+	void testInvalidDateIsRejected() {
+		assertThatThrownBy(() -> this.compiler.compile(
+				new Filter.Expression(EQ, new Filter.Key("activationDate"), new Filter.Value("2024-13-45T00:00:00Z"))))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageStartingWith("Invalid date type:");
+	}
+
+}
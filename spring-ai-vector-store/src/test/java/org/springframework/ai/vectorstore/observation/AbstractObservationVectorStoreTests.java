@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.observation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.AbstractVectorStoreBuilder;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link AbstractObservationVectorStore}.
+ */
+class AbstractObservationVectorStoreTests {
+
+	private final CountingBatchingStrategy batchingStrategy = new CountingBatchingStrategy();
+
+	private final TestVectorStore vectorStore = new TestVectorStore(
+			new TestVectorStoreBuilder(mock(EmbeddingModel.class)).batchingStrategy(this.batchingStrategy));
+
+	@Test
+	void addAllDoesNotBatchSizedBatchesAgain() {
+		this.vectorStore.addAll(documents(5).iterator());
+
+		assertThat(this.vectorStore.embeddedBatches).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(this.batchingStrategy.batchedDocuments).isEqualTo(5);
+	}
+
+	@Test
+	void addBatchesDocuments() {
+		this.vectorStore.add(documents(3));
+
+		assertThat(this.vectorStore.embeddedBatches).extracting(List::size).containsExactly(2, 1);
+		assertThat(this.batchingStrategy.batchedDocuments).isEqualTo(3);
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Document("text " + i)).toList();
+	}
+
+	private static final class CountingBatchingStrategy implements BatchingStrategy {
+
+		private int batchedDocuments;
+
+		@Override
+		public List<List<Document>> batch(List<Document> documents) {
+			this.batchedDocuments += documents.size();
+			List<List<Document>> batches = new ArrayList<>();
+			for (int i = 0; i < documents.size(); i += 2) {
+				batches.add(documents.subList(i, Math.min(i + 2, documents.size())));
+			}
+			return batches;
+		}
+
+	}
+
+	private static final class TestVectorStore extends AbstractObservationVectorStore {
+
+		private final List<List<Document>> embeddedBatches = new ArrayList<>();
+
+		TestVectorStore(TestVectorStoreBuilder builder) {
+			super(builder);
+		}
+
+		@Override
+		public void doAdd(List<Document> documents) {
+			this.embeddedBatches.addAll(this.batchingStrategy.batch(documents));
+		}
+
+		@Override
+		public void doDelete(List<String> idList) {
+		}
+
+		@Override
+		public List<Document> doSimilaritySearch(SearchRequest request) {
+			return List.of();
+		}
+
+		@Override
+		public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
+			return VectorStoreObservationContext.builder("test", operationName);
+		}
+
+	}
+
+	private static final class TestVectorStoreBuilder extends AbstractVectorStoreBuilder<TestVectorStoreBuilder> {
+
+		TestVectorStoreBuilder(EmbeddingModel embeddingModel) {
+			super(embeddingModel);
+		}
+
+		@Override
+		public TestVectorStore build() {
+			return new TestVectorStore(this);
+		}
+
+	}
+
+}